@@ -0,0 +1,70 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sets.FiniteSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the set operations of FiniteSet on two sets of the same size that share half
+ * their points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FiniteSetBenchmark
+{
+    @Param({"100", "10000"})
+    public int size;
+
+    private FiniteSet first;
+    private FiniteSet second;
+
+    @Setup
+    public void setUp()
+    {
+        float[] firstPoints = new float[size];
+        float[] secondPoints = new float[size];
+
+        // the first set has the even points and the second every other pair, so half overlap
+        for (int i = 0; i < size; i++)
+        {
+            firstPoints[i] = 2 * i;
+            secondPoints[i] = i % 2 == 0 ? 2 * i : 2 * i + 1;
+        }
+
+        first = FiniteSet.of(firstPoints);
+        second = FiniteSet.of(secondPoints);
+    }
+
+    @Benchmark
+    public FiniteSet union()
+    {
+        return first.union(second);
+    }
+
+    @Benchmark
+    public FiniteSet intersection()
+    {
+        return first.intersection(second);
+    }
+
+    @Benchmark
+    public FiniteSet difference()
+    {
+        return first.difference(second);
+    }
+}
@@ -0,0 +1,131 @@
+package benchmarks;
+
+import graph.DirectedGraph;
+import graph.EdgeCursor;
+import graph.GraphBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of building and reading a DirectedGraph in which every node has the same number of
+ * child nodes and the same number of parallel edges to each of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark
+{
+    // the number of nodes read by each of the read benchmarks
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"1000", "100000"})
+    public int nodeCount;
+
+    @Param({"4"})
+    public int childCount;
+
+    @Param({"1", "8"})
+    public int parallelEdges;
+
+    private DirectedGraph<Integer, Integer> graph;
+    private int[] sources;
+    private int[] dests;
+
+    @Setup
+    public void setUp()
+    {
+        GraphBuilder<Integer, Integer> builder =
+                new GraphBuilder<>(nodeCount, nodeCount * childCount * parallelEdges);
+
+        for (int i = 0; i < nodeCount; i++)
+            builder.addNode(i);
+
+        for (int i = 0; i < nodeCount; i++)
+            for (int k = 1; k <= childCount; k++)
+                for (int l = 0; l < parallelEdges; l++)
+                    builder.addEdge(i, childOf(i, k), l);
+
+        graph = builder.build();
+
+        Random random = new Random(331);
+        sources = new int[QUERY_COUNT];
+        dests = new int[QUERY_COUNT];
+
+        for (int q = 0; q < QUERY_COUNT; q++)
+        {
+            sources[q] = random.nextInt(nodeCount);
+            dests[q] = childOf(sources[q], 1 + random.nextInt(childCount));
+        }
+    }
+
+    // Returns the k-th child of node i, spread over the graph so children aren't neighbours.
+    private int childOf(int i, int k)
+    {
+        return (int) ((i + 7919L * k) % nodeCount);
+    }
+
+    @Benchmark
+    public DirectedGraph<Integer, Integer> addEdge()
+    {
+        DirectedGraph<Integer, Integer> g = new DirectedGraph<>();
+
+        for (int i = 0; i < nodeCount; i++)
+            g.addNode(i);
+
+        for (int i = 0; i < nodeCount; i++)
+            for (int k = 1; k <= childCount; k++)
+                for (int l = 0; l < parallelEdges; l++)
+                    g.addEdge(i, childOf(i, k), l);
+
+        return g;
+    }
+
+    @Benchmark
+    public void getChildNodes(Blackhole blackhole)
+    {
+        for (int source : sources)
+            blackhole.consume(graph.getChildNodes(source));
+    }
+
+    @Benchmark
+    public void getEdges(Blackhole blackhole)
+    {
+        for (int q = 0; q < QUERY_COUNT; q++)
+            blackhole.consume(graph.getEdges(sources[q], dests[q]));
+    }
+
+    @Benchmark
+    public void hasEdge(Blackhole blackhole)
+    {
+        for (int q = 0; q < QUERY_COUNT; q++)
+            blackhole.consume(graph.hasEdge(sources[q], dests[q], q % parallelEdges));
+    }
+
+    @Benchmark
+    public void outEdgeCursor(Blackhole blackhole)
+    {
+        for (int source : sources)
+        {
+            EdgeCursor<Integer, Integer> cursor = graph.getOutEdgeCursor(source);
+
+            while (cursor.advance())
+                blackhole.consume(cursor.getLabel());
+        }
+    }
+}
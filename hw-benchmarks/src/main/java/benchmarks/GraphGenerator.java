@@ -0,0 +1,429 @@
+package benchmarks;
+
+import graph.DirectedGraph;
+import graph.GraphBuilder;
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.Point;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * A generator of synthetic graphs of points for load and scaling tests, in one of four models:
+ * <ul>
+ *     <li>GRID: the points of a square grid one unit apart, each with a path each way to the
+ *         points beside it.</li>
+ *     <li>GEOMETRIC: random points with a path each way between every two points close enough
+ *         that each point has about degree neighbours.</li>
+ *     <li>SCALE_FREE: random points joined by preferential attachment, each point adding a path
+ *         each way to degree / 2 earlier points chosen in proportion to their number of paths,
+ *         so a few points have very many.</li>
+ *     <li>DAG: random points with a path to each point from degree distinct earlier points, so the
+ *         paths form a directed acyclic graph, and a forest if degree is 1.</li>
+ * </ul>
+ * Points other than grid points are spread uniformly over a square that holds one point per unit
+ * of area on average. The length of each path is the distance between its points stretched by a
+ * random factor of up to 1.1, so that straight-line distance stays an admissible A* heuristic
+ * while lengths rarely tie.
+ *
+ * The same model, size and seed always generate the same graph. Paths are generated one at a time
+ * without storing them, so graphs with tens of millions of paths can be written to CSV files in the
+ * CampusPathsParser format by running this class:
+ * {@code java benchmarks.GraphGenerator <model> <node count> <degree> <seed> <output file>}.
+ */
+public class GraphGenerator
+{
+    // This class does not represent an ADT.
+
+    /**
+     * The models of graph a GraphGenerator can generate.
+     */
+    public enum Model
+    {
+        GRID, GEOMETRIC, SCALE_FREE, DAG
+    }
+
+    /**
+     * A consumer of the paths of a generated graph.
+     */
+    @FunctionalInterface
+    public interface EdgeSink
+    {
+        /**
+         * Accepts the path from node sourceId to node destId with the given length.
+         *
+         * @param sourceId the id of the node the path starts from.
+         * @param destId the id of the node the path ends on.
+         * @param distance the length of the path.
+         */
+        void accept(int sourceId, int destId, double distance);
+    }
+
+    // the most a path's length is stretched beyond the distance between its points, as a fraction
+    private static final double MAX_DETOUR = 0.1;
+
+    private final Model model;
+    private final int nodeCount;
+    private final int degree;
+    private final long seed;
+    private final double side;
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * Instantiates a generator of graphs of the given model and size.
+     *
+     * @param model the model of graph to generate.
+     * @param nodeCount the number of nodes in the graph.
+     * @param degree the number of paths of each node: the average number of neighbours for
+     *               GEOMETRIC, twice the number of paths added per node for SCALE_FREE, the number
+     *               of paths into each node for DAG, and ignored for GRID.
+     * @param seed the seed of the random choices made generating the graph.
+     * @spec.requires model != null
+     * @throws IllegalArgumentException if nodeCount or degree is less than 1.
+     */
+    public GraphGenerator(Model model, int nodeCount, int degree, long seed)
+    {
+        if (nodeCount < 1 || degree < 1)
+            throw new IllegalArgumentException(
+                    String.format("Node count and degree must be positive, not %d and %d!", nodeCount, degree));
+
+        this.model = model;
+        this.nodeCount = nodeCount;
+        this.degree = degree;
+        this.seed = seed;
+        this.side = model == Model.GRID ? Math.ceil(Math.sqrt(nodeCount)) : Math.sqrt(nodeCount);
+        this.xs = new double[nodeCount];
+        this.ys = new double[nodeCount];
+
+        Random random = new Random(seed);
+
+        for (int i = 0; i < nodeCount; i++)
+        {
+            xs[i] = model == Model.GRID ? i % (int) side : random.nextDouble() * side;
+            ys[i] = model == Model.GRID ? i / (int) side : random.nextDouble() * side;
+        }
+    }
+
+    /**
+     * Writes a CSV file of a generated graph.
+     *
+     * @param args, the model, node count, degree and seed of the graph, and the file to write.
+     * @throws IOException if the file can't be written.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 5)
+            throw new IllegalArgumentException(
+                    "Usage: GraphGenerator <GRID|GEOMETRIC|SCALE_FREE|DAG> <node count> <degree> <seed> <output file>");
+
+        GraphGenerator generator = new GraphGenerator(Model.valueOf(args[0]), Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), Long.parseLong(args[3]));
+        long edgeCount = generator.writeCsv(Paths.get(args[4]));
+        System.out.printf("Wrote %d nodes and %d edges to %s%n", generator.getNodeCount(), edgeCount, args[4]);
+    }
+
+    /**
+     * Returns the number of nodes in the generated graph.
+     *
+     * @return the number of nodes in the generated graph.
+     */
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the point of a node of the generated graph.
+     *
+     * @param nodeId the id of the node.
+     * @spec.requires 0 <= nodeId < getNodeCount()
+     * @return the point of the node nodeId.
+     */
+    public Point getPoint(int nodeId)
+    {
+        return new Point(xs[nodeId], ys[nodeId]);
+    }
+
+    /**
+     * Passes every path of the generated graph to sink, in the same order every time.
+     *
+     * @param sink the consumer of the paths.
+     * @spec.requires sink != null
+     */
+    public void generate(EdgeSink sink)
+    {
+        // a different stream from the one that placed the points, so the paths don't depend on
+        // how many random numbers that took
+        Random random = new Random(~seed);
+
+        switch (model)
+        {
+            case GRID:
+                generateGrid(random, sink);
+                break;
+            case GEOMETRIC:
+                generateGeometric(random, sink);
+                break;
+            case SCALE_FREE:
+                generateScaleFree(random, sink);
+                break;
+            default:
+                generateDag(random, sink);
+                break;
+        }
+    }
+
+    /**
+     * Returns a new DirectedGraph of the generated graph, with the point of each node as a node
+     * and the length of each path as the label of an edge.
+     *
+     * @return a new DirectedGraph of the generated graph.
+     */
+    public DirectedGraph<Point, Double> toDirectedGraph()
+    {
+        GraphBuilder<Point, Double> builder = new GraphBuilder<>(nodeCount,
+                (int) Math.min(Integer.MAX_VALUE - 8, (long) nodeCount * degree));
+
+        for (int i = 0; i < nodeCount; i++)
+            builder.addNode(getPoint(i));
+
+        generate((u, v, distance) -> builder.addEdge(getPoint(u), getPoint(v), distance));
+        return builder.build();
+    }
+
+    /**
+     * Returns a new WeightedDirectedGraph of the generated graph, in which the point of node i
+     * has id i and the length of each path is the weight of an edge.
+     *
+     * @return a new WeightedDirectedGraph of the generated graph.
+     */
+    public WeightedDirectedGraph<Point> toWeightedDirectedGraph()
+    {
+        WeightedDirectedGraph<Point> graph = new WeightedDirectedGraph<>();
+
+        for (int i = 0; i < nodeCount; i++)
+            graph.addNode(getPoint(i));
+
+        generate(graph::addEdgeById);
+        return graph;
+    }
+
+    /**
+     * Writes the generated graph to file in the CampusPathsParser format, one path per line.
+     *
+     * @param file the path of the file to write.
+     * @throws IOException if the file can't be written.
+     * @return the number of paths written.
+     */
+    public long writeCsv(Path file) throws IOException
+    {
+        long[] count = {0};
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+        {
+            StringBuilder line = new StringBuilder();
+            IOException[] failure = {null};
+
+            generate((u, v, distance) ->
+            {
+                if (failure[0] != null)
+                    return;
+
+                line.setLength(0);
+                line.append(xs[u]).append(',').append(ys[u]).append(',')
+                        .append(xs[v]).append(',').append(ys[v]).append(',')
+                        .append(distance).append('\n');
+
+                try
+                {
+                    writer.append(line);
+                    count[0]++;
+                }
+                catch (IOException e)
+                {
+                    failure[0] = e;
+                }
+            });
+
+            if (failure[0] != null)
+                throw failure[0];
+        }
+
+        return count[0];
+    }
+
+    // Returns the length of a path between nodes u and v.
+    private double distance(Random random, int u, int v)
+    {
+        return Math.hypot(xs[u] - xs[v], ys[u] - ys[v]) * (1 + MAX_DETOUR * random.nextDouble());
+    }
+
+    // Passes a path each way between u and v, of the same length, to sink.
+    private void bothWays(Random random, int u, int v, EdgeSink sink)
+    {
+        double distance = distance(random, u, v);
+        sink.accept(u, v, distance);
+        sink.accept(v, u, distance);
+    }
+
+    // Generates the paths of a GRID graph, between each node and the nodes right of and below it.
+    private void generateGrid(Random random, EdgeSink sink)
+    {
+        int width = (int) side;
+
+        for (int i = 0; i < nodeCount; i++)
+        {
+            if (i % width + 1 < width && i + 1 < nodeCount)
+                bothWays(random, i, i + 1, sink);
+
+            if (i + width < nodeCount)
+                bothWays(random, i, i + width, sink);
+        }
+    }
+
+    // Generates the paths of a GEOMETRIC graph, finding the nodes within the radius of each node
+    // by bucketing the nodes into square cells at least as wide as the radius.
+    private void generateGeometric(Random random, EdgeSink sink)
+    {
+        // one node per unit of area means a circle of this radius holds degree nodes on average
+        double radius = Math.sqrt(degree / Math.PI);
+        int cellsPerSide = Math.max(1, (int) Math.min(side / radius, Math.sqrt(nodeCount)));
+        double cellSize = side / cellsPerSide;
+        int[] cellStart = new int[cellsPerSide * cellsPerSide + 1];
+        int[] cellNodes = new int[nodeCount];
+
+        // counting sort of the nodes by cell
+        for (int i = 0; i < nodeCount; i++)
+            cellStart[cellOf(i, cellSize, cellsPerSide) + 1]++;
+
+        for (int c = 0; c < cellsPerSide * cellsPerSide; c++)
+            cellStart[c + 1] += cellStart[c];
+
+        int[] next = cellStart.clone();
+
+        for (int i = 0; i < nodeCount; i++)
+            cellNodes[next[cellOf(i, cellSize, cellsPerSide)]++] = i;
+
+        for (int i = 0; i < nodeCount; i++)
+        {
+            int cx = Math.min((int) (xs[i] / cellSize), cellsPerSide - 1);
+            int cy = Math.min((int) (ys[i] / cellSize), cellsPerSide - 1);
+
+            for (int y = Math.max(0, cy - 1); y <= Math.min(cellsPerSide - 1, cy + 1); y++)
+            {
+                for (int x = Math.max(0, cx - 1); x <= Math.min(cellsPerSide - 1, cx + 1); x++)
+                {
+                    int c = y * cellsPerSide + x;
+
+                    // pair each node only with higher ids, so each pair is found once
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++)
+                    {
+                        int j = cellNodes[k];
+
+                        if (j > i && Math.hypot(xs[i] - xs[j], ys[i] - ys[j]) <= radius)
+                            bothWays(random, i, j, sink);
+                    }
+                }
+            }
+        }
+    }
+
+    // Returns the index of the cell that node i is in.
+    private int cellOf(int i, double cellSize, int cellsPerSide)
+    {
+        int cx = Math.min((int) (xs[i] / cellSize), cellsPerSide - 1);
+        int cy = Math.min((int) (ys[i] / cellSize), cellsPerSide - 1);
+        return cy * cellsPerSide + cx;
+    }
+
+    // Generates the paths of a SCALE_FREE graph by the Barabasi-Albert model.
+    private void generateScaleFree(Random random, EdgeSink sink)
+    {
+        int perNode = Math.max(1, degree / 2);
+
+        // both ends of every path added so far, so a node appears once per path it has and a
+        // uniform choice from it is a choice in proportion to the number of paths
+        int[] ends = new int[(int) Math.min(Integer.MAX_VALUE - 8, 2L * perNode * nodeCount)];
+        int endCount = 0;
+        int[] targets = new int[perNode];
+
+        for (int v = 1; v < nodeCount; v++)
+        {
+            int targetCount = Math.min(perNode, v);
+
+            for (int t = 0; t < targetCount; t++)
+            {
+                if (v <= perNode)
+                    targets[t] = t;
+                else
+                    targets[t] = pickDistinct(random, ends, endCount, targets, t);
+            }
+
+            for (int t = 0; t < targetCount; t++)
+            {
+                bothWays(random, targets[t], v, sink);
+
+                if (endCount + 2 <= ends.length)
+                {
+                    ends[endCount++] = targets[t];
+                    ends[endCount++] = v;
+                }
+            }
+        }
+    }
+
+    // Returns a node chosen uniformly from ends[0, endCount) that isn't in picked[0, pickedCount).
+    private static int pickDistinct(Random random, int[] ends, int endCount, int[] picked, int pickedCount)
+    {
+        while (true)
+        {
+            int candidate = ends[random.nextInt(endCount)];
+
+            if (!contains(picked, pickedCount, candidate))
+                return candidate;
+        }
+    }
+
+    // Generates the paths of a DAG graph, into each node from distinct earlier nodes.
+    private void generateDag(Random random, EdgeSink sink)
+    {
+        int[] parents = new int[degree];
+
+        for (int v = 1; v < nodeCount; v++)
+        {
+            int parentCount = Math.min(degree, v);
+
+            for (int p = 0; p < parentCount; p++)
+            {
+                if (v <= degree)
+                {
+                    parents[p] = p;
+                }
+                else
+                {
+                    do
+                        parents[p] = random.nextInt(v);
+                    while (contains(parents, p, parents[p]));
+                }
+
+                sink.accept(parents[p], v, distance(random, parents[p], v));
+            }
+        }
+    }
+
+    // Returns whether value is in array[0, length).
+    private static boolean contains(int[] array, int length, int value)
+    {
+        for (int i = 0; i < length; i++)
+            if (array[i] == value)
+                return true;
+
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+package benchmarks;
+
+import graph.DirectedGraph;
+import graph.WeightedDirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pathfinder.DijkstraPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of DijkstraPathfinder.getShortestPath on the campus paths and on graphs made by
+ * GraphGenerator, over both the DirectedGraph it was written for and the WeightedDirectedGraph
+ * used by CampusMap. Each benchmark call finds one path, cycling through a fixed set of random
+ * pairs of nodes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathfinderBenchmark
+{
+    // the number of pairs of nodes the benchmarks find paths between, a power of two
+    private static final int PAIR_COUNT = 64;
+
+    // the degree of the generated graphs
+    private static final int DEGREE = 6;
+
+    /**
+     * The graph to find paths in: "campus" for the campus paths, or "MODEL-n" for a graph of the
+     * GraphGenerator model MODEL with n nodes.
+     */
+    @Param({"campus", "GRID-10000", "GRID-90000", "GEOMETRIC-90000", "SCALE_FREE-90000"})
+    public String graphName;
+
+    private DirectedGraph<Point, Double> graph;
+    private WeightedDirectedGraph<Point> weightedGraph;
+    private Point[] sources;
+    private Point[] dests;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        List<Point> points = new ArrayList<>();
+
+        if (graphName.equals("campus"))
+        {
+            graph = new DirectedGraph<>();
+            weightedGraph = new WeightedDirectedGraph<>();
+
+            for (CampusPath cp : CampusPathsParser.parseCampusPaths("campus_paths.csv"))
+            {
+                Point a = new Point(cp.getX1(), cp.getY1());
+                Point b = new Point(cp.getX2(), cp.getY2());
+
+                for (Point p : new Point[] {a, b})
+                {
+                    if (graph.addNodeIfAbsent(p))
+                    {
+                        weightedGraph.addNode(p);
+                        points.add(p);
+                    }
+                }
+
+                graph.addEdgeIfAbsent(a, b, cp.getDistance());
+                weightedGraph.addEdge(a, b, cp.getDistance());
+            }
+        }
+        else
+        {
+            String[] parts = graphName.split("-");
+            GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.valueOf(parts[0]),
+                    Integer.parseInt(parts[1]), DEGREE, 331);
+            graph = generator.toDirectedGraph();
+            weightedGraph = generator.toWeightedDirectedGraph();
+
+            for (int i = 0; i < generator.getNodeCount(); i++)
+                points.add(generator.getPoint(i));
+        }
+
+        Random random = new Random(331);
+        sources = new Point[PAIR_COUNT];
+        dests = new Point[PAIR_COUNT];
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            sources[i] = points.get(random.nextInt(points.size()));
+            dests[i] = points.get(random.nextInt(points.size()));
+        }
+    }
+
+    @Benchmark
+    public Path<Point> directedGraph()
+    {
+        int i = next++ & (PAIR_COUNT - 1);
+        return DijkstraPathfinder.getShortestPath(graph, sources[i], dests[i]);
+    }
+
+    @Benchmark
+    public Path<Point> weightedDirectedGraph()
+    {
+        int i = next++ & (PAIR_COUNT - 1);
+        return DijkstraPathfinder.getShortestPath(weightedGraph, sources[i], dests[i]);
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tasks.Dependency;
+import tasks.Task;
+import tasks.TaskSorter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of adding tasks and dependencies to a TaskSorter and sorting them, for projects whose
+ * dependencies are a DAG made by GraphGenerator with each task depending on one earlier task.
+ * sortTasks reports a cycle whenever one of its searches reaches a task twice, so the projects are
+ * kept to forests of dependencies, which it sorts in full.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSorterBenchmark
+{
+    @Param({"1000", "10000"})
+    public int taskCount;
+
+    private List<Task> tasks;
+    private List<Dependency> dependencies;
+    private TaskSorter sorter;
+
+    @Setup
+    public void setUp()
+    {
+        tasks = new ArrayList<>(taskCount);
+        dependencies = new ArrayList<>(taskCount);
+
+        for (int i = 0; i < taskCount; i++)
+            tasks.add(new Task("task" + i, "Description of task " + i, "team" + i % 10));
+
+        new GraphGenerator(GraphGenerator.Model.DAG, taskCount, 1, 331).generate((u, v, distance) ->
+                dependencies.add(new Dependency(tasks.get(u), tasks.get(v))));
+
+        sorter = load();
+    }
+
+    // Returns a new TaskSorter with the tasks and dependencies of the project.
+    private TaskSorter load()
+    {
+        TaskSorter s = new TaskSorter();
+
+        for (Task task : tasks)
+            s.addTask(task);
+
+        for (Dependency dependency : dependencies)
+            s.addDependency(dependency);
+
+        return s;
+    }
+
+    @Benchmark
+    public TaskSorter addDependency()
+    {
+        return load();
+    }
+
+    @Benchmark
+    public List<Task> sortTasks()
+    {
+        return sorter.sortTasks();
+    }
+}
@@ -0,0 +1,156 @@
+package benchmarks;
+
+import graph.DirectedGraph;
+import graph.WeightedDirectedGraph;
+import org.junit.Test;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class GraphGeneratorTest {
+
+    // Returns the paths of generator as strings "source dest distance", in order.
+    private static List<String> pathsOf(GraphGenerator generator) {
+        List<String> paths = new ArrayList<>();
+        generator.generate((u, v, distance) -> paths.add(u + " " + v + " " + distance));
+        return paths;
+    }
+
+    @Test
+    public void testSameSeedSameGraph() {
+        for (GraphGenerator.Model model : GraphGenerator.Model.values()) {
+            List<String> first = pathsOf(new GraphGenerator(model, 500, 4, 7));
+            assertEquals(first, pathsOf(new GraphGenerator(model, 500, 4, 7)));
+            assertNotEquals(first, pathsOf(new GraphGenerator(model, 500, 4, 8)));
+        }
+    }
+
+    @Test
+    public void testGrid() {
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.GRID, 100, 4, 7);
+        List<String> paths = pathsOf(generator);
+
+        // a 10 by 10 grid has 2 * 10 * 9 pairs of neighbours, with a path each way
+        assertEquals(360, paths.size());
+        assertEquals(new Point(3, 4), generator.getPoint(43));
+
+        generator.generate((u, v, distance) -> {
+            assertEquals(1, Math.abs(u - v) == 1 ? 1 : Math.abs(u - v) / 10);
+            assertTrue(distance >= 1 && distance < 1.1);
+        });
+    }
+
+    @Test
+    public void testPartialGrid() {
+        // 7 nodes are laid out in rows of 3, with a last row of 1, so there are 4 pairs of
+        // neighbours side by side and 4 above one another
+        assertEquals(2 * 8, pathsOf(new GraphGenerator(GraphGenerator.Model.GRID, 7, 4, 7)).size());
+    }
+
+    @Test
+    public void testGeometric() {
+        int n = 2000;
+        int degree = 6;
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.GEOMETRIC, n, degree, 7);
+        double radius = Math.sqrt(degree / Math.PI);
+        Set<String> pairs = new HashSet<>();
+
+        generator.generate((u, v, distance) -> {
+            Point a = generator.getPoint(u);
+            Point b = generator.getPoint(v);
+            double straight = Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+            assertTrue(straight <= radius);
+            assertTrue(distance >= straight && distance <= straight * 1.1);
+            assertTrue(pairs.add(u + " " + v));
+        });
+
+        // every path has its reverse, and the average degree is about as asked for, less the
+        // neighbours lost at the edges of the square
+        for (String pair : pairs) {
+            String[] ids = pair.split(" ");
+            assertTrue(pairs.contains(ids[1] + " " + ids[0]));
+        }
+        assertTrue(pairs.size() > 0.8 * n * degree && pairs.size() < 1.1 * n * degree);
+    }
+
+    @Test
+    public void testScaleFree() {
+        int n = 1000;
+        List<String> paths = pathsOf(new GraphGenerator(GraphGenerator.Model.SCALE_FREE, n, 6, 7));
+
+        // node v adds paths each way to min(3, v) earlier nodes
+        assertEquals(2 * (1 + 2 + 3 * (n - 3)), paths.size());
+        assertEquals(paths.size(), new HashSet<>(paths).size());
+    }
+
+    @Test
+    public void testDag() {
+        int n = 1000;
+        int degree = 3;
+        int[] inDegree = new int[n];
+        Set<String> pairs = new HashSet<>();
+
+        new GraphGenerator(GraphGenerator.Model.DAG, n, degree, 7).generate((u, v, distance) -> {
+            assertTrue(u < v);
+            assertTrue(pairs.add(u + " " + v));
+            inDegree[v]++;
+        });
+
+        for (int v = 0; v < n; v++) {
+            assertEquals(Math.min(v, degree), inDegree[v]);
+        }
+    }
+
+    @Test
+    public void testGraphs() {
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.GEOMETRIC, 500, 6, 7);
+        int pathCount = pathsOf(generator).size();
+
+        DirectedGraph<Point, Double> graph = generator.toDirectedGraph();
+        assertEquals(500, graph.getNodeCount());
+        assertEquals(pathCount, graph.getEdgeCount());
+
+        WeightedDirectedGraph<Point> weightedGraph = generator.toWeightedDirectedGraph();
+        assertEquals(500, weightedGraph.getNodeCount());
+        assertEquals(pathCount, weightedGraph.getEdgeCount());
+        assertEquals(generator.getPoint(42), weightedGraph.getNode(42));
+    }
+
+    @Test
+    public void testWriteCsv() throws IOException {
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.SCALE_FREE, 300, 4, 7);
+        Path file = Files.createTempFile("generated_paths", ".csv");
+
+        try {
+            long count = generator.writeCsv(file);
+            List<CampusPath> expected = new ArrayList<>();
+            generator.generate((u, v, distance) -> {
+                Point a = generator.getPoint(u);
+                Point b = generator.getPoint(v);
+                expected.add(new CampusPath(a.getX(), a.getY(), b.getX(), b.getY(), distance));
+            });
+
+            List<CampusPath> parsed = new ArrayList<>();
+            CampusPathsParser.parseCampusPaths(file, parsed::add);
+            assertEquals(expected.size(), count);
+            assertEquals(expected, parsed);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoNodes() {
+        new GraphGenerator(GraphGenerator.Model.GRID, 0, 4, 7);
+    }
+}
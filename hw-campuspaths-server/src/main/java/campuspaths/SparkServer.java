@@ -13,28 +13,70 @@ package campuspaths;
 
 import campuspaths.utils.CORSFilter;
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import pathfinder.CampusMap;
+import pathfinder.HistogramQueryMetrics;
 import spark.Request;
 import spark.Response;
 import spark.Route;
 import spark.Spark;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Configures a Spark HTTP server to respond to HTTP requests with
  * path /getBuildings returning a JSON object of UW buildings' short names
  * mapped to their full names, and path /getPath?src={SOURCE_BLDG_NAME}&dest={DEST_BLDG_NAME}
  * returning a JSON representation of the Path instance representing the shortest path
  * from UW source and destination buildings with shorthand names SOURCE_BLDG_NAME and
- * DEST_BLDG_NAME respectively.
+ * DEST_BLDG_NAME respectively, POST path /getPaths returning the shortest paths
+ * for a batch of routes in one request, path /getDistances returning the
+ * walking distances between all pairs of buildings, and path /metrics returning
+ * statistics of the /getPath queries answered so far in the Prometheus text format.
  */
 public class SparkServer
 {
+    /**
+     * The JSON body of a /getPaths request, which asks for the routes between the buildings
+     * in pairs, between every building in sources and every building in destinations, or both.
+     */
+    private static class PathsRequest
+    {
+        // the short names of the start buildings of the routes in the matrix, or null
+        List<String> sources;
+
+        // the short names of the end buildings of the routes in the matrix, or null
+        List<String> destinations;
+
+        // individual routes, or null
+        List<RouteRequest> pairs;
+    }
+
+    /**
+     * A single route in a /getPaths request, named like the /getPath query parameters.
+     */
+    private static class RouteRequest
+    {
+        // the short name of the start building
+        String src;
+
+        // the short name of the end building
+        String dest;
+    }
+
     /**
      * Configures the Spark HTTP server to respond to the HTTP requests to get
      * the shortest path between two UW buildings and list all the available UW
      * buildings to pathfind between.
      *
-     * @param args, the arguments to be passed to the main method.
+     * @param args, the arguments to be passed to the main method: optionally the path of a
+     *              campus graph file to load the campus map from instead of the CSV files.
      * @spec.requires args != null
      */
     public static void main(String[] args)
@@ -46,7 +88,10 @@ public class SparkServer
         // comes from a different server.
         // You should leave these two lines at the very beginning of main().
 
-        CampusMap campusMap = new CampusMap();
+        Path graphFile = args.length > 0 ? Paths.get(args[0]) : null;
+        CampusMap campusMap = createCampusMap(graphFile);
+        HistogramQueryMetrics queryMetrics = new HistogramQueryMetrics();
+        campusMap.setQueryMetrics(queryMetrics);
         Gson gson = new Gson();
 
         Spark.get("/getBuildings", new Route()
@@ -90,6 +135,133 @@ public class SparkServer
                 return gson.toJson(campusMap.findShortestPath(src, dest));
             }
         });
+
+
+        Spark.get("/getDistances", new Route()
+        {
+            @Override
+            public Object handle(Request request,
+                                 Response response)
+            {
+                // return a JSON object mapping each building's short name to an object mapping
+                // the short name of each building reachable from it to the walking distance
+                // between them, without the paths themselves
+                return gson.toJson(campusMap.distanceMatrix());
+            }
+        });
+
+
+        Spark.post("/getPaths", new Route()
+        {
+            @Override
+            public Object handle(Request request,
+                                 Response response)
+            {
+                // return a JSON object mapping each source building to an object mapping each
+                // of its destination buildings to the shortest path between them (omitted if
+                // there is none)
+                return gson.toJson(campusMap.findShortestPaths(
+                        parsePathsRequest(campusMap, gson, request.body())));
+            }
+        });
+
+
+        Spark.get("/metrics", new Route()
+        {
+            @Override
+            public Object handle(Request request,
+                                 Response response)
+            {
+                // return histograms of the work and time taken by each /getPath query,
+                // in the text format scraped by Prometheus
+                response.type("text/plain; version=0.0.4; charset=utf-8");
+                return queryMetrics.toPrometheusText();
+            }
+        });
+    }
+
+    /**
+     * Creates the campus map the server answers its requests from. Every building-to-building
+     * route is precomputed at startup, so each /getPath request is a table lookup rather than
+     * a search.
+     *
+     * @param graphFile the path of a campus graph file to load the campus map from, or null to
+     *                  load it from the CSV files.
+     * @return the campus map to serve.
+     */
+    static CampusMap createCampusMap(Path graphFile)
+    {
+        return new CampusMap(CampusMap.RoutingMode.A_STAR, true,
+                CampusMap.DEFAULT_ROUTE_CACHE_CAPACITY, graphFile);
+    }
+
+    /**
+     * Parses the JSON body of a /getPaths request into the routes it asks for, grouped by start
+     * building so each start building is searched once. Halts the request with status 400 if
+     * the body is malformed or names a building that isn't in campusMap, checking each start
+     * building before its end buildings so a start building without any is checked too.
+     *
+     * @param campusMap the campus map the routes are found on.
+     * @param gson the Gson instance to parse the body with.
+     * @param body the body of the request.
+     * @spec.requires campusMap != null and gson != null
+     * @return a map from the short name of each start building to the short names of the end
+     *         buildings of its routes, in the order they were asked for.
+     * @throws spark.HaltException with status 400 if the request is invalid
+     */
+    static Map<String, Set<String>> parsePathsRequest(CampusMap campusMap, Gson gson, String body)
+    {
+        PathsRequest paths = null;
+
+        try
+        {
+            paths = gson.fromJson(body, PathsRequest.class);
+        }
+        catch (JsonSyntaxException e)
+        {
+            Spark.halt(400, "Request body must be a JSON object!");
+        }
+
+        if (paths == null)
+            Spark.halt(400, "Request body cannot be empty!");
+
+        if ((paths.sources == null) != (paths.destinations == null))
+            Spark.halt(400, "sources and destinations must be given together!");
+
+        Map<String, Set<String>> endsByStart = new LinkedHashMap<>();
+
+        if (paths.sources != null)
+            for (String src : paths.sources)
+                endsByStart.computeIfAbsent(src, k -> new LinkedHashSet<>())
+                        .addAll(paths.destinations);
+
+        if (paths.pairs != null)
+            for (RouteRequest pair : paths.pairs)
+                if (pair != null)
+                    endsByStart.computeIfAbsent(pair.src, k -> new LinkedHashSet<>())
+                            .add(pair.dest);
+
+        for (Map.Entry<String, Set<String>> entry : endsByStart.entrySet())
+        {
+            String src = entry.getKey();
+
+            if (src == null)
+                Spark.halt(400, "src cannot be null!");
+
+            if (!campusMap.shortNameExists(src))
+                Spark.halt(400, "Building " + src + " does not exist!");
+
+            for (String dest : entry.getValue())
+            {
+                if (dest == null)
+                    Spark.halt(400, "dest cannot be null!");
+
+                if (!campusMap.shortNameExists(dest))
+                    Spark.halt(400, "Building " + dest + " does not exist!");
+            }
+        }
+
+        return endsByStart;
     }
 
 }
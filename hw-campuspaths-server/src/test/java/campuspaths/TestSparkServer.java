@@ -0,0 +1,130 @@
+package campuspaths;
+
+import com.google.gson.Gson;
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.HistogramQueryMetrics;
+import pathfinder.QueryStats;
+import spark.HaltException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestSparkServer
+{
+    private static final CampusMap CAMPUS_MAP = new CampusMap();
+    private static final Gson GSON = new Gson();
+
+    // Asserts that parsing body as a /getPaths request halts with status 400 and the given message.
+    private static void assertRejected(String body, String message)
+    {
+        try
+        {
+            SparkServer.parsePathsRequest(CAMPUS_MAP, GSON, body);
+            fail("Expected " + body + " to be rejected");
+        }
+        catch (HaltException e)
+        {
+            assertEquals(400, e.statusCode());
+            assertEquals(message, e.body());
+        }
+    }
+
+    @Test
+    public void testGroupsRoutesByStart()
+    {
+        Map<String, Set<String>> endsByStart = SparkServer.parsePathsRequest(CAMPUS_MAP, GSON,
+                "{\"sources\":[\"CSE\"],\"destinations\":[\"MGH\",\"KNE\"],"
+                        + "\"pairs\":[{\"src\":\"CSE\",\"dest\":\"CS2\"},{\"src\":\"KNE\",\"dest\":\"MGH\"}]}");
+
+        assertEquals(List.of("CSE", "KNE"), List.copyOf(endsByStart.keySet()));
+        assertEquals(List.of("MGH", "KNE", "CS2"), List.copyOf(endsByStart.get("CSE")));
+        assertEquals(List.of("MGH"), List.copyOf(endsByStart.get("KNE")));
+    }
+
+    @Test
+    public void testSourceWithoutDestinations()
+    {
+        Map<String, Set<String>> endsByStart = SparkServer.parsePathsRequest(CAMPUS_MAP, GSON,
+                "{\"sources\":[\"CSE\"],\"destinations\":[]}");
+
+        assertEquals(Set.of(), endsByStart.get("CSE"));
+        assertEquals(Map.of(), CAMPUS_MAP.findShortestPaths(endsByStart).get("CSE"));
+    }
+
+    @Test
+    public void testRejectsUnknownSourceWithoutDestinations()
+    {
+        assertRejected("{\"sources\":[\"XYZ\"],\"destinations\":[]}", "Building XYZ does not exist!");
+    }
+
+    @Test
+    public void testRejectsNullSourceWithoutDestinations()
+    {
+        assertRejected("{\"sources\":[null],\"destinations\":[]}", "src cannot be null!");
+    }
+
+    @Test
+    public void testRejectsUnknownOrNullEndpointOfPair()
+    {
+        assertRejected("{\"pairs\":[{\"src\":\"XYZ\",\"dest\":\"CSE\"}]}", "Building XYZ does not exist!");
+        assertRejected("{\"pairs\":[{\"src\":\"CSE\",\"dest\":\"XYZ\"}]}", "Building XYZ does not exist!");
+        assertRejected("{\"pairs\":[{\"dest\":\"CSE\"}]}", "src cannot be null!");
+        assertRejected("{\"pairs\":[{\"src\":\"CSE\"}]}", "dest cannot be null!");
+    }
+
+    @Test
+    public void testRejectsMalformedBody()
+    {
+        assertRejected("[", "Request body must be a JSON object!");
+        assertRejected("", "Request body cannot be empty!");
+        assertRejected("{\"sources\":[\"CSE\"]}", "sources and destinations must be given together!");
+    }
+
+    @Test
+    public void testMetricsReportSearchWork()
+    {
+        // the served map's routing mode, searching for each route instead of looking it up
+        CampusMap campusMap = new CampusMap(CampusMap.RoutingMode.A_STAR, false,
+                CampusMap.DEFAULT_ROUTE_CACHE_CAPACITY);
+        HistogramQueryMetrics queryMetrics = new HistogramQueryMetrics();
+        campusMap.setQueryMetrics(queryMetrics);
+
+        campusMap.findShortestPath("CSE", "MGH");
+        campusMap.findShortestPath("KNE", "CS2");
+        campusMap.findShortestPath("CSE", "MGH");
+
+        assertEquals(2, queryMetrics.getNodesSettled().getCount());
+        assertTrue(queryMetrics.getNodesSettled().getSum() > 0);
+        assertTrue(queryMetrics.getEdgesRelaxed().getSum() > 0);
+        assertTrue(queryMetrics.getHeapPushes().getSum() > 0);
+
+        String text = queryMetrics.toPrometheusText();
+        assertTrue(text.contains("pathfinder_query_nodes_settled_count 2\n"));
+        assertFalse(text.contains("pathfinder_query_nodes_settled_sum 0\n"));
+        assertTrue(text.contains("pathfinder_query_duration_seconds_count{outcome=\"search\"} 2\n"));
+        assertTrue(text.contains("pathfinder_query_duration_seconds_count{outcome=\"cache\"} 1\n"));
+        assertTrue(text.contains("pathfinder_query_max_nodes_settled{source="));
+    }
+
+    @Test
+    public void testServedMapTableHitsReportNoWork()
+    {
+        CampusMap campusMap = SparkServer.createCampusMap(null);
+        HistogramQueryMetrics queryMetrics = new HistogramQueryMetrics();
+        campusMap.setQueryMetrics(queryMetrics);
+
+        campusMap.findShortestPath("CSE", "MGH");
+        campusMap.findShortestPath("KNE", "CS2");
+
+        // routes looked up in the table precomputed at startup take time but no search
+        assertEquals(0, queryMetrics.getNodesSettled().getCount());
+        assertEquals(2, queryMetrics.getElapsedNanos(QueryStats.Outcome.TABLE).getCount());
+        assertEquals(2, queryMetrics.getPathLength(QueryStats.Outcome.TABLE).getCount());
+        assertTrue(queryMetrics.toPrometheusText().contains(
+                "pathfinder_query_duration_seconds_count{outcome=\"table\"} 2\n"));
+    }
+}
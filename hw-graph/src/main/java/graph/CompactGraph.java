@@ -0,0 +1,329 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Represents an immutable, directed labelled graph of immutable nodes of type N connected
+ * by immutable directed edges labelled with type E, stored in compressed-sparse-row (CSR)
+ * form. Each node is assigned a dense integer id in [0, getNodeCount()), and the outbound
+ * edges of each node occupy one contiguous run of the parallel edge arrays, sorted by
+ * the id of their destination node.
+ *
+ * A CompactGraph is created with DirectedGraph#freeze() and offers the same read API as
+ * DirectedGraph, as well as integer id based accessors for callers that walk the graph
+ * in tight loops without hashing nodes.
+ */
+public class CompactGraph<N, E>
+{
+    public static final boolean DEBUG = false;
+
+    // Representation Invariant (RI): nodes != null, nodeIds != null, offsets != null,
+    //                                targets != null, labels != null,
+    //                                nodes has no nulls or duplicates, nodeIds maps
+    //                                nodes.get(i) to i for every i in [0, nodes.size()),
+    //                                offsets.length == nodes.size() + 1, offsets[0] == 0,
+    //                                offsets is non-decreasing, offsets[nodes.size()] ==
+    //                                targets.length == labels.length, every element of
+    //                                targets is in [0, nodes.size()), targets is sorted
+    //                                within each run [offsets[i], offsets[i + 1]), labels
+    //                                has no nulls, and no two edges in the same run have
+    //                                both the same target and an equal label.
+    //
+    // Abstraction Function:
+    //      AF(this) = a directed graph with the set of nodes in the list "nodes", where
+    //                 for each node id i, the outbound edges of nodes.get(i) are the edges
+    //                 from nodes.get(i) to nodes.get(targets[k]) labelled labels[k] for
+    //                 every k in [offsets[i], offsets[i + 1]).
+    //
+    private final List<N> nodes;
+    private final Map<N, Integer> nodeIds;
+    private final int[] offsets;
+    private final int[] targets;
+    private final Object[] labels;
+
+    /**
+     * Checks the representation invariant of this CompactGraph.
+     */
+    private void checkRep()
+    {
+        assert nodes != null;
+        assert nodeIds != null;
+        assert offsets != null;
+        assert targets != null;
+        assert labels != null;
+        assert offsets.length == nodes.size() + 1;
+        assert targets.length == labels.length;
+
+        if (DEBUG)
+        {
+            // run runtime-intensive tests if debugging
+            assert offsets[0] == 0;
+            assert offsets[nodes.size()] == targets.length;
+
+            for (int i = 0; i < nodes.size(); i++)
+            {
+                assert nodes.get(i) != null;
+                assert nodeIds.get(nodes.get(i)) == i;
+                assert offsets[i] <= offsets[i + 1];
+
+                for (int k = offsets[i]; k < offsets[i + 1]; k++)
+                {
+                    assert targets[k] >= 0 && targets[k] < nodes.size();
+                    assert labels[k] != null;
+                    assert k == offsets[i] || targets[k - 1] <= targets[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Instantiates a CompactGraph over the given node table and CSR edge arrays.
+     * Only DirectedGraph#freeze() constructs instances, and it hands over ownership
+     * of all the arrays passed in.
+     *
+     * @param nodes the nodes of the graph, where nodes.get(i) is the node with id i.
+     * @param offsets the start of each node's run of edges, with one trailing entry
+     *                holding the total number of edges.
+     * @param targets the destination node id of each edge.
+     * @param labels the label of each edge.
+     * @spec.requires the arguments satisfy the representation invariant of this class.
+     */
+    CompactGraph(List<N> nodes, int[] offsets, int[] targets, Object[] labels)
+    {
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.nodeIds = new HashMap<>();
+        this.offsets = offsets;
+        this.targets = targets;
+        this.labels = labels;
+
+        for (int i = 0; i < nodes.size(); i++)
+            nodeIds.put(nodes.get(i), i);
+
+        checkRep();
+    }
+
+    /**
+     * Returns whether a given node targetNode exists in the graph.
+     *
+     * @param targetNode the node to check the existence of in the graph.
+     * @spec.requires targetNode != null
+     * @return true iff the node targetNode exists in this graph.
+     */
+    public boolean hasNode(N targetNode)
+    {
+        return nodeIds.containsKey(targetNode);
+    }
+
+    /**
+     * Returns a list of the all nodes in the graph, in order of their ids.
+     * If the graph has no nodes, returns an empty list.
+     *
+     * @return a list of all nodes in the graph,
+     *         or an empty list if the graph has no nodes.
+     */
+    public List<N> getNodes()
+    {
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * Returns a set of the child nodes of node sourceNode in the graph.
+     *
+     * @param sourceNode the node in the Graph to
+     *                 return a list of child nodes of.
+     * @spec.requires sourceNode != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     * @return a set of the child nodes of the node sourceNode.
+     */
+    public Set<N> getChildNodes(N sourceNode)
+    {
+        int sourceId = getNodeId(sourceNode);
+        Set<N> resSet = new HashSet<>();
+
+        for (int k = offsets[sourceId]; k < offsets[sourceId + 1]; k++)
+            resSet.add(nodes.get(targets[k]));
+
+        return resSet;
+    }
+
+    /**
+     * Returns the number of nodes in the Graph.
+     *
+     * @return the number of nodes in the Graph.
+     */
+    public int getNodeCount()
+    {
+        return nodes.size();
+    }
+
+    /**
+     * Returns whether an edge exists in the Graph that starts from node sourceNode,
+     * ends on node destNode, and has the label, label.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge to check the existence of.
+     * @spec.requires sourceNode, destNode, label != null
+     * @return whether an edge exists in the Graph that starts from node sourceNode,
+     *         ends on node destNode, and has the label, label.
+     */
+    public boolean hasEdge(N sourceNode, N destNode, E label)
+    {
+        if (!nodeIds.containsKey(sourceNode) || !nodeIds.containsKey(destNode))
+            return false;
+
+        int sourceId = nodeIds.get(sourceNode);
+        int destId = nodeIds.get(destNode);
+
+        for (int k = findFirstEdge(sourceId, destId); k < offsets[sourceId + 1] && targets[k] == destId; k++)
+            if (labels[k].equals(label))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Returns the list of edges that start from node sourceNode and end
+     * on node destNode. If nodes sourceNode or destNode do not exist in the Graph,
+     * this method will throw an IllegalArgumentException.
+     *
+     * @param sourceNode the node the edges originate from
+     * @param destNode the node the edges terminate on.
+     * @spec.requires sourceNode, destNode != null
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this Graph.
+     * @return the list of edges that start from node sourceNode and end
+     *         on node destNode.
+     */
+    @SuppressWarnings("unchecked")
+    public List<E> getEdges(N sourceNode, N destNode)
+    {
+        if (!nodeIds.containsKey(sourceNode) || !nodeIds.containsKey(destNode))
+        {
+            String nodesStr = (!nodeIds.containsKey(sourceNode) && !nodeIds.containsKey(destNode)) ?
+                    String.format("s %s and %s", sourceNode, destNode) :
+                    (!nodeIds.containsKey(sourceNode)) ? " " + sourceNode : " " + destNode;
+            throw new IllegalArgumentException(
+                    String.format("Node%s must exist in the graph!", nodesStr));
+        }
+
+        int sourceId = nodeIds.get(sourceNode);
+        int destId = nodeIds.get(destNode);
+        List<E> res = new ArrayList<>();
+
+        for (int k = findFirstEdge(sourceId, destId); k < offsets[sourceId + 1] && targets[k] == destId; k++)
+            res.add((E) labels[k]);
+
+        return res;
+    }
+
+    /**
+     * Returns the number of edges in the Graph.
+     *
+     * @return the number of edges in the Graph.
+     */
+    public int getEdgeCount()
+    {
+        return targets.length;
+    }
+
+    /**
+     * Returns the id of the node targetNode in this graph.
+     *
+     * @param targetNode the node to get the id of.
+     * @spec.requires targetNode != null
+     * @throws IllegalArgumentException if the graph has no node targetNode
+     * @return the id in [0, getNodeCount()) of the node targetNode.
+     */
+    public int getNodeId(N targetNode)
+    {
+        Integer id = nodeIds.get(targetNode);
+
+        if (id == null)
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", targetNode));
+
+        return id;
+    }
+
+    /**
+     * Returns the node with the given id in this graph.
+     *
+     * @param nodeId the id of the node to return.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount()
+     * @return the node with id nodeId.
+     */
+    public N getNode(int nodeId)
+    {
+        return nodes.get(nodeId);
+    }
+
+    /**
+     * Returns the index of the first outbound edge of the node with the given id.
+     * The outbound edges of the node are the edge indices in
+     * [getOutEdgeStart(nodeId), getOutEdgeEnd(nodeId)).
+     *
+     * @param nodeId the id of the node whose outbound edges to locate.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount()
+     * @return the index of the first outbound edge of the node with id nodeId.
+     */
+    public int getOutEdgeStart(int nodeId)
+    {
+        return offsets[nodeId];
+    }
+
+    /**
+     * Returns the index one past the last outbound edge of the node with the given id.
+     *
+     * @param nodeId the id of the node whose outbound edges to locate.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount()
+     * @return the index one past the last outbound edge of the node with id nodeId.
+     */
+    public int getOutEdgeEnd(int nodeId)
+    {
+        return offsets[nodeId + 1];
+    }
+
+    /**
+     * Returns the id of the destination node of the edge at the given index.
+     *
+     * @param edgeIndex the index of the edge.
+     * @spec.requires 0 &lt;= edgeIndex &lt; getEdgeCount()
+     * @return the id of the node the edge at edgeIndex terminates on.
+     */
+    public int getEdgeTarget(int edgeIndex)
+    {
+        return targets[edgeIndex];
+    }
+
+    /**
+     * Returns the label of the edge at the given index.
+     *
+     * @param edgeIndex the index of the edge.
+     * @spec.requires 0 &lt;= edgeIndex &lt; getEdgeCount()
+     * @return the label of the edge at edgeIndex.
+     */
+    @SuppressWarnings("unchecked")
+    public E getEdgeLabel(int edgeIndex)
+    {
+        return (E) labels[edgeIndex];
+    }
+
+    // Returns the index of the first edge from sourceId to destId, or the index where such an
+    // edge would be if there are none, by binary searching the sorted run of sourceId's edges.
+    private int findFirstEdge(int sourceId, int destId)
+    {
+        int lo = offsets[sourceId];
+        int hi = offsets[sourceId + 1];
+
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+
+            if (targets[mid] < destId)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        return lo;
+    }
+}
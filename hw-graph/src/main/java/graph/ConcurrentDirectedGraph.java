@@ -0,0 +1,462 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Represents a mutable, directed labelled graph like DirectedGraph that many threads can read and
+ * change at the same time. Nodes and edge sets are kept in concurrent hash maps, so reads never
+ * block. Changes lock only the stripes of a fixed set of locks that their nodes hash to, so
+ * threads adding edges between different nodes rarely wait for each other. Removing a node locks
+ * every stripe, since its edges may lead to any node.
+ *
+ * Consistency: changes are atomic with respect to each other, and a read that starts after a
+ * change returns sees it. Reads don't lock, so a read that overlaps changes is weakly consistent:
+ * getEdgeCount and the methods returning nodes or edges see each change either before or after
+ * it, but not the whole graph at one instant. For example, while an edge is being added the edge
+ * count may already include it before getChildNodes returns it, and getParentNodes may return it
+ * after getChildNodes does. None of the methods throw ConcurrentModificationException.
+ */
+public class ConcurrentDirectedGraph<N, E> implements Graph<N, E>
+{
+    public static final boolean DEBUG = false;
+
+    // the number of locks that changes to the graph are striped over, a power of two
+    private static final int STRIPE_COUNT = 64;
+
+    // Representation Invariant (RI): adjList != null, stripes != null, numEdges != null,
+    //                                adjList has no null keys, sets or Edges, every Edge e in
+    //                                adjList.get(n) has e.getSourceNode() equal to n and
+    //                                e.getDestNode() in adjList, and numEdges is the total number
+    //                                of Edges in adjList once no change is in progress.
+    //                                If incomingAdjList != null, it has the same keys as adjList
+    //                                and an Edge e is in incomingAdjList.get(e.getDestNode()) iff
+    //                                e is in adjList.get(e.getSourceNode()).
+    //                                adjList, incomingAdjList and numEdges are only changed while
+    //                                holding the stripes of every node whose sets are changed.
+    //
+    // Abstraction Function:
+    //      AF(this) = a directed graph with the set of nodes adjList.keySet() and an adjacency list
+    //                 "adjList" mapping each source node to the set of outbound edges from that
+    //                 source node. incomingAdjList, when present, is an index of the same edges
+    //                 keyed by destination node instead.
+    //
+    private final ConcurrentHashMap<N, Set<Edge<N, E>>> adjList;
+    private final ConcurrentHashMap<N, Set<Edge<N, E>>> incomingAdjList;
+    private final ReentrantLock[] stripes;
+    private final LongAdder numEdges;
+
+    /**
+     * Checks the representation invariant of this ConcurrentDirectedGraph. The full check only
+     * holds while no other thread changes the graph, so it only runs under DEBUG.
+     */
+    private void checkRep()
+    {
+        assert adjList != null;
+        assert stripes != null && stripes.length == STRIPE_COUNT;
+        assert numEdges != null;
+
+        if (DEBUG)
+        {
+            int actualEdgeCount = 0;
+
+            for (Map.Entry<N, Set<Edge<N, E>>> entry : adjList.entrySet())
+            {
+                for (Edge<N, E> e : entry.getValue())
+                {
+                    assert e.getSourceNode().equals(entry.getKey());
+                    assert adjList.containsKey(e.getDestNode());
+                    assert incomingAdjList == null || incomingAdjList.get(e.getDestNode()).contains(e);
+                    actualEdgeCount++;
+                }
+            }
+
+            assert actualEdgeCount == numEdges.sum();
+            assert incomingAdjList == null || incomingAdjList.keySet().equals(adjList.keySet());
+        }
+    }
+
+    /**
+     * Instantiates an empty graph with no nodes and no edges.
+     */
+    public ConcurrentDirectedGraph()
+    {
+        this(false);
+    }
+
+    /**
+     * Instantiates an empty graph with no nodes and no edges, which also indexes
+     * the inbound edges of each node if trackIncomingEdges is true.
+     *
+     * @param trackIncomingEdges whether the graph should index the inbound edges of each
+     *                           node, making getParentNodes and removeNode proportional to
+     *                           the number of edges of the node instead of the graph.
+     */
+    public ConcurrentDirectedGraph(boolean trackIncomingEdges)
+    {
+        adjList = new ConcurrentHashMap<>();
+        incomingAdjList = trackIncomingEdges ? new ConcurrentHashMap<>() : null;
+        stripes = new ReentrantLock[STRIPE_COUNT];
+        numEdges = new LongAdder();
+
+        for (int i = 0; i < STRIPE_COUNT; i++)
+            stripes[i] = new ReentrantLock();
+
+        checkRep();
+    }
+
+    /**
+     * Returns whether this graph indexes the inbound edges of each node.
+     *
+     * @return true iff this graph indexes the inbound edges of each node.
+     */
+    public boolean tracksIncomingEdges()
+    {
+        return incomingAdjList != null;
+    }
+
+    // Returns the index of the stripe guarding the edge sets of node.
+    private static int stripeOf(Object node)
+    {
+        int h = node.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPE_COUNT - 1);
+    }
+
+    // Locks stripes i and j in increasing order, so that threads locking the same two stripes
+    // can't deadlock.
+    private void lockBoth(int i, int j)
+    {
+        stripes[Math.min(i, j)].lock();
+
+        if (i != j)
+            stripes[Math.max(i, j)].lock();
+    }
+
+    // Unlocks the stripes locked by lockBoth(i, j).
+    private void unlockBoth(int i, int j)
+    {
+        if (i != j)
+            stripes[Math.max(i, j)].unlock();
+
+        stripes[Math.min(i, j)].unlock();
+    }
+
+    @Override
+    public void addNode(N targetNode)
+    {
+        if (!addNodeIfAbsent(targetNode))
+            throw new IllegalArgumentException(String.format("Node %s already exists in graph!", targetNode));
+    }
+
+    @Override
+    public boolean addNodeIfAbsent(N targetNode)
+    {
+        ReentrantLock stripe = stripes[stripeOf(targetNode)];
+        stripe.lock();
+
+        try
+        {
+            if (adjList.containsKey(targetNode))
+                return false;
+
+            // the inbound set is added first so an edge to the node never finds it missing
+            if (incomingAdjList != null)
+                incomingAdjList.put(targetNode, ConcurrentHashMap.newKeySet());
+
+            adjList.put(targetNode, ConcurrentHashMap.newKeySet());
+            return true;
+        }
+        finally
+        {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Removes a given node, targetNode, from the graph along with every edge from or to it.
+     * This locks every stripe, so it waits for all changes in progress and blocks other
+     * changes until it's done. If the graph tracks incoming edges, it takes time proportional
+     * to the number of edges of targetNode, otherwise the outbound edges of every node in the
+     * graph are scanned for the edges to targetNode.
+     *
+     * @param targetNode the node to remove from the graph.
+     * @throws IllegalArgumentException if the graph has no node targetNode
+     * @spec.requires targetNode != null
+     * @spec.modifies this
+     * @spec.effects targetNode and every edge from or to targetNode are removed from this graph.
+     */
+    @Override
+    public void removeNode(N targetNode)
+    {
+        for (ReentrantLock stripe : stripes)
+            stripe.lock();
+
+        try
+        {
+            Set<Edge<N, E>> outEdges = adjList.remove(targetNode);
+
+            if (outEdges == null)
+                throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", targetNode));
+
+            numEdges.add(-outEdges.size());
+
+            if (incomingAdjList != null)
+            {
+                Set<Edge<N, E>> inEdges = incomingAdjList.remove(targetNode);
+
+                for (Edge<N, E> e : outEdges)
+                    if (!e.getDestNode().equals(targetNode))
+                        incomingAdjList.get(e.getDestNode()).remove(e);
+
+                // self-loops were in outEdges too, so they are already counted and removed
+                for (Edge<N, E> e : inEdges)
+                {
+                    if (!e.getSourceNode().equals(targetNode))
+                    {
+                        adjList.get(e.getSourceNode()).remove(e);
+                        numEdges.decrement();
+                    }
+                }
+            }
+            else
+            {
+                for (Set<Edge<N, E>> edges : adjList.values())
+                {
+                    int before = edges.size();
+                    edges.removeIf(e -> e.getDestNode().equals(targetNode));
+                    numEdges.add(edges.size() - before);
+                }
+            }
+
+            checkRep();
+        }
+        finally
+        {
+            for (int i = STRIPE_COUNT - 1; i >= 0; i--)
+                stripes[i].unlock();
+        }
+    }
+
+    @Override
+    public boolean hasNode(N targetNode)
+    {
+        return adjList.containsKey(targetNode);
+    }
+
+    @Override
+    public List<N> getNodes()
+    {
+        return new ArrayList<>(adjList.keySet());
+    }
+
+    @Override
+    public Set<N> getChildNodes(N sourceNode)
+    {
+        Set<N> resSet = new HashSet<>();
+
+        for (Edge<N, E> e : outEdges(sourceNode))
+            resSet.add(e.getDestNode());
+
+        return resSet;
+    }
+
+    /**
+     * Returns a set of the parent nodes of node destNode in the graph, that is, the nodes
+     * with an edge to destNode. If this graph doesn't track incoming edges, this scans the
+     * outbound edges of every node in the graph.
+     *
+     * @param destNode the node to return the parent nodes of.
+     * @spec.requires destNode != null
+     * @throws IllegalArgumentException if the graph has no node destNode
+     * @return a new set of the parent nodes of the node destNode.
+     */
+    @Override
+    public Set<N> getParentNodes(N destNode)
+    {
+        if (!adjList.containsKey(destNode))
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", destNode));
+
+        Set<N> resSet = new HashSet<>();
+        Set<Edge<N, E>> inEdges = incomingAdjList == null ? null : incomingAdjList.get(destNode);
+
+        if (inEdges != null)
+        {
+            for (Edge<N, E> e : inEdges)
+                resSet.add(e.getSourceNode());
+        }
+        else if (incomingAdjList == null)
+        {
+            for (Set<Edge<N, E>> edges : adjList.values())
+                for (Edge<N, E> e : edges)
+                    if (e.getDestNode().equals(destNode))
+                        resSet.add(e.getSourceNode());
+        }
+
+        return resSet;
+    }
+
+    @Override
+    public int getNodeCount()
+    {
+        return adjList.size();
+    }
+
+    @Override
+    public void addEdge(N sourceNode, N destNode, E label)
+    {
+        if (!addEdgeIfAbsent(sourceNode, destNode, label))
+            throw new IllegalArgumentException(
+                    String.format("An edge from node %s to %s with label %s already exists!",
+                            sourceNode, destNode, label));
+    }
+
+    @Override
+    public boolean addEdgeIfAbsent(N sourceNode, N destNode, E label)
+    {
+        int sourceStripe = stripeOf(sourceNode);
+        int destStripe = stripeOf(destNode);
+        lockBoth(sourceStripe, destStripe);
+
+        try
+        {
+            Set<Edge<N, E>> edges = checkNodes(sourceNode, destNode);
+            Edge<N, E> e = new Edge<>(sourceNode, destNode, label);
+
+            if (!edges.add(e))
+                return false;
+
+            if (incomingAdjList != null)
+                incomingAdjList.get(destNode).add(e);
+
+            numEdges.increment();
+            return true;
+        }
+        finally
+        {
+            unlockBoth(sourceStripe, destStripe);
+        }
+    }
+
+    @Override
+    public boolean removeEdge(N sourceNode, N destNode, E label)
+    {
+        int sourceStripe = stripeOf(sourceNode);
+        int destStripe = stripeOf(destNode);
+        lockBoth(sourceStripe, destStripe);
+
+        try
+        {
+            Set<Edge<N, E>> edges = checkNodes(sourceNode, destNode);
+            Edge<N, E> e = new Edge<>(sourceNode, destNode, label);
+
+            if (!edges.remove(e))
+                return false;
+
+            if (incomingAdjList != null)
+                incomingAdjList.get(destNode).remove(e);
+
+            numEdges.decrement();
+            return true;
+        }
+        finally
+        {
+            unlockBoth(sourceStripe, destStripe);
+        }
+    }
+
+    // Returns the outbound edges of sourceNode after checking that both nodes exist.
+    private Set<Edge<N, E>> checkNodes(N sourceNode, N destNode)
+    {
+        Set<Edge<N, E>> edges = adjList.get(sourceNode);
+
+        if (edges == null || !adjList.containsKey(destNode))
+        {
+            String nodesStr = (edges == null && !adjList.containsKey(destNode)) ?
+                    String.format("s %s and %s", sourceNode, destNode) :
+                    (edges == null) ? " " + sourceNode : " " + destNode;
+            throw new IllegalArgumentException(
+                    String.format("Node%s must exist in the graph!", nodesStr));
+        }
+
+        return edges;
+    }
+
+    @Override
+    public boolean hasEdge(N sourceNode, N destNode, E label)
+    {
+        Set<Edge<N, E>> edges = adjList.get(sourceNode);
+        return edges != null && edges.contains(new Edge<>(sourceNode, destNode, label));
+    }
+
+    @Override
+    public List<E> getEdges(N sourceNode, N destNode)
+    {
+        Set<Edge<N, E>> edges = checkNodes(sourceNode, destNode);
+        List<E> res = new ArrayList<>();
+
+        for (Edge<N, E> e : edges)
+            if (e.getDestNode().equals(destNode))
+                res.add(e.getLabel());
+
+        return res;
+    }
+
+    /**
+     * Calls action with the destination node and label of every outbound edge of sourceNode,
+     * without creating a collection of them. Edges added or removed by other threads during
+     * the call may or may not be passed to action.
+     *
+     * @param sourceNode the node the edges originate from.
+     * @param action the action to call with the destination node and label of each edge.
+     * @spec.requires sourceNode, action != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     */
+    @Override
+    public void forEachOutEdge(N sourceNode, BiConsumer<? super N, ? super E> action)
+    {
+        for (Edge<N, E> e : outEdges(sourceNode))
+            action.accept(e.getDestNode(), e.getLabel());
+    }
+
+    /**
+     * Returns a cursor over the outbound edges of sourceNode, which walks them without creating
+     * a collection of them or an object per edge. Edges added or removed by other threads while
+     * the cursor is used may or may not be walked by it.
+     *
+     * @param sourceNode the node the edges originate from.
+     * @spec.requires sourceNode != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     * @return a cursor before the first outbound edge of sourceNode.
+     */
+    @Override
+    public EdgeCursor<N, E> getOutEdgeCursor(N sourceNode)
+    {
+        return new IteratorEdgeCursor<>(outEdges(sourceNode).iterator());
+    }
+
+    // Returns the outbound edges of sourceNode after checking that it exists.
+    private Set<Edge<N, E>> outEdges(N sourceNode)
+    {
+        Set<Edge<N, E>> edges = adjList.get(sourceNode);
+
+        if (edges == null)
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", sourceNode));
+
+        return edges;
+    }
+
+    /**
+     * Returns the number of edges in the graph. While other threads change the graph, this
+     * may count some of the changes in progress and not others.
+     *
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int getEdgeCount()
+    {
+        return (int) numEdges.sum();
+    }
+}
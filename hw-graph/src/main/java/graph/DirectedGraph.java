@@ -1,37 +1,59 @@
 package graph;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a mutable, directed labelled graph where a set of immutable nodes of type N can be connected
  * via immutable directed edges labelled with type E (each edge connecting a parent node to a child node), and there
  * exist no two edges in the graph between any two parent and child nodes such that the edges
  * have the same label.
+ *
+ * The edges of each node are grouped by destination node, as a set of labels per child node, so
+ * the edges between two nodes are found in time proportional to their number however many other
+ * edges the node has. A graph can optionally index the inbound edges of every node as well, so that
+ * the parent nodes of a node can be found without checking every node in the graph. A graph can
+ * also keep its nodes, child nodes and labels in the order they were added, instead of an
+ * unspecified order.
+ *
+ * A DirectedGraph must not be changed by one thread while other threads use it; see
+ * ConcurrentDirectedGraph for a graph that can be.
  */
-public class DirectedGraph<N, E>
+public class DirectedGraph<N, E> implements Graph<N, E>
 {
     public static final boolean DEBUG = false;
 
     // Representation Invariant (RI): nodes != null, adjList != null,
-    //                                nodes has no nulls, adjList has no mappings to null sets or null Edges
-    //                                in the sets, adjList has a mapping to a set of Edges for each node in nodes,
-    //                                and numEdges is the total number of Edges in adjList.
+    //                                nodes has no nulls, adjList has a mapping to a non-null map
+    //                                for each node in nodes and no other keys, each of those maps
+    //                                has keys in nodes mapped to non-empty sets of non-null labels,
+    //                                and numEdges is the total number of labels in those sets.
+    //                                If incomingAdjList != null, it has a mapping to a non-null map
+    //                                for each node in nodes, and incomingAdjList.get(d).get(s) is
+    //                                the same set as adjList.get(s).get(d) for every pair of nodes
+    //                                with an edge from s to d, and null for every other pair.
     //
     // Abstraction Function:
-    //      AF(this) = a directed graph with the HashSet set of nodes "nodes" and
-    //                 an adjacency list "adjList" represented with a HashMap mapping
-    //                 each source node to the set of outbound edges from that
-    //                 source node.
+    //      AF(this) = a directed graph with the set of nodes "nodes" and an adjacency list
+    //                 "adjList" mapping each source node to a map from each of its child nodes
+    //                 to the labels of the edges from the source node to that child node.
+    //                 incomingAdjList, when present, is an index of the same label sets
+    //                 keyed by destination node and then source node instead. If
+    //                 preserveOrder is true, the sets and maps are linked so that they are
+    //                 iterated in the order their elements were added.
     //
     private Set<N> nodes;
-    private Map<N, Set<Edge<N, E>>> adjList;
+    private Map<N, Map<N, Set<E>>> adjList;
+    private Map<N, Map<N, Set<E>>> incomingAdjList;
+    private final boolean preserveOrder;
     private int numEdges;
 
     /**
      * Checks the representation invariant of this DirectedGraph to ensure rep invariant
-     * holds before and after this DirectedGraph is mutated.
+     * holds before and after this DirectedGraph is mutated, and once GraphBuilder has
+     * loaded it.
      */
-    private void checkRep()
+    void checkRep()
     {
         assert nodes != null;
         assert adjList != null;
@@ -40,21 +62,32 @@ public class DirectedGraph<N, E>
         {
             // run runtime-intensive tests if debugging
             int actualEdgeCount = 0;
+            int actualIncomingCount = 0;
+
+            assert adjList.keySet().equals(nodes);
 
             for (N sourceNode : nodes)
             {
                 assert sourceNode != null;
-                assert adjList.containsKey(sourceNode);
                 assert adjList.get(sourceNode) != null;
 
-                for (Edge<N, E> e : adjList.get(sourceNode))
+                for (Map.Entry<N, Set<E>> entry : adjList.get(sourceNode).entrySet())
                 {
-                    assert e != null;
-                    actualEdgeCount++;
+                    assert nodes.contains(entry.getKey());
+                    assert !entry.getValue().isEmpty();
+                    assert !entry.getValue().contains(null);
+                    assert incomingAdjList == null
+                            || incomingAdjList.get(entry.getKey()).get(sourceNode) == entry.getValue();
+                    actualEdgeCount += entry.getValue().size();
                 }
+
+                if (incomingAdjList != null)
+                    for (Set<E> labels : incomingAdjList.get(sourceNode).values())
+                        actualIncomingCount += labels.size();
             }
 
             assert actualEdgeCount == numEdges;
+            assert incomingAdjList == null || actualIncomingCount == numEdges;
         }
     }
 
@@ -63,12 +96,92 @@ public class DirectedGraph<N, E>
      */
     public DirectedGraph()
     {
-        nodes = new HashSet<>();
-        adjList = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * Instantiates an empty graph with no nodes and no edges, which also indexes
+     * the inbound edges of each node if trackIncomingEdges is true.
+     *
+     * @param trackIncomingEdges whether the graph should index the inbound edges of each
+     *                           node, making getParentNodes proportional to the number of
+     *                           parent nodes instead of the number of nodes in the graph.
+     */
+    public DirectedGraph(boolean trackIncomingEdges)
+    {
+        this(trackIncomingEdges, false);
+    }
+
+    /**
+     * Instantiates an empty graph with no nodes and no edges, which also indexes
+     * the inbound edges of each node if trackIncomingEdges is true, and keeps its nodes,
+     * child nodes and edge labels in the order they were added if preserveOrder is true.
+     *
+     * @param trackIncomingEdges whether the graph should index the inbound edges of each
+     *                           node, making getParentNodes proportional to the number of
+     *                           parent nodes instead of the number of nodes in the graph.
+     * @param preserveOrder whether getNodes, getChildNodes, getEdges and the other methods
+     *                      returning or walking nodes and edges should do so in the order they
+     *                      were added, at the cost of some memory.
+     */
+    public DirectedGraph(boolean trackIncomingEdges, boolean preserveOrder)
+    {
+        this(trackIncomingEdges, preserveOrder, 0);
+    }
+
+    /**
+     * Instantiates an empty graph like DirectedGraph(trackIncomingEdges, preserveOrder), sized
+     * to hold expectedNodeCount nodes without growing its tables.
+     *
+     * @param trackIncomingEdges whether the graph should index the inbound edges of each node.
+     * @param preserveOrder whether the graph should keep its nodes and edges in the order they
+     *                      were added.
+     * @param expectedNodeCount the number of nodes the graph is expected to have.
+     * @spec.requires expectedNodeCount >= 0
+     */
+    DirectedGraph(boolean trackIncomingEdges, boolean preserveOrder, int expectedNodeCount)
+    {
+        // the capacity at which a hash table with the default load factor of 0.75 holds
+        // expectedNodeCount entries without resizing
+        int capacity = Math.max(16, (int) (expectedNodeCount / 0.75f) + 1);
+
+        this.preserveOrder = preserveOrder;
+        nodes = preserveOrder ? new LinkedHashSet<>(capacity) : new HashSet<>(capacity);
+        adjList = preserveOrder ? new LinkedHashMap<>(capacity) : new HashMap<>(capacity);
+        incomingAdjList = !trackIncomingEdges ? null
+                : preserveOrder ? new LinkedHashMap<>(capacity) : new HashMap<>(capacity);
         numEdges = 0;
         checkRep();
     }
 
+    // Returns a new empty map, iterated in insertion order if this graph preserves order.
+    private <K, V> Map<K, V> newMap()
+    {
+        return preserveOrder ? new LinkedHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Returns whether this graph indexes the inbound edges of each node.
+     *
+     * @return true iff this graph indexes the inbound edges of each node.
+     */
+    public boolean tracksIncomingEdges()
+    {
+        return incomingAdjList != null;
+    }
+
+    /**
+     * Returns whether this graph keeps its nodes, child nodes and edge labels in the order
+     * they were added.
+     *
+     * @return true iff this graph keeps its nodes, child nodes and edge labels in the order
+     *         they were added.
+     */
+    public boolean preservesOrder()
+    {
+        return preserveOrder;
+    }
+
     /**
      * Adds a given node, targetNode, to the graph.
      * If node targetNode already exists in the graph, throws
@@ -84,11 +197,105 @@ public class DirectedGraph<N, E>
     {
         checkRep();
 
-        if (nodes.contains(targetNode))
+        if (!insertNode(targetNode))
             throw new IllegalArgumentException(String.format("Node %s already exists in graph!", targetNode));
 
-        nodes.add(targetNode);
-        adjList.put(targetNode, new HashSet<>());
+        checkRep();
+    }
+
+    /**
+     * Adds targetNode to the graph unless it already exists, without checking the
+     * representation invariant, for addNode and GraphBuilder.
+     *
+     * @param targetNode the node to add to the graph.
+     * @spec.requires targetNode != null
+     * @spec.modifies this
+     * @spec.effects targetNode is added to this graph if it isn't in it already.
+     * @return true iff targetNode was added.
+     */
+    boolean insertNode(N targetNode)
+    {
+        if (!nodes.add(targetNode))
+            return false;
+
+        adjList.put(targetNode, newMap());
+
+        if (incomingAdjList != null)
+            incomingAdjList.put(targetNode, newMap());
+
+        return true;
+    }
+
+    /**
+     * Adds a given node, targetNode, to the graph unless it already exists.
+     *
+     * @param targetNode the node to add to the graph.
+     * @spec.requires targetNode != null
+     * @spec.effects targetNode is added to this graph if it isn't in it already.
+     * @return true iff targetNode was added.
+     */
+    public boolean addNodeIfAbsent(N targetNode)
+    {
+        if (nodes.contains(targetNode))
+            return false;
+
+        addNode(targetNode);
+        return true;
+    }
+
+    /**
+     * Removes a given node, targetNode, from the graph along with every edge from or to it.
+     * If the graph tracks incoming edges, this takes time proportional to the number of edges
+     * of targetNode, otherwise every node in the graph is checked for edges to targetNode.
+     *
+     * @param targetNode the node to remove from the graph.
+     * @throws IllegalArgumentException if the graph has no node targetNode
+     * @spec.requires targetNode != null
+     * @spec.modifies this
+     * @spec.effects targetNode and every edge from or to targetNode are removed from this graph.
+     */
+    public void removeNode(N targetNode)
+    {
+        checkRep();
+
+        if (!nodes.contains(targetNode))
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", targetNode));
+
+        nodes.remove(targetNode);
+        Map<N, Set<E>> outEdges = adjList.remove(targetNode);
+
+        for (Set<E> labels : outEdges.values())
+            numEdges -= labels.size();
+
+        if (incomingAdjList != null)
+        {
+            Map<N, Set<E>> inEdges = incomingAdjList.remove(targetNode);
+
+            for (N destNode : outEdges.keySet())
+                if (!destNode.equals(targetNode))
+                    incomingAdjList.get(destNode).remove(targetNode);
+
+            // self-loops were in outEdges too, so they are already counted and removed
+            for (Map.Entry<N, Set<E>> entry : inEdges.entrySet())
+            {
+                if (!entry.getKey().equals(targetNode))
+                {
+                    adjList.get(entry.getKey()).remove(targetNode);
+                    numEdges -= entry.getValue().size();
+                }
+            }
+        }
+        else
+        {
+            for (Map<N, Set<E>> edges : adjList.values())
+            {
+                Set<E> labels = edges.remove(targetNode);
+
+                if (labels != null)
+                    numEdges -= labels.size();
+            }
+        }
+
         checkRep();
     }
 
@@ -130,16 +337,60 @@ public class DirectedGraph<N, E>
      * @throws IllegalArgumentException if the graph has no node sourceNode
      * @return a set of the child nodes of the node sourceNode.
      */
-    @SuppressWarnings("unchecked")
     public Set<N> getChildNodes(N sourceNode)
     {
         if (!nodes.contains(sourceNode))
             throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", sourceNode));
 
-        Set<N> resSet = new HashSet<>();
+        return preserveOrder ? new LinkedHashSet<>(adjList.get(sourceNode).keySet())
+                : new HashSet<>(adjList.get(sourceNode).keySet());
+    }
+
+    /**
+     * Returns a read-only view of the child nodes of node sourceNode in the graph, which
+     * reflects later changes to the graph instead of being a copy.
+     *
+     * @param sourceNode the node in the Graph to return a view of the child nodes of.
+     * @spec.requires sourceNode != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     * @return an unmodifiable view of the child nodes of the node sourceNode.
+     */
+    public Set<N> getChildNodesView(N sourceNode)
+    {
+        if (!nodes.contains(sourceNode))
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", sourceNode));
+
+        return Collections.unmodifiableSet(adjList.get(sourceNode).keySet());
+    }
+
+    /**
+     * Returns a set of the parent nodes of node destNode in the graph, that is, the nodes
+     * with an edge to destNode. If this graph doesn't track incoming edges, this checks the
+     * child nodes of every node in the graph.
+     *
+     * @param destNode the node in the Graph to
+     *                 return a set of parent nodes of.
+     * @spec.requires destNode != null
+     * @throws IllegalArgumentException if the graph has no node destNode
+     * @return a set of the parent nodes of the node destNode.
+     */
+    public Set<N> getParentNodes(N destNode)
+    {
+        if (!nodes.contains(destNode))
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", destNode));
 
-        for (Edge<N, E> e : adjList.get(sourceNode))
-            resSet.add((N) e.getDestNode());
+        Set<N> resSet = preserveOrder ? new LinkedHashSet<>() : new HashSet<>();
+
+        if (incomingAdjList != null)
+        {
+            resSet.addAll(incomingAdjList.get(destNode).keySet());
+        }
+        else
+        {
+            for (Map.Entry<N, Map<N, Set<E>>> entry : adjList.entrySet())
+                if (entry.getValue().containsKey(destNode))
+                    resSet.add(entry.getKey());
+        }
 
         return resSet;
     }
@@ -166,8 +417,9 @@ public class DirectedGraph<N, E>
      * @spec.requires sourceNode, destNode, label != null.
      * @spec.effects an edge with start node sourceNode, destination node destNode, and
      *               given label is added to this Graph.
-     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this Graph
-     *         or Graph already has an edge from sourceNode to destNode with the given label.
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this Graph,
+     *         label is null, or Graph already has an edge from sourceNode to destNode with the
+     *         given label.
      */
     public void addEdge(N sourceNode, N destNode, E label)
     {
@@ -182,17 +434,119 @@ public class DirectedGraph<N, E>
                     String.format("Node%s must exist in the graph!", nodesStr));
         }
 
-        Set<Edge<N, E>> edges = adjList.get(sourceNode);
-        Edge<N, E> e = new Edge<>(sourceNode, destNode, label);
+        if (label == null)
+            throw new IllegalArgumentException("sourceNode, destNode, and label must be non-null!");
 
-        if (edges.contains(e))
+        if (!insertEdge(sourceNode, destNode, label))
             throw new IllegalArgumentException(
                     String.format("An edge from node %s to %s with label %s already exists!",
                             sourceNode, destNode, label));
 
-        adjList.get(sourceNode).add(e);
+        checkRep();
+    }
+
+    /**
+     * Adds a directed edge with the given label from sourceNode to destNode unless it already
+     * exists, without checking that the nodes exist or the representation invariant, for
+     * addEdge and GraphBuilder.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge.
+     * @spec.requires sourceNode, destNode, label != null and sourceNode, destNode exist in
+     *                this graph.
+     * @spec.modifies this
+     * @spec.effects the edge is added to this graph if it isn't in it already.
+     * @return true iff the edge was added.
+     */
+    boolean insertEdge(N sourceNode, N destNode, E label)
+    {
+        Map<N, Set<E>> edges = adjList.get(sourceNode);
+        Set<E> labels = edges.get(destNode);
+
+        if (labels == null)
+        {
+            labels = preserveOrder ? new LinkedHashSet<>() : new HashSet<>();
+            edges.put(destNode, labels);
+
+            if (incomingAdjList != null)
+                incomingAdjList.get(destNode).put(sourceNode, labels);
+        }
+
+        if (!labels.add(label))
+            return false;
+
         numEdges++;
+        return true;
+    }
+
+    /**
+     * Adds a directed edge with the given label, label, to the Graph from the node sourceNode
+     * to the node destNode unless it already exists.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge.
+     * @spec.requires sourceNode, destNode, label != null.
+     * @spec.effects an edge with start node sourceNode, destination node destNode, and
+     *               given label is added to this Graph if it isn't in it already.
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this Graph
+     *         or label is null.
+     * @return true iff the edge was added.
+     */
+    public boolean addEdgeIfAbsent(N sourceNode, N destNode, E label)
+    {
+        if (hasEdge(sourceNode, destNode, label))
+            return false;
+
+        addEdge(sourceNode, destNode, label);
+        return true;
+    }
+
+    /**
+     * Removes the edge with the given label, label, from the node sourceNode to the node
+     * destNode, if there is one, in expected constant time.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge.
+     * @spec.requires sourceNode, destNode, label != null.
+     * @spec.modifies this
+     * @spec.effects the edge from sourceNode to destNode with the given label is removed from
+     *               this Graph.
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this Graph.
+     * @return true iff there was an edge from sourceNode to destNode with the given label to
+     *         remove.
+     */
+    public boolean removeEdge(N sourceNode, N destNode, E label)
+    {
+        checkRep();
+
+        if (!nodes.contains(sourceNode) || !nodes.contains(destNode))
+        {
+            String nodesStr = (!nodes.contains(sourceNode) && !nodes.contains(destNode)) ?
+                    String.format("s %s and %s", sourceNode, destNode) :
+                    (!nodes.contains(sourceNode)) ? " " + sourceNode : " " + destNode;
+            throw new IllegalArgumentException(
+                    String.format("Node%s must exist in the graph!", nodesStr));
+        }
+
+        Set<E> labels = adjList.get(sourceNode).get(destNode);
+
+        if (labels == null || !labels.remove(label))
+            return false;
+
+        if (labels.isEmpty())
+        {
+            adjList.get(sourceNode).remove(destNode);
+
+            if (incomingAdjList != null)
+                incomingAdjList.get(destNode).remove(sourceNode);
+        }
+
+        numEdges--;
         checkRep();
+        return true;
     }
 
     /**
@@ -211,13 +565,14 @@ public class DirectedGraph<N, E>
         if (!nodes.contains(sourceNode) || !nodes.contains(destNode))
             return false;
 
-        return adjList.get(sourceNode).contains(new Edge<N, E>(sourceNode, destNode, label));
+        Set<E> labels = adjList.get(sourceNode).get(destNode);
+        return labels != null && labels.contains(label);
     }
 
     /**
      * Returns the list of edges that start from node sourceNode and end
-     * on node destNode. If nodes sourceNode or destNode do not exist in the Graph,
-     * this method will throw an IllegalArgumentException.
+     * on node destNode, in time proportional to the number of them. If nodes sourceNode
+     * or destNode do not exist in the Graph, this method will throw an IllegalArgumentException.
      *
      * @param sourceNode the node the edges originate from
      * @param destNode the node the edges terminate on.
@@ -237,13 +592,135 @@ public class DirectedGraph<N, E>
                     String.format("Node%s must exist in the graph!", nodesStr));
         }
 
-        List<E> res = new ArrayList<>();
+        Set<E> labels = adjList.get(sourceNode).get(destNode);
+        return labels == null ? new ArrayList<>() : new ArrayList<>(labels);
+    }
 
-        for (Edge<N, E> e : adjList.get(sourceNode))
-            if (e.getDestNode().equals(destNode))
-                res.add((E) e.getLabel());
+    /**
+     * Returns a read-only view of the labels of the edges that start from node sourceNode and
+     * end on node destNode, without copying them. If there are such edges, the view reflects
+     * later changes to them until the last of them is removed, after which it must not be used.
+     *
+     * @param sourceNode the node the edges originate from
+     * @param destNode the node the edges terminate on.
+     * @spec.requires sourceNode, destNode != null
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this Graph.
+     * @return an unmodifiable view of the labels of the edges from sourceNode to destNode,
+     *         or an empty set if there are none.
+     */
+    public Set<E> getEdgesView(N sourceNode, N destNode)
+    {
+        if (!nodes.contains(sourceNode) || !nodes.contains(destNode))
+        {
+            String nodesStr = (!nodes.contains(sourceNode) && !nodes.contains(destNode)) ?
+                    String.format("s %s and %s", sourceNode, destNode) :
+                    (!nodes.contains(sourceNode)) ? " " + sourceNode : " " + destNode;
+            throw new IllegalArgumentException(
+                    String.format("Node%s must exist in the graph!", nodesStr));
+        }
 
-        return res;
+        Set<E> labels = adjList.get(sourceNode).get(destNode);
+        return labels == null ? Collections.emptySet() : Collections.unmodifiableSet(labels);
+    }
+
+    /**
+     * Calls action with the destination node and label of every outbound edge of sourceNode,
+     * without creating a collection of them.
+     *
+     * @param sourceNode the node the edges originate from.
+     * @param action the action to call with the destination node and label of each edge.
+     * @spec.requires sourceNode, action != null and action doesn't change this graph.
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     */
+    public void forEachOutEdge(N sourceNode, BiConsumer<? super N, ? super E> action)
+    {
+        if (!nodes.contains(sourceNode))
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", sourceNode));
+
+        for (Map.Entry<N, Set<E>> entry : adjList.get(sourceNode).entrySet())
+            for (E label : entry.getValue())
+                action.accept(entry.getKey(), label);
+    }
+
+    /**
+     * Returns a cursor over the outbound edges of sourceNode, which walks them without creating
+     * a collection of them or an object per edge. The graph must not be changed while the cursor
+     * is used.
+     *
+     * @param sourceNode the node the edges originate from.
+     * @spec.requires sourceNode != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     * @return a cursor before the first outbound edge of sourceNode.
+     */
+    public EdgeCursor<N, E> getOutEdgeCursor(N sourceNode)
+    {
+        if (!nodes.contains(sourceNode))
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", sourceNode));
+
+        return new OutEdgeCursor<>(adjList.get(sourceNode).entrySet().iterator());
+    }
+
+    /**
+     * An EdgeCursor over the outbound edges of a node, walking the labels of each of its child
+     * nodes in turn.
+     */
+    private static class OutEdgeCursor<N, E> implements EdgeCursor<N, E>
+    {
+        // Representation Invariant (RI): destNodes != null, and destNode, label != null iff
+        //                                labels != null and the cursor is at an edge.
+        // Abstraction Function:
+        //      AF(this) = a cursor at the edge to destNode labelled label, with the remaining
+        //                 labels to destNode left in labels and the remaining child nodes and
+        //                 their labels left in destNodes.
+        private final Iterator<Map.Entry<N, Set<E>>> destNodes;
+        private Iterator<E> labels;
+        private N destNode;
+        private E label;
+
+        private OutEdgeCursor(Iterator<Map.Entry<N, Set<E>>> destNodes)
+        {
+            this.destNodes = destNodes;
+        }
+
+        @Override
+        public boolean advance()
+        {
+            while (labels == null || !labels.hasNext())
+            {
+                if (!destNodes.hasNext())
+                {
+                    labels = null;
+                    destNode = null;
+                    label = null;
+                    return false;
+                }
+
+                Map.Entry<N, Set<E>> entry = destNodes.next();
+                destNode = entry.getKey();
+                labels = entry.getValue().iterator();
+            }
+
+            label = labels.next();
+            return true;
+        }
+
+        @Override
+        public N getDestNode()
+        {
+            if (label == null)
+                throw new NoSuchElementException("The cursor isn't at an edge!");
+
+            return destNode;
+        }
+
+        @Override
+        public E getLabel()
+        {
+            if (label == null)
+                throw new NoSuchElementException("The cursor isn't at an edge!");
+
+            return label;
+        }
     }
 
     /**
@@ -256,4 +733,49 @@ public class DirectedGraph<N, E>
         return numEdges;
     }
 
+    /**
+     * Returns an immutable snapshot of this graph in compressed-sparse-row form, with
+     * the same nodes and edges as this graph at the time of the call. Later changes
+     * to this graph are not reflected in the returned snapshot.
+     *
+     * @return a CompactGraph with the same nodes and edges as this graph.
+     */
+    public CompactGraph<N, E> freeze()
+    {
+        checkRep();
+
+        List<N> nodeList = new ArrayList<>(nodes);
+        Map<N, Integer> ids = new HashMap<>();
+
+        for (int i = 0; i < nodeList.size(); i++)
+            ids.put(nodeList.get(i), i);
+
+        int[] offsets = new int[nodeList.size() + 1];
+        int[] targets = new int[numEdges];
+        Object[] labels = new Object[numEdges];
+        int k = 0;
+
+        for (int i = 0; i < nodeList.size(); i++)
+        {
+            offsets[i] = k;
+
+            // lay out each node's edges sorted by destination id, keeping parallel edges adjacent
+            List<N> childNodes = new ArrayList<>(adjList.get(nodeList.get(i)).keySet());
+            childNodes.sort(Comparator.comparingInt(ids::get));
+
+            for (N destNode : childNodes)
+            {
+                for (E label : adjList.get(nodeList.get(i)).get(destNode))
+                {
+                    targets[k] = ids.get(destNode);
+                    labels[k] = label;
+                    k++;
+                }
+            }
+        }
+
+        offsets[nodeList.size()] = k;
+        return new CompactGraph<>(nodeList, offsets, targets, labels);
+    }
+
 }
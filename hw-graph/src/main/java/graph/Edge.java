@@ -2,17 +2,21 @@ package graph;
 
 /**
  * Represents an immutable edge in a graph from a given source node to
- * a given destination node and with a given label.
+ * a given destination node and with a given label. The hash code of an edge is
+ * computed once when it is created, so nodes and labels whose hash codes are
+ * expensive to compute aren't hashed again each time the edge is.
  */
 public class Edge<N, E>
 {
-    // Representation Invariant (RI): sourceNode, destNode, label != null.
+    // Representation Invariant (RI): sourceNode, destNode, label != null, and
+    //                                hash == hashOf(sourceNode, destNode, label).
     // Abstraction Function:
     //      AF(this) = an Edge of a directed graph with source node name sourceNode,
     //                 destination node name destNode, and label label.
     private final N sourceNode;
     private final N destNode;
     private final E label;
+    private final int hash;
 
     /**
      * @param sourceNode the name of the node the edge starts from
@@ -30,6 +34,14 @@ public class Edge<N, E>
         this.sourceNode = sourceNode;
         this.destNode = destNode;
         this.label = label;
+        this.hash = hashOf(sourceNode, destNode, label);
+    }
+
+    // Returns the hash code of an edge from sourceNode to destNode with the given label, which
+    // weighs the nodes differently so that an edge and its reverse rarely share a hash code.
+    private static int hashOf(Object sourceNode, Object destNode, Object label)
+    {
+        return 31 * (31 * sourceNode.hashCode() + destNode.hashCode()) + label.hashCode();
     }
 
     /**
@@ -68,7 +80,7 @@ public class Edge<N, E>
     @Override
     public int hashCode()
     {
-        return sourceNode.hashCode() ^ destNode.hashCode() ^ label.hashCode();
+        return hash;
     }
 
     /**
@@ -77,14 +89,16 @@ public class Edge<N, E>
     @Override
     public boolean equals(Object o)
     {
-        if (o == null)
-            return false;
+        if (o == this)
+            return true;
 
         if (!(o instanceof Edge<?, ?>))
             return false;
 
+        // edges with different hash codes can't be equal, which rules out most unequal
+        // edges without comparing their nodes and labels
         Edge<?, ?> e2 = (Edge<?, ?>) o;
-        return sourceNode.equals(e2.sourceNode) && destNode.equals(e2.destNode)
+        return hash == e2.hash && sourceNode.equals(e2.sourceNode) && destNode.equals(e2.destNode)
                 && label.equals(e2.label);
     }
 }
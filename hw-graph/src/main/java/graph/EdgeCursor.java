@@ -0,0 +1,37 @@
+package graph;
+
+/**
+ * A cursor over the outbound edges of one node of a graph, which walks them one at a time
+ * without creating an object per edge. A cursor starts before the first edge, and advance()
+ * moves it to each edge in turn, after which getDestNode() and getLabel() describe that edge.
+ *
+ * The edges must not be changed while the cursor is used, except through a graph that allows
+ * it, such as ConcurrentDirectedGraph.
+ */
+public interface EdgeCursor<N, E>
+{
+    /**
+     * Moves this cursor to the next edge, if there is one.
+     *
+     * @spec.modifies this
+     * @spec.effects this cursor is at the next edge, or past the last edge if there is none.
+     * @return true iff this cursor is at an edge after moving.
+     */
+    boolean advance();
+
+    /**
+     * Returns the node the current edge terminates on.
+     *
+     * @throws java.util.NoSuchElementException if this cursor isn't at an edge.
+     * @return the node the current edge terminates on.
+     */
+    N getDestNode();
+
+    /**
+     * Returns the label of the current edge.
+     *
+     * @throws java.util.NoSuchElementException if this cursor isn't at an edge.
+     * @return the label of the current edge.
+     */
+    E getLabel();
+}
@@ -0,0 +1,185 @@
+package graph;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The operations shared by the mutable, directed labelled graphs in this package, where a set of
+ * immutable nodes of type N can be connected via immutable directed edges labelled with type E,
+ * and no two edges between the same parent and child nodes have the same label.
+ *
+ * DirectedGraph is the implementation for use by one thread at a time, and ConcurrentDirectedGraph
+ * the one that many threads can read and change at once.
+ */
+public interface Graph<N, E>
+{
+    /**
+     * Adds a given node, targetNode, to the graph.
+     *
+     * @param targetNode the node to add to the graph.
+     * @throws IllegalArgumentException if the node targetNode already exists in this graph.
+     * @spec.requires targetNode != null
+     * @spec.effects targetNode is added to this graph.
+     */
+    void addNode(N targetNode);
+
+    /**
+     * Adds a given node, targetNode, to the graph unless it already exists, as one step even
+     * if other threads change the graph at the same time.
+     *
+     * @param targetNode the node to add to the graph.
+     * @spec.requires targetNode != null
+     * @spec.effects targetNode is added to this graph if it isn't in it already.
+     * @return true iff targetNode was added.
+     */
+    boolean addNodeIfAbsent(N targetNode);
+
+    /**
+     * Removes a given node, targetNode, from the graph along with every edge from or to it.
+     *
+     * @param targetNode the node to remove from the graph.
+     * @throws IllegalArgumentException if the graph has no node targetNode
+     * @spec.requires targetNode != null
+     * @spec.effects targetNode and every edge from or to targetNode are removed from this graph.
+     */
+    void removeNode(N targetNode);
+
+    /**
+     * Returns whether a given node targetNode exists in the graph.
+     *
+     * @param targetNode the node to check the existence of in the graph.
+     * @spec.requires targetNode != null
+     * @return true iff the node targetNode exists in this graph.
+     */
+    boolean hasNode(N targetNode);
+
+    /**
+     * Returns a list of all nodes in the graph, or an empty list if the graph has no nodes.
+     *
+     * @return a new list of all nodes in the graph.
+     */
+    List<N> getNodes();
+
+    /**
+     * Returns a set of the child nodes of node sourceNode in the graph.
+     *
+     * @param sourceNode the node to return the child nodes of.
+     * @spec.requires sourceNode != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     * @return a new set of the child nodes of the node sourceNode.
+     */
+    Set<N> getChildNodes(N sourceNode);
+
+    /**
+     * Returns a set of the parent nodes of node destNode in the graph, that is, the nodes
+     * with an edge to destNode.
+     *
+     * @param destNode the node to return the parent nodes of.
+     * @spec.requires destNode != null
+     * @throws IllegalArgumentException if the graph has no node destNode
+     * @return a new set of the parent nodes of the node destNode.
+     */
+    Set<N> getParentNodes(N destNode);
+
+    /**
+     * Returns the number of nodes in the graph.
+     *
+     * @return the number of nodes in the graph.
+     */
+    int getNodeCount();
+
+    /**
+     * Adds a directed edge with the given label from the node sourceNode to the node destNode.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge.
+     * @spec.requires sourceNode, destNode, label != null.
+     * @spec.effects an edge from sourceNode to destNode with the given label is added to this graph.
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this graph
+     *         or the graph already has an edge from sourceNode to destNode with the given label.
+     */
+    void addEdge(N sourceNode, N destNode, E label);
+
+    /**
+     * Adds a directed edge with the given label from the node sourceNode to the node destNode
+     * unless it already exists, as one step even if other threads change the graph at the
+     * same time.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge.
+     * @spec.requires sourceNode, destNode, label != null.
+     * @spec.effects an edge from sourceNode to destNode with the given label is added to this
+     *               graph if it isn't in it already.
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this graph.
+     * @return true iff the edge was added.
+     */
+    boolean addEdgeIfAbsent(N sourceNode, N destNode, E label);
+
+    /**
+     * Removes the edge with the given label from the node sourceNode to the node destNode,
+     * if there is one.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge.
+     * @spec.requires sourceNode, destNode, label != null.
+     * @spec.effects the edge from sourceNode to destNode with the given label is removed.
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this graph.
+     * @return true iff there was such an edge to remove.
+     */
+    boolean removeEdge(N sourceNode, N destNode, E label);
+
+    /**
+     * Returns whether an edge with the given label exists from node sourceNode to node destNode.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge to check the existence of.
+     * @spec.requires sourceNode, destNode, label != null
+     * @return whether an edge from sourceNode to destNode with the given label exists.
+     */
+    boolean hasEdge(N sourceNode, N destNode, E label);
+
+    /**
+     * Returns the labels of the edges from node sourceNode to node destNode.
+     *
+     * @param sourceNode the node the edges originate from
+     * @param destNode the node the edges terminate on.
+     * @spec.requires sourceNode, destNode != null
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this graph.
+     * @return a new list of the labels of the edges from sourceNode to destNode.
+     */
+    List<E> getEdges(N sourceNode, N destNode);
+
+    /**
+     * Calls action with the destination node and label of every outbound edge of sourceNode,
+     * without creating a collection of them.
+     *
+     * @param sourceNode the node the edges originate from.
+     * @param action the action to call with the destination node and label of each edge.
+     * @spec.requires sourceNode, action != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     */
+    void forEachOutEdge(N sourceNode, BiConsumer<? super N, ? super E> action);
+
+    /**
+     * Returns a cursor over the outbound edges of sourceNode, which walks them without creating
+     * a collection of them or an object per edge.
+     *
+     * @param sourceNode the node the edges originate from.
+     * @spec.requires sourceNode != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     * @return a cursor before the first outbound edge of sourceNode.
+     */
+    EdgeCursor<N, E> getOutEdgeCursor(N sourceNode);
+
+    /**
+     * Returns the number of edges in the graph.
+     *
+     * @return the number of edges in the graph.
+     */
+    int getEdgeCount();
+}
@@ -0,0 +1,273 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A builder that collects the nodes and edges of a DirectedGraph in bulk and then loads them all
+ * at once, which is faster for large graphs than adding them one by one with addNode and addEdge.
+ * The graph's tables are sized for all its nodes up front, and the nodes and edges are only
+ * validated as they are loaded by build(), with the graph's representation invariant checked once
+ * at the end instead of around every insertion.
+ *
+ * A GraphBuilder can be reused: each call to build() returns a new graph with every node and edge
+ * added so far.
+ */
+public class GraphBuilder<N, E>
+{
+    // Representation Invariant (RI): nodes, sources, dests, labels != null and
+    //                                sources.size() == dests.size() == labels.size().
+    //
+    // Abstraction Function:
+    //      AF(this) = a builder of a graph with the nodes in "nodes", in the order they were
+    //                 added, and an edge from sources.get(i) to dests.get(i) labelled
+    //                 labels.get(i) for every i in [0, sources.size()). The graph indexes inbound
+    //                 edges iff trackIncomingEdges and keeps insertion order iff preserveOrder.
+    //
+    private final List<N> nodes;
+    private final List<N> sources;
+    private final List<N> dests;
+    private final List<E> labels;
+    private boolean trackIncomingEdges;
+    private boolean preserveOrder;
+
+    /**
+     * Instantiates a builder with no nodes or edges, of a graph that doesn't index inbound edges
+     * or keep insertion order.
+     */
+    public GraphBuilder()
+    {
+        this(0, 0);
+    }
+
+    /**
+     * Instantiates a builder with no nodes or edges, with room for the given numbers of nodes and
+     * edges, of a graph that doesn't index inbound edges or keep insertion order.
+     *
+     * @param expectedNodeCount the number of nodes expected to be added.
+     * @param expectedEdgeCount the number of edges expected to be added.
+     * @throws IllegalArgumentException if expectedNodeCount or expectedEdgeCount is negative.
+     */
+    public GraphBuilder(int expectedNodeCount, int expectedEdgeCount)
+    {
+        if (expectedNodeCount < 0 || expectedEdgeCount < 0)
+            throw new IllegalArgumentException(
+                    String.format("Expected counts must be non-negative, not %d nodes and %d edges!",
+                            expectedNodeCount, expectedEdgeCount));
+
+        nodes = new ArrayList<>(expectedNodeCount);
+        sources = new ArrayList<>(expectedEdgeCount);
+        dests = new ArrayList<>(expectedEdgeCount);
+        labels = new ArrayList<>(expectedEdgeCount);
+    }
+
+    /**
+     * Sets whether the graphs built should index the inbound edges of each node.
+     *
+     * @param trackIncomingEdges whether the graphs built should index inbound edges.
+     * @spec.modifies this
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> trackIncomingEdges(boolean trackIncomingEdges)
+    {
+        this.trackIncomingEdges = trackIncomingEdges;
+        return this;
+    }
+
+    /**
+     * Sets whether the graphs built should keep their nodes and edges in the order they were
+     * added to this builder.
+     *
+     * @param preserveOrder whether the graphs built should keep insertion order.
+     * @spec.modifies this
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> preserveOrder(boolean preserveOrder)
+    {
+        this.preserveOrder = preserveOrder;
+        return this;
+    }
+
+    /**
+     * Adds a node for the graph.
+     *
+     * @param node the node to add.
+     * @spec.modifies this
+     * @spec.effects node is added to the nodes of the graphs built.
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> addNode(N node)
+    {
+        nodes.add(node);
+        return this;
+    }
+
+    /**
+     * Adds nodes for the graph.
+     *
+     * @param nodes the nodes to add.
+     * @spec.requires nodes != null
+     * @spec.modifies this
+     * @spec.effects every node in nodes is added to the nodes of the graphs built.
+     * @return this builder.
+     */
+    @SafeVarargs
+    public final GraphBuilder<N, E> addNodes(N... nodes)
+    {
+        return addNodes(Arrays.asList(nodes));
+    }
+
+    /**
+     * Adds nodes for the graph.
+     *
+     * @param nodes the nodes to add.
+     * @spec.requires nodes != null
+     * @spec.modifies this
+     * @spec.effects every node in nodes is added to the nodes of the graphs built.
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> addNodes(Iterable<? extends N> nodes)
+    {
+        for (N node : nodes)
+            this.nodes.add(node);
+
+        return this;
+    }
+
+    /**
+     * Adds nodes for the graph.
+     *
+     * @param nodes the nodes to add, which this consumes.
+     * @spec.requires nodes != null
+     * @spec.modifies this
+     * @spec.effects every node in nodes is added to the nodes of the graphs built.
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> addNodes(Stream<? extends N> nodes)
+    {
+        nodes.forEachOrdered(this.nodes::add);
+        return this;
+    }
+
+    /**
+     * Adds an edge for the graph from sourceNode to destNode with the given label.
+     *
+     * @param sourceNode the node the edge originates from.
+     * @param destNode the node the edge terminates on.
+     * @param label the label of the edge.
+     * @spec.modifies this
+     * @spec.effects the edge is added to the edges of the graphs built.
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> addEdge(N sourceNode, N destNode, E label)
+    {
+        sources.add(sourceNode);
+        dests.add(destNode);
+        labels.add(label);
+        return this;
+    }
+
+    /**
+     * Adds edges for the graph.
+     *
+     * @param edges the edges to add.
+     * @spec.requires edges != null and has no nulls
+     * @spec.modifies this
+     * @spec.effects every edge in edges is added to the edges of the graphs built.
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> addEdges(Iterable<? extends Edge<N, E>> edges)
+    {
+        for (Edge<N, E> e : edges)
+            addEdge(e.getSourceNode(), e.getDestNode(), e.getLabel());
+
+        return this;
+    }
+
+    /**
+     * Adds edges for the graph.
+     *
+     * @param edges the edges to add, which this consumes.
+     * @spec.requires edges != null and has no nulls
+     * @spec.modifies this
+     * @spec.effects every edge in edges is added to the edges of the graphs built.
+     * @return this builder.
+     */
+    public GraphBuilder<N, E> addEdges(Stream<? extends Edge<N, E>> edges)
+    {
+        edges.forEachOrdered(e -> addEdge(e.getSourceNode(), e.getDestNode(), e.getLabel()));
+        return this;
+    }
+
+    /**
+     * Returns the number of nodes added to this builder so far.
+     *
+     * @return the number of nodes added to this builder.
+     */
+    public int getNodeCount()
+    {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the number of edges added to this builder so far.
+     *
+     * @return the number of edges added to this builder.
+     */
+    public int getEdgeCount()
+    {
+        return sources.size();
+    }
+
+    /**
+     * Returns a new DirectedGraph with every node and edge added to this builder, in time
+     * proportional to their number.
+     *
+     * @throws IllegalArgumentException if a node, edge node or label is null, a node was added
+     *         more than once, an edge's nodes weren't added as nodes, or an edge with the same
+     *         nodes and label was added more than once.
+     * @return a new DirectedGraph with the nodes and edges added to this builder.
+     */
+    public DirectedGraph<N, E> build()
+    {
+        DirectedGraph<N, E> graph = new DirectedGraph<>(trackIncomingEdges, preserveOrder, nodes.size());
+
+        for (N node : nodes)
+        {
+            if (node == null)
+                throw new IllegalArgumentException("Nodes must be non-null!");
+
+            if (!graph.insertNode(node))
+                throw new IllegalArgumentException(String.format("Node %s already exists in graph!", node));
+        }
+
+        for (int i = 0; i < sources.size(); i++)
+        {
+            N sourceNode = sources.get(i);
+            N destNode = dests.get(i);
+            E label = labels.get(i);
+
+            if (sourceNode == null || destNode == null || label == null)
+                throw new IllegalArgumentException("sourceNode, destNode, and label must be non-null!");
+
+            if (!graph.hasNode(sourceNode) || !graph.hasNode(destNode))
+            {
+                String nodesStr = (!graph.hasNode(sourceNode) && !graph.hasNode(destNode)) ?
+                        String.format("s %s and %s", sourceNode, destNode) :
+                        (!graph.hasNode(sourceNode)) ? " " + sourceNode : " " + destNode;
+                throw new IllegalArgumentException(
+                        String.format("Node%s must exist in the graph!", nodesStr));
+            }
+
+            if (!graph.insertEdge(sourceNode, destNode, label))
+                throw new IllegalArgumentException(
+                        String.format("An edge from node %s to %s with label %s already exists!",
+                                sourceNode, destNode, label));
+        }
+
+        graph.checkRep();
+        return graph;
+    }
+}
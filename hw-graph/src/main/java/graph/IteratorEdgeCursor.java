@@ -0,0 +1,53 @@
+package graph;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An EdgeCursor over the Edges returned by an iterator, for the graphs in this package that store
+ * each node's outbound edges as a set of Edges.
+ */
+class IteratorEdgeCursor<N, E> implements EdgeCursor<N, E>
+{
+    // Representation Invariant (RI): edges != null.
+    // Abstraction Function:
+    //      AF(this) = a cursor at the edge current, or before the first edge or past the last
+    //                 edge if current == null, with the edges after it left in edges.
+    private final Iterator<Edge<N, E>> edges;
+    private Edge<N, E> current;
+
+    /**
+     * @param edges an iterator over the edges for the cursor to walk.
+     * @spec.requires edges != null
+     */
+    IteratorEdgeCursor(Iterator<Edge<N, E>> edges)
+    {
+        this.edges = edges;
+        this.current = null;
+    }
+
+    @Override
+    public boolean advance()
+    {
+        current = edges.hasNext() ? edges.next() : null;
+        return current != null;
+    }
+
+    @Override
+    public N getDestNode()
+    {
+        if (current == null)
+            throw new NoSuchElementException("The cursor isn't at an edge!");
+
+        return current.getDestNode();
+    }
+
+    @Override
+    public E getLabel()
+    {
+        if (current == null)
+            throw new NoSuchElementException("The cursor isn't at an edge!");
+
+        return current.getLabel();
+    }
+}
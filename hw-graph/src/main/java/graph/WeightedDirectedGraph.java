@@ -0,0 +1,723 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Represents a mutable, directed weighted graph where a set of immutable nodes of type N can be
+ * connected via directed edges carrying non-negative, finite primitive double weights. There is
+ * at most one edge from any parent node to any child node: adding a parallel edge between the same
+ * two nodes keeps only the smaller of the two weights, so the minimum weight between any two nodes
+ * is available without scanning or boxing.
+ *
+ * Each node is assigned a dense integer id in [0, getNodeCount()) in the order it was added, and
+ * the outbound edges of each node can be walked by id with getOutDegree, getOutTarget and
+ * getOutWeight. The graph also indexes the inbound edges of each node, which can be walked the
+ * same way with getInDegree, getInSource and getInWeight, so searches can run backwards from a
+ * destination.
+ */
+public class WeightedDirectedGraph<N>
+{
+    public static final boolean DEBUG = false;
+
+    // the initial capacity of the node table and of each node's edge arrays
+    private static final int INITIAL_CAPACITY = 4;
+
+    // Representation Invariant (RI): nodes != null, nodeIds != null, outTargets != null,
+    //                                outWeights != null, outDegree != null,
+    //                                nodes has no nulls or duplicates, nodeIds maps
+    //                                nodes.get(i) to i for every i in [0, nodes.size()),
+    //                                outTargets, outWeights and outDegree have length
+    //                                >= nodes.size(), and for every node id i:
+    //                                outTargets[i] and outWeights[i] are non-null and of the
+    //                                same length >= outDegree[i], outTargets[i][0..outDegree[i])
+    //                                has no duplicates and only ids in [0, nodes.size()),
+    //                                outWeights[i][0..outDegree[i]) are all finite and >= 0,
+    //                                and numEdges is the sum of outDegree[0..nodes.size()).
+    //                                inSources, inWeights and inDegree satisfy the same
+    //                                conditions, and for all ids i, j and weights w there is a
+    //                                k < outDegree[i] with outTargets[i][k] == j and
+    //                                outWeights[i][k] == w iff there is an l < inDegree[j] with
+    //                                inSources[j][l] == i and inWeights[j][l] == w.
+    //
+    // Abstraction Function:
+    //      AF(this) = a directed weighted graph with the set of nodes in the list "nodes", where
+    //                 for each node id i and each k in [0, outDegree[i]), there is an edge from
+    //                 nodes.get(i) to nodes.get(outTargets[i][k]) with weight outWeights[i][k].
+    //                 inSources, inWeights and inDegree index the same edges by destination.
+    //
+    private final List<N> nodes;
+    private final Map<N, Integer> nodeIds;
+    private int[][] outTargets;
+    private double[][] outWeights;
+    private int[] outDegree;
+    private int[][] inSources;
+    private double[][] inWeights;
+    private int[] inDegree;
+    private int numEdges;
+
+    /**
+     * Checks the representation invariant of this WeightedDirectedGraph to ensure rep invariant
+     * holds before and after this WeightedDirectedGraph is mutated.
+     */
+    private void checkRep()
+    {
+        assert nodes != null;
+        assert nodeIds != null;
+        assert outTargets != null && outWeights != null && outDegree != null;
+        assert inSources != null && inWeights != null && inDegree != null;
+        assert outTargets.length >= nodes.size();
+        assert inSources.length >= nodes.size();
+
+        if (DEBUG)
+        {
+            // run runtime-intensive tests if debugging
+            int actualEdgeCount = 0;
+            int actualIncomingCount = 0;
+
+            for (int i = 0; i < nodes.size(); i++)
+            {
+                assert nodes.get(i) != null;
+                assert nodeIds.get(nodes.get(i)) == i;
+                assert outTargets[i].length == outWeights[i].length;
+                assert outDegree[i] <= outTargets[i].length;
+
+                Set<Integer> seen = new HashSet<>();
+
+                for (int k = 0; k < outDegree[i]; k++)
+                {
+                    assert outTargets[i][k] >= 0 && outTargets[i][k] < nodes.size();
+                    assert seen.add(outTargets[i][k]);
+                    assert Double.isFinite(outWeights[i][k]) && outWeights[i][k] >= 0;
+                }
+
+                for (int l = 0; l < inDegree[i]; l++)
+                {
+                    int k = findEdge(inSources[i][l], i);
+                    assert k >= 0 && outWeights[inSources[i][l]][k] == inWeights[i][l];
+                }
+
+                actualEdgeCount += outDegree[i];
+                actualIncomingCount += inDegree[i];
+            }
+
+            assert actualEdgeCount == numEdges;
+            assert actualIncomingCount == numEdges;
+        }
+    }
+
+    /**
+     * Instantiates an empty weighted graph with no nodes and no edges.
+     */
+    public WeightedDirectedGraph()
+    {
+        nodes = new ArrayList<>();
+        nodeIds = new HashMap<>();
+        outTargets = new int[INITIAL_CAPACITY][];
+        outWeights = new double[INITIAL_CAPACITY][];
+        outDegree = new int[INITIAL_CAPACITY];
+        inSources = new int[INITIAL_CAPACITY][];
+        inWeights = new double[INITIAL_CAPACITY][];
+        inDegree = new int[INITIAL_CAPACITY];
+        numEdges = 0;
+        checkRep();
+    }
+
+    /**
+     * Instantiates a copy of graph with the same nodes, node ids and edges, which can then be
+     * changed without affecting graph. The nodes themselves are shared, since they are immutable.
+     *
+     * @param graph the graph to copy.
+     * @spec.requires graph != null
+     */
+    public WeightedDirectedGraph(WeightedDirectedGraph<N> graph)
+    {
+        int n = graph.nodes.size();
+        nodes = new ArrayList<>(graph.nodes);
+        nodeIds = new HashMap<>(graph.nodeIds);
+        outTargets = new int[Math.max(n, INITIAL_CAPACITY)][];
+        outWeights = new double[outTargets.length][];
+        outDegree = Arrays.copyOf(graph.outDegree, outTargets.length);
+        inSources = new int[outTargets.length][];
+        inWeights = new double[outTargets.length][];
+        inDegree = Arrays.copyOf(graph.inDegree, outTargets.length);
+        numEdges = graph.numEdges;
+
+        for (int i = 0; i < n; i++)
+        {
+            outTargets[i] = graph.outTargets[i].clone();
+            outWeights[i] = graph.outWeights[i].clone();
+            inSources[i] = graph.inSources[i].clone();
+            inWeights[i] = graph.inWeights[i].clone();
+        }
+
+        checkRep();
+    }
+
+    /**
+     * Adds a given node, targetNode, to the graph, assigning it the next unused node id.
+     * If node targetNode already exists in the graph, throws IllegalArgumentException
+     *
+     * @param targetNode the node to add to the graph.
+     * @throws IllegalArgumentException if the node targetNode
+     *          already exists in this graph.
+     * @spec.requires targetNode != null
+     * @spec.effects targetNode is added to this graph with id getNodeCount() - 1.
+     */
+    public void addNode(N targetNode)
+    {
+        checkRep();
+
+        if (nodeIds.containsKey(targetNode))
+            throw new IllegalArgumentException(String.format("Node %s already exists in graph!", targetNode));
+
+        int id = nodes.size();
+
+        if (id == outDegree.length)
+        {
+            int newCapacity = outDegree.length * 2;
+            outTargets = Arrays.copyOf(outTargets, newCapacity);
+            outWeights = Arrays.copyOf(outWeights, newCapacity);
+            outDegree = Arrays.copyOf(outDegree, newCapacity);
+            inSources = Arrays.copyOf(inSources, newCapacity);
+            inWeights = Arrays.copyOf(inWeights, newCapacity);
+            inDegree = Arrays.copyOf(inDegree, newCapacity);
+        }
+
+        nodes.add(targetNode);
+        nodeIds.put(targetNode, id);
+        outTargets[id] = new int[INITIAL_CAPACITY];
+        outWeights[id] = new double[INITIAL_CAPACITY];
+        outDegree[id] = 0;
+        inSources[id] = new int[INITIAL_CAPACITY];
+        inWeights[id] = new double[INITIAL_CAPACITY];
+        inDegree[id] = 0;
+        checkRep();
+    }
+
+    /**
+     * Returns whether a given node targetNode exists in the graph.
+     *
+     * @param targetNode the node to check the existence of in the graph.
+     * @spec.requires targetNode != null
+     * @return true iff the node targetNode exists in this graph.
+     */
+    public boolean hasNode(N targetNode)
+    {
+        return nodeIds.containsKey(targetNode);
+    }
+
+    /**
+     * Returns a list of the all nodes in the graph, in order of their ids.
+     * If the graph has no nodes, returns an empty list.
+     *
+     * @return a list of all nodes in the graph,
+     *         or an empty list if the graph has no nodes.
+     */
+    public List<N> getNodes()
+    {
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * Returns a set of the child nodes of node sourceNode in the graph.
+     *
+     * @param sourceNode the node in the Graph to
+     *                 return a list of child nodes of.
+     * @spec.requires sourceNode != null
+     * @throws IllegalArgumentException if the graph has no node sourceNode
+     * @return a set of the child nodes of the node sourceNode.
+     */
+    public Set<N> getChildNodes(N sourceNode)
+    {
+        int sourceId = getNodeId(sourceNode);
+        Set<N> resSet = new HashSet<>();
+
+        for (int k = 0; k < outDegree[sourceId]; k++)
+            resSet.add(nodes.get(outTargets[sourceId][k]));
+
+        return resSet;
+    }
+
+    /**
+     * Returns a set of the parent nodes of node destNode in the graph, that is, the nodes
+     * with an edge to destNode.
+     *
+     * @param destNode the node in the Graph to
+     *                 return a set of parent nodes of.
+     * @spec.requires destNode != null
+     * @throws IllegalArgumentException if the graph has no node destNode
+     * @return a set of the parent nodes of the node destNode.
+     */
+    public Set<N> getParentNodes(N destNode)
+    {
+        int destId = getNodeId(destNode);
+        Set<N> resSet = new HashSet<>();
+
+        for (int l = 0; l < inDegree[destId]; l++)
+            resSet.add(nodes.get(inSources[destId][l]));
+
+        return resSet;
+    }
+
+    /**
+     * Returns the number of nodes in the Graph.
+     *
+     * @return the number of nodes in the Graph.
+     */
+    public int getNodeCount()
+    {
+        return nodes.size();
+    }
+
+    /**
+     * Adds a directed edge with the given weight to the Graph from the node sourceNode to the
+     * node destNode. If there already is an edge from sourceNode to destNode, that edge keeps
+     * the smaller of its current weight and the given weight.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @param weight the weight of the edge.
+     * @spec.requires sourceNode, destNode != null.
+     * @spec.modifies this
+     * @spec.effects if there is no edge from sourceNode to destNode, one with the given weight
+     *               is added to this Graph, otherwise the weight of that edge becomes the minimum
+     *               of its weight and the given weight.
+     * @throws IllegalArgumentException if nodes sourceNode, destNode don't exist in this Graph
+     *         or weight is negative, infinite or NaN.
+     */
+    public void addEdge(N sourceNode, N destNode, double weight)
+    {
+        checkRep();
+
+        if (!nodeIds.containsKey(sourceNode) || !nodeIds.containsKey(destNode))
+        {
+            String nodesStr = (!nodeIds.containsKey(sourceNode) && !nodeIds.containsKey(destNode)) ?
+                    String.format("s %s and %s", sourceNode, destNode) :
+                    (!nodeIds.containsKey(sourceNode)) ? " " + sourceNode : " " + destNode;
+            throw new IllegalArgumentException(
+                    String.format("Node%s must exist in the graph!", nodesStr));
+        }
+
+        addEdgeById(nodeIds.get(sourceNode), nodeIds.get(destNode), weight);
+    }
+
+    /**
+     * Adds a directed edge with the given weight to the Graph from the node with id sourceId to
+     * the node with id destId, without looking either node up. If there already is an edge
+     * between them, that edge keeps the smaller of its current weight and the given weight.
+     *
+     * @param sourceId the id of the node the edge originates from
+     * @param destId the id of the node the edge terminates on.
+     * @param weight the weight of the edge.
+     * @spec.modifies this
+     * @spec.effects if there is no edge from the node with id sourceId to the node with id
+     *               destId, one with the given weight is added to this Graph, otherwise the
+     *               weight of that edge becomes the minimum of its weight and the given weight.
+     * @throws IllegalArgumentException if sourceId or destId is not in [0, getNodeCount())
+     *         or weight is negative, infinite or NaN.
+     */
+    public void addEdgeById(int sourceId, int destId, double weight)
+    {
+        checkRep();
+
+        if (sourceId < 0 || sourceId >= nodes.size() || destId < 0 || destId >= nodes.size())
+            throw new IllegalArgumentException(String.format(
+                    "Node ids %d and %d must be in [0, %d)!", sourceId, destId, nodes.size()));
+
+        if (!Double.isFinite(weight) || weight < 0)
+            throw new IllegalArgumentException(
+                    String.format("Edge weight %f must be finite and non-negative!", weight));
+
+        int k = findEdge(sourceId, destId);
+
+        if (k >= 0)
+        {
+            if (weight < outWeights[sourceId][k])
+            {
+                outWeights[sourceId][k] = weight;
+                inWeights[destId][findIncomingEdge(sourceId, destId)] = weight;
+            }
+        }
+        else
+        {
+            int degree = outDegree[sourceId];
+
+            if (degree == outTargets[sourceId].length)
+            {
+                outTargets[sourceId] = Arrays.copyOf(outTargets[sourceId], degree * 2);
+                outWeights[sourceId] = Arrays.copyOf(outWeights[sourceId], degree * 2);
+            }
+
+            outTargets[sourceId][degree] = destId;
+            outWeights[sourceId][degree] = weight;
+            outDegree[sourceId]++;
+
+            degree = inDegree[destId];
+
+            if (degree == inSources[destId].length)
+            {
+                inSources[destId] = Arrays.copyOf(inSources[destId], degree * 2);
+                inWeights[destId] = Arrays.copyOf(inWeights[destId], degree * 2);
+            }
+
+            inSources[destId][degree] = sourceId;
+            inWeights[destId][degree] = weight;
+            inDegree[destId]++;
+            numEdges++;
+        }
+
+        checkRep();
+    }
+
+    /**
+     * Adds directed edges from the node with id sourceId, which has none yet, to the nodes with
+     * ids targets[start..end), weighted by weights[start..end). Unlike addEdgeById, this doesn't
+     * look for an existing edge between each pair, so a graph can be rebuilt from the outbound
+     * edges of each of its nodes in time linear in its edges.
+     *
+     * @param sourceId the id of the node the edges originate from.
+     * @param targets the ids of the nodes the edges terminate on.
+     * @param weights the weights of the edges.
+     * @param start the index in targets and weights of the first edge to add.
+     * @param end the index in targets and weights just past the last edge to add.
+     * @spec.requires targets, weights != null, 0 <= start <= end <= targets.length,
+     *                end <= weights.length, and targets[start..end) has no duplicates
+     * @spec.modifies this
+     * @spec.effects adds an edge from the node with id sourceId to the node with id targets[e],
+     *               with weight weights[e], for every e in [start, end).
+     * @throws IllegalArgumentException if sourceId or a target is not in [0, getNodeCount()),
+     *         the node with id sourceId already has outbound edges, or a weight is negative,
+     *         infinite or NaN.
+     */
+    public void addOutEdgesById(int sourceId, int[] targets, double[] weights, int start, int end)
+    {
+        checkRep();
+
+        if (sourceId < 0 || sourceId >= nodes.size())
+            throw new IllegalArgumentException(String.format(
+                    "Node id %d must be in [0, %d)!", sourceId, nodes.size()));
+
+        if (outDegree[sourceId] != 0)
+            throw new IllegalArgumentException(String.format(
+                    "Node id %d already has outbound edges!", sourceId));
+
+        for (int e = start; e < end; e++)
+        {
+            if (targets[e] < 0 || targets[e] >= nodes.size())
+                throw new IllegalArgumentException(String.format(
+                        "Node id %d must be in [0, %d)!", targets[e], nodes.size()));
+
+            if (!Double.isFinite(weights[e]) || weights[e] < 0)
+                throw new IllegalArgumentException(
+                        String.format("Edge weight %f must be finite and non-negative!", weights[e]));
+        }
+
+        int count = end - start;
+        outTargets[sourceId] = new int[Math.max(count, INITIAL_CAPACITY)];
+        outWeights[sourceId] = new double[outTargets[sourceId].length];
+        System.arraycopy(targets, start, outTargets[sourceId], 0, count);
+        System.arraycopy(weights, start, outWeights[sourceId], 0, count);
+        outDegree[sourceId] = count;
+
+        for (int e = start; e < end; e++)
+        {
+            int destId = targets[e];
+            int degree = inDegree[destId];
+
+            if (degree == inSources[destId].length)
+            {
+                inSources[destId] = Arrays.copyOf(inSources[destId], degree * 2);
+                inWeights[destId] = Arrays.copyOf(inWeights[destId], degree * 2);
+            }
+
+            inSources[destId][degree] = sourceId;
+            inWeights[destId][degree] = weights[e];
+            inDegree[destId]++;
+        }
+
+        numEdges += count;
+        checkRep();
+    }
+
+    /**
+     * Removes the edge from the node with id sourceId to the node with id destId, if there is
+     * one. The order of the remaining outbound edges of sourceId and inbound edges of destId
+     * may change.
+     *
+     * @param sourceId the id of the node the edge originates from
+     * @param destId the id of the node the edge terminates on.
+     * @spec.modifies this
+     * @spec.effects removes the edge from the node with id sourceId to the node with id destId.
+     * @throws IllegalArgumentException if sourceId or destId is not in [0, getNodeCount())
+     * @return true iff there was an edge from the node with id sourceId to the node with id
+     *         destId to remove.
+     */
+    public boolean removeEdgeById(int sourceId, int destId)
+    {
+        checkRep();
+
+        if (sourceId < 0 || sourceId >= nodes.size() || destId < 0 || destId >= nodes.size())
+            throw new IllegalArgumentException(String.format(
+                    "Node ids %d and %d must be in [0, %d)!", sourceId, destId, nodes.size()));
+
+        int k = findEdge(sourceId, destId);
+
+        if (k < 0)
+            return false;
+
+        // move the last edge into the removed edge's slot in both indexes
+        int last = --outDegree[sourceId];
+        outTargets[sourceId][k] = outTargets[sourceId][last];
+        outWeights[sourceId][k] = outWeights[sourceId][last];
+
+        int l = findIncomingEdge(sourceId, destId);
+        last = --inDegree[destId];
+        inSources[destId][l] = inSources[destId][last];
+        inWeights[destId][l] = inWeights[destId][last];
+        numEdges--;
+
+        checkRep();
+        return true;
+    }
+
+    /**
+     * Sets the weight of the edge from the node with id sourceId to the node with id destId,
+     * whether the new weight is smaller or larger than its current weight.
+     *
+     * @param sourceId the id of the node the edge originates from
+     * @param destId the id of the node the edge terminates on.
+     * @param weight the new weight of the edge.
+     * @spec.modifies this
+     * @spec.effects the weight of the edge from the node with id sourceId to the node with id
+     *               destId becomes weight.
+     * @throws IllegalArgumentException if there is no edge from the node with id sourceId to
+     *         the node with id destId or weight is negative, infinite or NaN.
+     */
+    public void setEdgeWeightById(int sourceId, int destId, double weight)
+    {
+        checkRep();
+
+        int k = sourceId >= 0 && sourceId < nodes.size() && destId >= 0 && destId < nodes.size() ?
+                findEdge(sourceId, destId) : -1;
+
+        if (k < 0)
+            throw new IllegalArgumentException(String.format(
+                    "No edge from node id %d to node id %d exists!", sourceId, destId));
+
+        if (!Double.isFinite(weight) || weight < 0)
+            throw new IllegalArgumentException(
+                    String.format("Edge weight %f must be finite and non-negative!", weight));
+
+        outWeights[sourceId][k] = weight;
+        inWeights[destId][findIncomingEdge(sourceId, destId)] = weight;
+        checkRep();
+    }
+
+    /**
+     * Returns whether an edge exists in the Graph that starts from node sourceNode
+     * and ends on node destNode.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @spec.requires sourceNode, destNode != null
+     * @return whether an edge exists in the Graph that starts from node sourceNode
+     *         and ends on node destNode.
+     */
+    public boolean hasEdge(N sourceNode, N destNode)
+    {
+        if (!nodeIds.containsKey(sourceNode) || !nodeIds.containsKey(destNode))
+            return false;
+
+        return findEdge(nodeIds.get(sourceNode), nodeIds.get(destNode)) >= 0;
+    }
+
+    /**
+     * Returns the weight of the edge from node sourceNode to node destNode, which is the minimum
+     * of the weights of every edge added from sourceNode to destNode.
+     *
+     * @param sourceNode the node the edge originates from
+     * @param destNode the node the edge terminates on.
+     * @spec.requires sourceNode, destNode != null
+     * @throws IllegalArgumentException if there is no edge from sourceNode to destNode.
+     * @return the weight of the edge from sourceNode to destNode.
+     */
+    public double getWeight(N sourceNode, N destNode)
+    {
+        int k = hasNode(sourceNode) && hasNode(destNode) ?
+                findEdge(nodeIds.get(sourceNode), nodeIds.get(destNode)) : -1;
+
+        if (k < 0)
+            throw new IllegalArgumentException(
+                    String.format("No edge from node %s to %s exists!", sourceNode, destNode));
+
+        return outWeights[nodeIds.get(sourceNode)][k];
+    }
+
+    /**
+     * Returns the number of edges in the Graph, counting parallel edges added between the
+     * same two nodes once.
+     *
+     * @return the number of edges in the Graph.
+     */
+    public int getEdgeCount()
+    {
+        return numEdges;
+    }
+
+    /**
+     * Returns the id of the node targetNode in this graph.
+     *
+     * @param targetNode the node to get the id of.
+     * @spec.requires targetNode != null
+     * @throws IllegalArgumentException if the graph has no node targetNode
+     * @return the id in [0, getNodeCount()) of the node targetNode.
+     */
+    public int getNodeId(N targetNode)
+    {
+        Integer id = nodeIds.get(targetNode);
+
+        if (id == null)
+            throw new IllegalArgumentException(String.format("Node %s doesn't exist in graph!", targetNode));
+
+        return id;
+    }
+
+    /**
+     * Returns the node with the given id in this graph.
+     *
+     * @param nodeId the id of the node to return.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount()
+     * @return the node with id nodeId.
+     */
+    public N getNode(int nodeId)
+    {
+        return nodes.get(nodeId);
+    }
+
+    /**
+     * Returns the number of outbound edges of the node with the given id.
+     *
+     * @param nodeId the id of the node.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount()
+     * @return the number of outbound edges of the node with id nodeId.
+     */
+    public int getOutDegree(int nodeId)
+    {
+        return outDegree[nodeId];
+    }
+
+    /**
+     * Returns the id of the destination of the k-th outbound edge of the node with the given id.
+     *
+     * @param nodeId the id of the node the edge originates from.
+     * @param k the index of the edge among the node's outbound edges.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount() and 0 &lt;= k &lt; getOutDegree(nodeId)
+     * @return the id of the node the k-th outbound edge of nodeId terminates on.
+     */
+    public int getOutTarget(int nodeId, int k)
+    {
+        return outTargets[nodeId][k];
+    }
+
+    /**
+     * Returns the weight of the k-th outbound edge of the node with the given id.
+     *
+     * @param nodeId the id of the node the edge originates from.
+     * @param k the index of the edge among the node's outbound edges.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount() and 0 &lt;= k &lt; getOutDegree(nodeId)
+     * @return the weight of the k-th outbound edge of nodeId.
+     */
+    public double getOutWeight(int nodeId, int k)
+    {
+        return outWeights[nodeId][k];
+    }
+
+    /**
+     * Returns the number of inbound edges of the node with the given id.
+     *
+     * @param nodeId the id of the node.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount()
+     * @return the number of inbound edges of the node with id nodeId.
+     */
+    public int getInDegree(int nodeId)
+    {
+        return inDegree[nodeId];
+    }
+
+    /**
+     * Returns the id of the source of the l-th inbound edge of the node with the given id.
+     *
+     * @param nodeId the id of the node the edge terminates on.
+     * @param l the index of the edge among the node's inbound edges.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount() and 0 &lt;= l &lt; getInDegree(nodeId)
+     * @return the id of the node the l-th inbound edge of nodeId originates from.
+     */
+    public int getInSource(int nodeId, int l)
+    {
+        return inSources[nodeId][l];
+    }
+
+    /**
+     * Returns the weight of the l-th inbound edge of the node with the given id.
+     *
+     * @param nodeId the id of the node the edge terminates on.
+     * @param l the index of the edge among the node's inbound edges.
+     * @spec.requires 0 &lt;= nodeId &lt; getNodeCount() and 0 &lt;= l &lt; getInDegree(nodeId)
+     * @return the weight of the l-th inbound edge of nodeId.
+     */
+    public double getInWeight(int nodeId, int l)
+    {
+        return inWeights[nodeId][l];
+    }
+
+    // Returns the index of the edge from sourceId to destId among destId's inbound edges,
+    // or -1 if there is no such edge.
+    private int findIncomingEdge(int sourceId, int destId)
+    {
+        int[] sources = inSources[destId];
+
+        for (int l = 0; l < inDegree[destId]; l++)
+            if (sources[l] == sourceId)
+                return l;
+
+        return -1;
+    }
+
+    /**
+     * Returns whether every edge of this graph is matched by an edge of the same weight going
+     * the opposite way, in which case the shortest path from one node to another is the
+     * reverse of a shortest path back.
+     *
+     * @return true iff for every edge from a node a to a node b with weight w, there is
+     *         also an edge from b to a with weight w
+     */
+    public boolean isSymmetric()
+    {
+        for (int u = 0; u < nodes.size(); u++)
+        {
+            for (int k = 0; k < outDegree[u]; k++)
+            {
+                int v = outTargets[u][k];
+                int back = findEdge(v, u);
+
+                if (back == -1 || outWeights[v][back] != outWeights[u][k])
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Returns the index of the edge from sourceId to destId among sourceId's outbound edges,
+    // or -1 if there is no such edge.
+    private int findEdge(int sourceId, int destId)
+    {
+        int[] targets = outTargets[sourceId];
+
+        for (int k = 0; k < outDegree[sourceId]; k++)
+            if (targets[k] == destId)
+                return k;
+
+        return -1;
+    }
+}
@@ -0,0 +1,132 @@
+package graph.junitTests;
+
+import graph.CompactGraph;
+import graph.DirectedGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestCompactGraph
+{
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private DirectedGraph<String, String> graph;
+
+    @Before
+    public void createSampleGraph()
+    {
+        graph = new DirectedGraph<>();
+        graph.addNode("ALPHA");
+        graph.addNode("BRAVO");
+        graph.addNode("CHARLIE");
+        graph.addNode("DELTA");
+
+        graph.addEdge("ALPHA", "BRAVO", "ab1");
+        graph.addEdge("ALPHA", "BRAVO", "ab2");
+        graph.addEdge("ALPHA", "CHARLIE", "ac1");
+        graph.addEdge("ALPHA", "ALPHA", "aa1");
+        graph.addEdge("BRAVO", "ALPHA", "ba1");
+        graph.addEdge("CHARLIE", "CHARLIE", "cc1");
+    }
+
+    @Test
+    public void testFreezeEmptyGraph()
+    {
+        CompactGraph<String, String> g = new DirectedGraph<String, String>().freeze();
+        assertEquals(0, g.getNodeCount());
+        assertEquals(0, g.getEdgeCount());
+        assertTrue(g.getNodes().isEmpty());
+        assertFalse(g.hasNode("ALPHA"));
+    }
+
+    @Test
+    public void testFreezeKeepsNodesAndEdgeCount()
+    {
+        CompactGraph<String, String> g = graph.freeze();
+        assertEquals(4, g.getNodeCount());
+        assertEquals(6, g.getEdgeCount());
+        assertTrue(g.hasNode("ALPHA"));
+        assertTrue(g.hasNode("DELTA"));
+        assertFalse(g.hasNode("ECHO"));
+        assertEquals(new HashSet<>(graph.getNodes()), new HashSet<>(g.getNodes()));
+    }
+
+    @Test
+    public void testFreezeKeepsChildNodes()
+    {
+        CompactGraph<String, String> g = graph.freeze();
+
+        for (String node : graph.getNodes())
+            assertEquals(graph.getChildNodes(node), g.getChildNodes(node));
+
+        assertTrue(g.getChildNodes("DELTA").isEmpty());
+    }
+
+    @Test
+    public void testFreezeKeepsParallelAndReflexiveEdges()
+    {
+        CompactGraph<String, String> g = graph.freeze();
+        List<String> labels = g.getEdges("ALPHA", "BRAVO");
+        assertEquals(2, labels.size());
+        assertTrue(labels.contains("ab1"));
+        assertTrue(labels.contains("ab2"));
+        assertEquals(List.of("aa1"), g.getEdges("ALPHA", "ALPHA"));
+        assertTrue(g.getEdges("BRAVO", "CHARLIE").isEmpty());
+
+        assertTrue(g.hasEdge("ALPHA", "BRAVO", "ab2"));
+        assertTrue(g.hasEdge("CHARLIE", "CHARLIE", "cc1"));
+        assertFalse(g.hasEdge("BRAVO", "ALPHA", "ab1"));
+        assertFalse(g.hasEdge("ALPHA", "ECHO", "ae1"));
+    }
+
+    @Test
+    public void testFreezeIsSnapshot()
+    {
+        CompactGraph<String, String> g = graph.freeze();
+        graph.addNode("ECHO");
+        graph.addEdge("DELTA", "ECHO", "de1");
+        assertFalse(g.hasNode("ECHO"));
+        assertEquals(6, g.getEdgeCount());
+        assertTrue(g.getChildNodes("DELTA").isEmpty());
+    }
+
+    @Test
+    public void testNodeIdsAndEdgeRuns()
+    {
+        CompactGraph<String, String> g = graph.freeze();
+        int alpha = g.getNodeId("ALPHA");
+        assertEquals("ALPHA", g.getNode(alpha));
+        assertEquals(4, g.getOutEdgeEnd(alpha) - g.getOutEdgeStart(alpha));
+
+        Set<String> labels = new HashSet<>();
+        for (int k = g.getOutEdgeStart(alpha); k < g.getOutEdgeEnd(alpha); k++)
+        {
+            if (k > g.getOutEdgeStart(alpha))
+                assertTrue(g.getEdgeTarget(k - 1) <= g.getEdgeTarget(k));
+
+            labels.add(g.getEdgeLabel(k));
+        }
+
+        assertEquals(Set.of("ab1", "ab2", "ac1", "aa1"), labels);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetChildNodesOfMissingNode()
+    {
+        graph.freeze().getChildNodes("ECHO");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetEdgesOfMissingNode()
+    {
+        graph.freeze().getEdges("ALPHA", "ECHO");
+    }
+}
@@ -0,0 +1,184 @@
+package graph.junitTests;
+
+import graph.ConcurrentDirectedGraph;
+import graph.EdgeCursor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class TestConcurrentDirectedGraph
+{
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+
+    private static final int THREADS = 8;
+
+    private ConcurrentDirectedGraph<String, String> graph;
+
+    @Before
+    public void createSampleGraph()
+    {
+        graph = new ConcurrentDirectedGraph<>();
+        graph.addNode("ALPHA");
+        graph.addNode("BRAVO");
+        graph.addNode("CHARLIE");
+    }
+
+    @Test
+    public void testNodesAndEdges()
+    {
+        graph.addEdge("ALPHA", "BRAVO", "ab1");
+        graph.addEdge("ALPHA", "BRAVO", "ab2");
+        graph.addEdge("ALPHA", "CHARLIE", "ac1");
+
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(3, graph.getEdgeCount());
+        assertTrue(graph.hasEdge("ALPHA", "BRAVO", "ab2"));
+        assertFalse(graph.hasEdge("BRAVO", "ALPHA", "ab2"));
+        assertEquals(Set.of("BRAVO", "CHARLIE"), graph.getChildNodes("ALPHA"));
+        assertEquals(Set.of("ALPHA"), graph.getParentNodes("BRAVO"));
+        assertEquals(Set.of("ab1", "ab2"), Set.copyOf(graph.getEdges("ALPHA", "BRAVO")));
+    }
+
+    @Test
+    public void testOutEdgeIteration()
+    {
+        graph.addEdge("ALPHA", "BRAVO", "ab1");
+        graph.addEdge("ALPHA", "CHARLIE", "ac1");
+
+        Set<String> labels = new HashSet<>();
+        graph.forEachOutEdge("ALPHA", (dest, label) -> labels.add(dest + ":" + label));
+        assertEquals(Set.of("BRAVO:ab1", "CHARLIE:ac1"), labels);
+
+        labels.clear();
+        EdgeCursor<String, String> cursor = graph.getOutEdgeCursor("ALPHA");
+
+        while (cursor.advance())
+            labels.add(cursor.getDestNode() + ":" + cursor.getLabel());
+
+        assertEquals(Set.of("BRAVO:ab1", "CHARLIE:ac1"), labels);
+    }
+
+    @Test
+    public void testAddIfAbsent()
+    {
+        assertFalse(graph.addNodeIfAbsent("ALPHA"));
+        assertTrue(graph.addNodeIfAbsent("DELTA"));
+        assertTrue(graph.addEdgeIfAbsent("ALPHA", "DELTA", "ad1"));
+        assertFalse(graph.addEdgeIfAbsent("ALPHA", "DELTA", "ad1"));
+        assertEquals(4, graph.getNodeCount());
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddDuplicateNode()
+    {
+        graph.addNode("ALPHA");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddDuplicateEdge()
+    {
+        graph.addEdge("ALPHA", "BRAVO", "ab1");
+        graph.addEdge("ALPHA", "BRAVO", "ab1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgeToMissingNode()
+    {
+        graph.addEdge("ALPHA", "DELTA", "ad1");
+    }
+
+    @Test
+    public void testRemove()
+    {
+        for (ConcurrentDirectedGraph<String, String> g : List.of(graph, indexedSampleGraph()))
+        {
+            g.addEdge("ALPHA", "BRAVO", "ab1");
+            g.addEdge("BRAVO", "CHARLIE", "bc1");
+            g.addEdge("CHARLIE", "BRAVO", "cb1");
+            g.addEdge("BRAVO", "BRAVO", "bb1");
+            g.addEdge("ALPHA", "CHARLIE", "ac1");
+
+            assertTrue(g.removeEdge("ALPHA", "CHARLIE", "ac1"));
+            assertFalse(g.removeEdge("ALPHA", "CHARLIE", "ac1"));
+            g.removeNode("BRAVO");
+
+            assertFalse(g.hasNode("BRAVO"));
+            assertEquals(0, g.getEdgeCount());
+            assertTrue(g.getChildNodes("ALPHA").isEmpty());
+            assertTrue(g.getParentNodes("CHARLIE").isEmpty());
+        }
+    }
+
+    private static ConcurrentDirectedGraph<String, String> indexedSampleGraph()
+    {
+        ConcurrentDirectedGraph<String, String> g = new ConcurrentDirectedGraph<>(true);
+        g.addNode("ALPHA");
+        g.addNode("BRAVO");
+        g.addNode("CHARLIE");
+        return g;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveMissingNode()
+    {
+        graph.removeNode("DELTA");
+    }
+
+    @Test
+    public void testConcurrentIngestion() throws Exception
+    {
+        ConcurrentDirectedGraph<Integer, Integer> g = new ConcurrentDirectedGraph<>(true);
+        int n = 200;
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // every thread adds every node and an overlapping share of the edges, so most
+        // nodes and edges are added by several threads at once and must only count once
+        for (int t = 0; t < THREADS; t++)
+        {
+            int offset = t;
+            futures.add(pool.submit(() ->
+            {
+                for (int i = 0; i < n; i++)
+                    g.addNodeIfAbsent((i + offset * 25) % n);
+
+                for (int i = 0; i < n; i++)
+                    for (int j = offset % 2; j < n; j += 2)
+                        if (g.addEdgeIfAbsent(i, j, (i + j) % 3))
+                            added.incrementAndGet();
+            }));
+        }
+
+        for (Future<?> future : futures)
+            future.get();
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(n, g.getNodeCount());
+        assertEquals(n * n, g.getEdgeCount());
+        assertEquals(n * n, added.get());
+
+        for (int i = 0; i < n; i += 17)
+        {
+            assertEquals(n, g.getChildNodes(i).size());
+            assertEquals(n, g.getParentNodes(i).size());
+        }
+    }
+}
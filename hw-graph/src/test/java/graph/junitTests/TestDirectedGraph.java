@@ -2,11 +2,19 @@ package graph.junitTests;
 
 import graph.DirectedGraph;
 import graph.Edge;
+import graph.EdgeCursor;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
 import static org.junit.Assert.*;
 
 public class TestDirectedGraph
@@ -324,6 +332,28 @@ public class TestDirectedGraph
         g3.addEdge("ALPHA", "CHARLIE", "ac1");
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNullLabelEdge()
+    {
+        g2.addEdge("ALPHA", "BRAVO", null);
+    }
+
+    @Test
+    public void testAddNullLabelEdgeIfAbsent()
+    {
+        try
+        {
+            g2.addEdgeIfAbsent("ALPHA", "BRAVO", null);
+            fail("Expected an IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("sourceNode, destNode, and label must be non-null!", e.getMessage());
+        }
+
+        assertEquals(0, g2.getEdgeCount());
+    }
+
     @Test
     public void testCyclicPathsAllowedOn2NodeGraph()
     {
@@ -509,4 +539,285 @@ public class TestDirectedGraph
         //      if edge == edge2, then edge.hashCode == edge2.hashCode .)
         assertNotEquals(edge, edge2);
     }
+
+    @Test
+    public void testReverseEdgeHashCode()
+    {
+        Edge<String, String> forward = new Edge<>("ALPHA", "BRAVO", "label");
+        Edge<String, String> reverse = new Edge<>("BRAVO", "ALPHA", "label");
+        assertNotEquals(forward.hashCode(), reverse.hashCode());
+        assertNotEquals(forward, reverse);
+        assertEquals(forward, forward);
+    }
+
+    @Test
+    public void testParentNodesWithoutIncomingIndex()
+    {
+        g3.addEdge("ALPHA", "CHARLIE", "ac1");
+        g3.addEdge("BRAVO", "CHARLIE", "bc1");
+        g3.addEdge("BRAVO", "CHARLIE", "bc2");
+        assertFalse(g3.tracksIncomingEdges());
+        assertEquals(2, g3.getParentNodes("CHARLIE").size());
+        assertTrue(g3.getParentNodes("CHARLIE").contains("ALPHA"));
+        assertTrue(g3.getParentNodes("CHARLIE").contains("BRAVO"));
+        assertTrue(g3.getParentNodes("ALPHA").isEmpty());
+    }
+
+    @Test
+    public void testParentNodesWithIncomingIndex()
+    {
+        DirectedGraph<String, String> g = new DirectedGraph<>(true);
+        g.addNode("ALPHA");
+        g.addNode("BRAVO");
+        g.addEdge("ALPHA", "BRAVO", "ab1");
+        g.addEdge("BRAVO", "BRAVO", "bb1");
+        assertTrue(g.tracksIncomingEdges());
+        assertEquals(2, g.getParentNodes("BRAVO").size());
+        assertTrue(g.getParentNodes("BRAVO").contains("ALPHA"));
+        assertTrue(g.getParentNodes("BRAVO").contains("BRAVO"));
+        assertTrue(g.getParentNodes("ALPHA").isEmpty());
+        assertEquals(2, g.getEdgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParentNodesOfMissingNode()
+    {
+        g1.getParentNodes("BRAVO");
+    }
+
+    @Test
+    public void testRemoveEdge()
+    {
+        g2.addEdge("ALPHA", "BRAVO", "ab1");
+        g2.addEdge("ALPHA", "BRAVO", "ab2");
+        assertTrue(g2.removeEdge("ALPHA", "BRAVO", "ab1"));
+        assertFalse(g2.removeEdge("ALPHA", "BRAVO", "ab1"));
+        assertFalse(g2.hasEdge("ALPHA", "BRAVO", "ab1"));
+        assertTrue(g2.hasEdge("ALPHA", "BRAVO", "ab2"));
+        assertEquals(1, g2.getEdgeCount());
+
+        // the edge can be added again once removed
+        g2.addEdge("ALPHA", "BRAVO", "ab1");
+        assertEquals(2, g2.getEdgeCount());
+    }
+
+    @Test
+    public void testRemoveEdgeWithIncomingIndex()
+    {
+        DirectedGraph<String, String> g = new DirectedGraph<>(true);
+        g.addNode("ALPHA");
+        g.addNode("BRAVO");
+        g.addEdge("ALPHA", "BRAVO", "ab1");
+        assertTrue(g.removeEdge("ALPHA", "BRAVO", "ab1"));
+        assertTrue(g.getParentNodes("BRAVO").isEmpty());
+        assertEquals(0, g.getEdgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveEdgeFromMissingNode()
+    {
+        g1.removeEdge("ALPHA", "BRAVO", "ab1");
+    }
+
+    // Checks removing the middle node of a 3 node graph with edges in every direction.
+    private void checkRemoveNode(DirectedGraph<String, String> g)
+    {
+        g.addEdge("ALPHA", "BRAVO", "ab1");
+        g.addEdge("BRAVO", "CHARLIE", "bc1");
+        g.addEdge("CHARLIE", "BRAVO", "cb1");
+        g.addEdge("BRAVO", "BRAVO", "bb1");
+        g.addEdge("ALPHA", "CHARLIE", "ac1");
+        g.removeNode("BRAVO");
+
+        assertFalse(g.hasNode("BRAVO"));
+        assertEquals(2, g.getNodeCount());
+        assertEquals(1, g.getEdgeCount());
+        assertEquals(Set.of("CHARLIE"), g.getChildNodes("ALPHA"));
+        assertTrue(g.getChildNodes("CHARLIE").isEmpty());
+        assertEquals(Set.of("ALPHA"), g.getParentNodes("CHARLIE"));
+
+        // the node can be added again, without its old edges
+        g.addNode("BRAVO");
+        assertTrue(g.getParentNodes("BRAVO").isEmpty());
+        assertTrue(g.getChildNodes("BRAVO").isEmpty());
+        assertTrue(g.getEdges("ALPHA", "BRAVO").isEmpty());
+        assertFalse(g.hasEdge("ALPHA", "BRAVO", "ab1"));
+    }
+
+    @Test
+    public void testRemoveNode()
+    {
+        checkRemoveNode(g3);
+    }
+
+    @Test
+    public void testRemoveNodeWithIncomingIndex()
+    {
+        DirectedGraph<String, String> g = new DirectedGraph<>(true);
+        g.addNode("ALPHA");
+        g.addNode("BRAVO");
+        g.addNode("CHARLIE");
+        checkRemoveNode(g);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveMissingNode()
+    {
+        g1.removeNode("BRAVO");
+    }
+
+    @Test
+    public void testGetEdgesAfterRemoveEdge()
+    {
+        g2.addEdge("ALPHA", "BRAVO", "ab1");
+        g2.addEdge("ALPHA", "BRAVO", "ab2");
+        g2.removeEdge("ALPHA", "BRAVO", "ab1");
+        assertEquals(Set.of("ab2"), new HashSet<>(g2.getEdges("ALPHA", "BRAVO")));
+        assertEquals(Set.of("BRAVO"), g2.getChildNodes("ALPHA"));
+
+        g2.removeEdge("ALPHA", "BRAVO", "ab2");
+        assertTrue(g2.getEdges("ALPHA", "BRAVO").isEmpty());
+        assertTrue(g2.getChildNodes("ALPHA").isEmpty());
+    }
+
+    @Test
+    public void testForEachOutEdge()
+    {
+        g3.addEdge("ALPHA", "BRAVO", "ab1");
+        g3.addEdge("ALPHA", "BRAVO", "ab2");
+        g3.addEdge("ALPHA", "ALPHA", "aa1");
+        g3.addEdge("BRAVO", "CHARLIE", "bc1");
+
+        Set<Edge<String, String>> visited = new HashSet<>();
+        g3.forEachOutEdge("ALPHA", (dest, label) -> visited.add(new Edge<>("ALPHA", dest, label)));
+        assertEquals(Set.of(new Edge<>("ALPHA", "BRAVO", "ab1"), new Edge<>("ALPHA", "BRAVO", "ab2"),
+                new Edge<>("ALPHA", "ALPHA", "aa1")), visited);
+
+        visited.clear();
+        g3.forEachOutEdge("CHARLIE", (dest, label) -> visited.add(new Edge<>("CHARLIE", dest, label)));
+        assertTrue(visited.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEachOutEdgeOfMissingNode()
+    {
+        g1.forEachOutEdge("BRAVO", (dest, label) -> fail());
+    }
+
+    @Test
+    public void testOutEdgeCursor()
+    {
+        g3.addEdge("ALPHA", "BRAVO", "ab1");
+        g3.addEdge("ALPHA", "BRAVO", "ab2");
+        g3.addEdge("ALPHA", "CHARLIE", "ac1");
+
+        Set<Edge<String, String>> visited = new HashSet<>();
+        EdgeCursor<String, String> cursor = g3.getOutEdgeCursor("ALPHA");
+
+        while (cursor.advance())
+            visited.add(new Edge<>("ALPHA", cursor.getDestNode(), cursor.getLabel()));
+
+        assertEquals(Set.of(new Edge<>("ALPHA", "BRAVO", "ab1"), new Edge<>("ALPHA", "BRAVO", "ab2"),
+                new Edge<>("ALPHA", "CHARLIE", "ac1")), visited);
+        assertFalse(cursor.advance());
+        assertFalse(g3.getOutEdgeCursor("BRAVO").advance());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testOutEdgeCursorBeforeFirstEdge()
+    {
+        g2.addEdge("ALPHA", "BRAVO", "ab1");
+        g2.getOutEdgeCursor("ALPHA").getLabel();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutEdgeCursorOfMissingNode()
+    {
+        g1.getOutEdgeCursor("BRAVO");
+    }
+
+    @Test
+    public void testPreserveOrder()
+    {
+        DirectedGraph<String, String> g = new DirectedGraph<>(true, true);
+        assertTrue(g.preservesOrder());
+        assertFalse(g3.preservesOrder());
+
+        for (String node : Arrays.asList("DELTA", "ALPHA", "CHARLIE", "BRAVO"))
+            g.addNode(node);
+
+        g.addEdge("ALPHA", "DELTA", "ad2");
+        g.addEdge("ALPHA", "BRAVO", "ab1");
+        g.addEdge("ALPHA", "DELTA", "ad1");
+        g.addEdge("ALPHA", "DELTA", "ad3");
+        g.addEdge("CHARLIE", "BRAVO", "cb1");
+
+        assertEquals(Arrays.asList("DELTA", "ALPHA", "CHARLIE", "BRAVO"), g.getNodes());
+        assertEquals(Arrays.asList("DELTA", "BRAVO"), new ArrayList<>(g.getChildNodes("ALPHA")));
+        assertEquals(Arrays.asList("ad2", "ad1", "ad3"), g.getEdges("ALPHA", "DELTA"));
+        assertEquals(Arrays.asList("ALPHA", "CHARLIE"), new ArrayList<>(g.getParentNodes("BRAVO")));
+
+        List<String> labels = new ArrayList<>();
+        g.forEachOutEdge("ALPHA", (dest, label) -> labels.add(label));
+        assertEquals(Arrays.asList("ad2", "ad1", "ad3", "ab1"), labels);
+
+        g.removeEdge("ALPHA", "DELTA", "ad1");
+        assertEquals(Arrays.asList("ad2", "ad3"), g.getEdges("ALPHA", "DELTA"));
+    }
+
+    @Test
+    public void testViews()
+    {
+        g2.addEdge("ALPHA", "BRAVO", "ab1");
+        Set<String> children = g2.getChildNodesView("ALPHA");
+        Set<String> labels = g2.getEdgesView("ALPHA", "BRAVO");
+        assertEquals(Set.of("BRAVO"), children);
+        assertEquals(Set.of("ab1"), labels);
+
+        // the views reflect later changes instead of being copies
+        g2.addEdge("ALPHA", "BRAVO", "ab2");
+        g2.addEdge("ALPHA", "ALPHA", "aa1");
+        assertEquals(Set.of("ab1", "ab2"), labels);
+        assertEquals(Set.of("ALPHA", "BRAVO"), children);
+
+        assertTrue(g2.getEdgesView("BRAVO", "ALPHA").isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEdgesViewIsReadOnly()
+    {
+        g2.addEdge("ALPHA", "BRAVO", "ab1");
+        g2.getEdgesView("ALPHA", "BRAVO").add("ab2");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChildNodesViewIsReadOnly()
+    {
+        g2.addEdge("ALPHA", "BRAVO", "ab1");
+        g2.getChildNodesView("ALPHA").clear();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEdgesViewOfMissingNode()
+    {
+        g1.getEdgesView("ALPHA", "BRAVO");
+    }
+
+    @Test
+    public void testManyParallelEdges()
+    {
+        for (int i = 0; i < 1000; i++)
+            g2.addEdge("ALPHA", "BRAVO", "ab" + i);
+
+        g2.addEdge("ALPHA", "ALPHA", "aa");
+
+        assertEquals(1001, g2.getEdgeCount());
+        assertEquals(Set.of("ALPHA", "BRAVO"), g2.getChildNodes("ALPHA"));
+        assertEquals(1000, g2.getEdges("ALPHA", "BRAVO").size());
+        assertEquals(Arrays.asList("aa"), g2.getEdges("ALPHA", "ALPHA"));
+        assertTrue(g2.hasEdge("ALPHA", "BRAVO", "ab999"));
+
+        g2.removeNode("BRAVO");
+        assertEquals(1, g2.getEdgeCount());
+    }
 }
@@ -0,0 +1,145 @@
+package graph.junitTests;
+
+import graph.DirectedGraph;
+import graph.Edge;
+import graph.GraphBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class TestGraphBuilder
+{
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void testBuildEmptyGraph()
+    {
+        DirectedGraph<String, String> g = new GraphBuilder<String, String>().build();
+        assertEquals(0, g.getNodeCount());
+        assertEquals(0, g.getEdgeCount());
+    }
+
+    @Test
+    public void testBuildMatchesIncrementalGraph()
+    {
+        DirectedGraph<String, String> expected = new DirectedGraph<>();
+        expected.addNode("ALPHA");
+        expected.addNode("BRAVO");
+        expected.addNode("CHARLIE");
+        expected.addEdge("ALPHA", "BRAVO", "ab1");
+        expected.addEdge("ALPHA", "BRAVO", "ab2");
+        expected.addEdge("BRAVO", "CHARLIE", "bc1");
+        expected.addEdge("CHARLIE", "CHARLIE", "cc1");
+
+        DirectedGraph<String, String> g = new GraphBuilder<String, String>(3, 4)
+                .addNodes("ALPHA", "BRAVO")
+                .addNodes(Stream.of("CHARLIE"))
+                .addEdge("ALPHA", "BRAVO", "ab1")
+                .addEdges(Arrays.asList(new Edge<>("ALPHA", "BRAVO", "ab2"),
+                        new Edge<>("BRAVO", "CHARLIE", "bc1")))
+                .addEdges(Stream.of(new Edge<>("CHARLIE", "CHARLIE", "cc1")))
+                .build();
+
+        assertEquals(expected.getNodeCount(), g.getNodeCount());
+        assertEquals(expected.getEdgeCount(), g.getEdgeCount());
+
+        for (String source : expected.getNodes())
+        {
+            assertEquals(expected.getChildNodes(source), g.getChildNodes(source));
+
+            for (String dest : expected.getNodes())
+                assertEquals(Set.copyOf(expected.getEdges(source, dest)), Set.copyOf(g.getEdges(source, dest)));
+        }
+    }
+
+    @Test
+    public void testBuildOptions()
+    {
+        GraphBuilder<Integer, Integer> builder = new GraphBuilder<Integer, Integer>()
+                .trackIncomingEdges(true)
+                .preserveOrder(true)
+                .addNodes(3, 1, 2)
+                .addEdge(1, 3, 13)
+                .addEdge(2, 3, 23);
+        DirectedGraph<Integer, Integer> g = builder.build();
+
+        assertTrue(g.tracksIncomingEdges());
+        assertTrue(g.preservesOrder());
+        assertEquals(Arrays.asList(3, 1, 2), g.getNodes());
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(g.getParentNodes(3)));
+
+        // the builder can be reused, and its graphs are independent of each other
+        DirectedGraph<Integer, Integer> g2 = builder.addNode(4).build();
+        assertEquals(4, g2.getNodeCount());
+        assertEquals(3, g.getNodeCount());
+        assertEquals(4, builder.getNodeCount());
+        assertEquals(2, builder.getEdgeCount());
+    }
+
+    @Test
+    public void testBuildLargeGraph()
+    {
+        int n = 1000;
+        GraphBuilder<Integer, Integer> builder = new GraphBuilder<>(n, n * 10);
+        builder.addNodes(IntStream.range(0, n).boxed());
+
+        for (int i = 0; i < n; i++)
+            for (int k = 1; k <= 10; k++)
+                builder.addEdge(i, (i + k) % n, k);
+
+        DirectedGraph<Integer, Integer> g = builder.build();
+        assertEquals(n, g.getNodeCount());
+        assertEquals(n * 10, g.getEdgeCount());
+        assertEquals(List.of(3), g.getEdges(7, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithDuplicateNode()
+    {
+        new GraphBuilder<String, String>().addNodes("ALPHA", "ALPHA").build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithNullNode()
+    {
+        new GraphBuilder<String, String>().addNode(null).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithDuplicateEdge()
+    {
+        new GraphBuilder<String, String>()
+                .addNodes("ALPHA", "BRAVO")
+                .addEdge("ALPHA", "BRAVO", "ab1")
+                .addEdge("ALPHA", "BRAVO", "ab1")
+                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithEdgeToMissingNode()
+    {
+        new GraphBuilder<String, String>().addNode("ALPHA").addEdge("ALPHA", "BRAVO", "ab1").build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithNullLabel()
+    {
+        new GraphBuilder<String, String>().addNode("ALPHA").addEdge("ALPHA", "ALPHA", null).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedCount()
+    {
+        new GraphBuilder<String, String>(-1, 0);
+    }
+}
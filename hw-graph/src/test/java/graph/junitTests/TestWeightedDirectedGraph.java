@@ -0,0 +1,282 @@
+package graph.junitTests;
+
+import graph.WeightedDirectedGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestWeightedDirectedGraph
+{
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final double DELTA = 1e-9;
+
+    private WeightedDirectedGraph<String> graph;
+
+    @Before
+    public void createSampleGraph()
+    {
+        graph = new WeightedDirectedGraph<>();
+        graph.addNode("ALPHA");
+        graph.addNode("BRAVO");
+        graph.addNode("CHARLIE");
+    }
+
+    @Test
+    public void testCreateEmptyGraph()
+    {
+        WeightedDirectedGraph<String> g = new WeightedDirectedGraph<>();
+        assertEquals(0, g.getNodeCount());
+        assertEquals(0, g.getEdgeCount());
+        assertTrue(g.getNodes().isEmpty());
+    }
+
+    @Test
+    public void testNodeIdsFollowInsertionOrder()
+    {
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(0, graph.getNodeId("ALPHA"));
+        assertEquals(2, graph.getNodeId("CHARLIE"));
+        assertEquals("BRAVO", graph.getNode(1));
+
+        // grow past the initial node table capacity
+        for (int i = 0; i < 100; i++)
+            graph.addNode("NODE" + i);
+
+        assertEquals(103, graph.getNodeCount());
+        assertEquals(52, graph.getNodeId("NODE49"));
+        assertTrue(graph.hasNode("NODE99"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddDuplicateNode()
+    {
+        graph.addNode("ALPHA");
+    }
+
+    @Test
+    public void testAddEdges()
+    {
+        graph.addEdge("ALPHA", "BRAVO", 1.5);
+        graph.addEdge("ALPHA", "ALPHA", 0.0);
+        graph.addEdge("BRAVO", "CHARLIE", 2.25);
+
+        assertEquals(3, graph.getEdgeCount());
+        assertTrue(graph.hasEdge("ALPHA", "BRAVO"));
+        assertFalse(graph.hasEdge("BRAVO", "ALPHA"));
+        assertEquals(1.5, graph.getWeight("ALPHA", "BRAVO"), DELTA);
+        assertEquals(0.0, graph.getWeight("ALPHA", "ALPHA"), DELTA);
+        assertEquals(Set.of("ALPHA", "BRAVO"), graph.getChildNodes("ALPHA"));
+        assertTrue(graph.getChildNodes("CHARLIE").isEmpty());
+    }
+
+    @Test
+    public void testParallelEdgesKeepMinimumWeight()
+    {
+        graph.addEdge("ALPHA", "BRAVO", 5.0);
+        graph.addEdge("ALPHA", "BRAVO", 3.0);
+        graph.addEdge("ALPHA", "BRAVO", 4.0);
+
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(3.0, graph.getWeight("ALPHA", "BRAVO"), DELTA);
+
+        int alpha = graph.getNodeId("ALPHA");
+        assertEquals(1, graph.getOutDegree(alpha));
+        assertEquals(graph.getNodeId("BRAVO"), graph.getOutTarget(alpha, 0));
+        assertEquals(3.0, graph.getOutWeight(alpha, 0), DELTA);
+    }
+
+    @Test
+    public void testIncomingEdgesMirrorOutgoingEdges()
+    {
+        graph.addEdge("ALPHA", "CHARLIE", 4.0);
+        graph.addEdge("BRAVO", "CHARLIE", 2.0);
+        graph.addEdge("ALPHA", "CHARLIE", 1.0);
+
+        int charlie = graph.getNodeId("CHARLIE");
+        assertEquals(Set.of("ALPHA", "BRAVO"), graph.getParentNodes("CHARLIE"));
+        assertTrue(graph.getParentNodes("ALPHA").isEmpty());
+        assertEquals(2, graph.getInDegree(charlie));
+
+        for (int l = 0; l < graph.getInDegree(charlie); l++)
+        {
+            String parent = graph.getNode(graph.getInSource(charlie, l));
+            assertEquals(graph.getWeight(parent, "CHARLIE"), graph.getInWeight(charlie, l), DELTA);
+        }
+
+        assertEquals(1.0, graph.getWeight("ALPHA", "CHARLIE"), DELTA);
+    }
+
+    @Test
+    public void testIsSymmetric()
+    {
+        assertTrue(graph.isSymmetric());
+
+        graph.addEdge("ALPHA", "BRAVO", 2.0);
+        graph.addEdge("ALPHA", "ALPHA", 1.0);
+        assertFalse(graph.isSymmetric());
+
+        graph.addEdge("BRAVO", "ALPHA", 3.0);
+        assertFalse(graph.isSymmetric());
+
+        // a cheaper parallel edge replaces the mismatched weight
+        graph.addEdge("BRAVO", "ALPHA", 2.0);
+        assertTrue(graph.isSymmetric());
+    }
+
+    @Test
+    public void testManyOutboundEdges()
+    {
+        for (int i = 0; i < 50; i++)
+        {
+            graph.addNode("NODE" + i);
+            graph.addEdge("ALPHA", "NODE" + i, i);
+        }
+
+        assertEquals(50, graph.getOutDegree(graph.getNodeId("ALPHA")));
+        assertEquals(50, graph.getEdgeCount());
+        assertEquals(42.0, graph.getWeight("ALPHA", "NODE42"), DELTA);
+    }
+
+    @Test
+    public void testAddEdgeById()
+    {
+        graph.addEdgeById(graph.getNodeId("ALPHA"), graph.getNodeId("CHARLIE"), 2.5);
+        graph.addEdgeById(graph.getNodeId("ALPHA"), graph.getNodeId("CHARLIE"), 1.5);
+
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(1.5, graph.getWeight("ALPHA", "CHARLIE"), DELTA);
+        assertEquals(Set.of("ALPHA"), graph.getParentNodes("CHARLIE"));
+    }
+
+    @Test
+    public void testAddOutEdgesById()
+    {
+        int[] targets = {9, 1, 2, 9};
+        double[] weights = {9.0, 1.5, 2.5, 9.0};
+        graph.addOutEdgesById(0, targets, weights, 1, 3);
+        graph.addOutEdgesById(2, targets, weights, 1, 2);
+        graph.addOutEdgesById(1, targets, weights, 2, 2);
+
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(1.5, graph.getWeight("ALPHA", "BRAVO"), DELTA);
+        assertEquals(2.5, graph.getWeight("ALPHA", "CHARLIE"), DELTA);
+        assertEquals(Set.of("ALPHA", "CHARLIE"), graph.getParentNodes("BRAVO"));
+        assertEquals(0, graph.getOutDegree(1));
+
+        // the added edges grow like any other
+        graph.addEdgeById(1, 0, 4.0);
+        graph.addEdgeById(0, 1, 1.0);
+        assertEquals(4, graph.getEdgeCount());
+        assertEquals(1.0, graph.getInWeight(1, 0), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOutEdgesToNodeWithEdges()
+    {
+        graph.addEdge("ALPHA", "BRAVO", 1.0);
+        graph.addOutEdgesById(0, new int[] {2}, new double[] {1.0}, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOutEdgesToMissingId()
+    {
+        graph.addOutEdgesById(0, new int[] {3}, new double[] {1.0}, 0, 1);
+    }
+
+    @Test
+    public void testCopyIsIndependent()
+    {
+        graph.addEdge("ALPHA", "BRAVO", 1.0);
+        WeightedDirectedGraph<String> copy = new WeightedDirectedGraph<>(graph);
+        copy.addNode("DELTA");
+        copy.addEdge("BRAVO", "DELTA", 2.0);
+        copy.setEdgeWeightById(0, 1, 5.0);
+
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(1.0, graph.getWeight("ALPHA", "BRAVO"), DELTA);
+        assertEquals(1, copy.getNodeId("BRAVO"));
+        assertEquals(2, copy.getEdgeCount());
+        assertEquals(5.0, copy.getWeight("ALPHA", "BRAVO"), DELTA);
+        assertEquals(5.0, copy.getInWeight(1, 0), DELTA);
+    }
+
+    @Test
+    public void testRemoveEdgeById()
+    {
+        graph.addEdge("ALPHA", "BRAVO", 1.0);
+        graph.addEdge("ALPHA", "CHARLIE", 2.0);
+        graph.addEdge("CHARLIE", "BRAVO", 3.0);
+
+        assertTrue(graph.removeEdgeById(0, 1));
+        assertFalse(graph.removeEdgeById(0, 1));
+        assertEquals(2, graph.getEdgeCount());
+        assertFalse(graph.hasEdge("ALPHA", "BRAVO"));
+        assertEquals(2.0, graph.getWeight("ALPHA", "CHARLIE"), DELTA);
+        assertEquals(Set.of("CHARLIE"), graph.getParentNodes("BRAVO"));
+        assertEquals(1, graph.getInDegree(1));
+
+        graph.addEdgeById(0, 1, 4.0);
+        assertEquals(4.0, graph.getWeight("ALPHA", "BRAVO"), DELTA);
+    }
+
+    @Test
+    public void testSetEdgeWeightById()
+    {
+        graph.addEdge("ALPHA", "BRAVO", 1.0);
+        graph.setEdgeWeightById(0, 1, 7.0);
+
+        assertEquals(7.0, graph.getWeight("ALPHA", "BRAVO"), DELTA);
+        assertEquals(7.0, graph.getInWeight(1, 0), DELTA);
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetWeightOfMissingEdge()
+    {
+        graph.setEdgeWeightById(0, 1, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveEdgeByMissingId()
+    {
+        graph.removeEdgeById(0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgeByMissingId()
+    {
+        graph.addEdgeById(0, 3, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgeToMissingNode()
+    {
+        graph.addEdge("ALPHA", "DELTA", 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNegativeEdge()
+    {
+        graph.addEdge("ALPHA", "BRAVO", -1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNaNEdge()
+    {
+        graph.addEdge("ALPHA", "BRAVO", Double.NaN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetWeightOfMissingEdge()
+    {
+        graph.getWeight("ALPHA", "BRAVO");
+    }
+}
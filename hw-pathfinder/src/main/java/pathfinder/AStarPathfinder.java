@@ -0,0 +1,136 @@
+package pathfinder;
+
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.Arrays;
+
+/**
+ * A pathfinding utility that uses the A* search algorithm to find the shortest path between
+ * two nodes of a WeightedDirectedGraph. A* orders the frontier by the cost so far plus a
+ * Heuristic estimate of the remaining cost to the destination, so with a good estimate it
+ * settles far fewer nodes than Dijkstra's algorithm. The returned path is a shortest path
+ * whenever the heuristic is admissible.
+ */
+public class AStarPathfinder
+{
+    // This class does not represent an ADT.
+
+    /**
+     * Uses the A* algorithm with the given heuristic to return the shortest path from sourceNode
+     * to destNode, or null if no path from sourceNode to destNode exists.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param heuristic, the estimate of the remaining cost from any node to destNode.
+     * @param sourceNode, the source node to get the shortest path from.
+     * @param destNode, the destination node to get the shortest path to.
+     * @spec.requires graph, heuristic != null, heuristic is admissible,
+     *                sourceNode, destNode != null and exist in the graph
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, Heuristic<T> heuristic,
+                                              T sourceNode, T destNode)
+    {
+        return getShortestPath(graph, heuristic, graph.getNodeId(sourceNode), graph.getNodeId(destNode));
+    }
+
+    /**
+     * Uses the A* algorithm with the given heuristic to return the shortest path from the node
+     * with id sourceId to the node with id destId, or null if no such path exists.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param heuristic, the estimate of the remaining cost from any node to the destination.
+     * @param sourceId, the id of the source node to get the shortest path from.
+     * @param destId, the id of the destination node to get the shortest path to.
+     * @spec.requires graph, heuristic != null, heuristic is admissible,
+     *                sourceId and destId are in [0, graph.getNodeCount())
+     * @return the shortest path from the node with id sourceId to the node with id destId
+     *         in the graph, or null if no such path exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, Heuristic<T> heuristic,
+                                              int sourceId, int destId)
+    {
+        return searchPath(graph, heuristic, sourceId, destId, null);
+    }
+
+    /**
+     * Returns the shortest path like getShortestPath(graph, heuristic, sourceId, destId),
+     * adding the work of the search to counters unless it is null.
+     *
+     * @spec.requires graph != null, heuristic != null and admissible for graph,
+     *                sourceId and destId are in [0, graph.getNodeCount())
+     * @spec.modifies counters
+     */
+    static <T> Path<T> searchPath(WeightedDirectedGraph<T> graph, Heuristic<T> heuristic,
+                                  int sourceId, int destId, SearchCounters counters)
+    {
+        int n = graph.getNodeCount();
+        T destNode = graph.getNode(destId);
+
+        // dist holds the cost so far (g), estimates caches h for each node the search reaches
+        double[] dist = new double[n];
+        double[] estimates = new double[n];
+        int[] pred = new int[n];
+        int[] predEdge = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(estimates, Double.NaN);
+        Arrays.fill(pred, -1);
+        Arrays.fill(predEdge, -1);
+
+        IndexedMinHeap active = new IndexedMinHeap(n);
+        dist[sourceId] = 0;
+        active.insert(sourceId, 0);
+
+        // counted in locals and only stored once the search ends, to keep the loop tight
+        int settled = 0;
+        int relaxed = 0;
+        int pushes = 1;
+        boolean found = false;
+
+        while (!active.isEmpty())
+        {
+            int minNode = active.removeMin();
+            settled++;
+
+            if (minNode == destId)
+            {
+                found = true;
+                break;
+            }
+
+            double minDist = dist[minNode];
+
+            for (int k = 0; k < graph.getOutDegree(minNode); k++)
+            {
+                relaxed++;
+                int child = graph.getOutTarget(minNode, k);
+                double newDist = minDist + graph.getOutWeight(minNode, k);
+
+                if (newDist < dist[child])
+                {
+                    if (Double.isNaN(estimates[child]))
+                        estimates[child] = heuristic.estimate(graph.getNode(child), destNode);
+
+                    // a settled node is reopened here only if the heuristic is admissible
+                    // but not consistent, so the returned path stays a shortest path
+                    if (active.contains(child))
+                        active.decreaseKey(child, newDist + estimates[child]);
+                    else
+                        active.insert(child, newDist + estimates[child]);
+
+                    pushes++;
+                    dist[child] = newDist;
+                    pred[child] = minNode;
+                    predEdge[child] = k;
+                }
+            }
+        }
+
+        if (counters != null)
+            counters.add(settled, relaxed, pushes);
+
+        return found ? IndexedDijkstraPathfinder.buildPath(graph, sourceId, destId, pred, predEdge) : null;
+    }
+}
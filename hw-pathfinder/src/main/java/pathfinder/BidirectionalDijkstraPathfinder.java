@@ -0,0 +1,191 @@
+package pathfinder;
+
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A pathfinding utility that finds the shortest path between two nodes of a WeightedDirectedGraph
+ * with bidirectional Dijkstra: one search runs forward from the source along outbound edges while
+ * another runs backward from the destination along inbound edges, and they stop once they meet in
+ * the middle. Each search only has to cover about half the distance, so for far apart nodes the two
+ * together settle far fewer nodes than a single search from the source.
+ */
+public class BidirectionalDijkstraPathfinder
+{
+    // This class does not represent an ADT.
+
+    /**
+     * Uses bidirectional Dijkstra to return the shortest path from sourceNode
+     * to destNode, or null if no path from sourceNode to destNode exists.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceNode, the source node to get the shortest path from.
+     * @param destNode, the destination node to get the shortest path to.
+     * @spec.requires graph != null, sourceNode, destNode != null and exist in the graph
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, T sourceNode, T destNode)
+    {
+        return getShortestPath(graph, graph.getNodeId(sourceNode), graph.getNodeId(destNode));
+    }
+
+    /**
+     * Uses bidirectional Dijkstra to return the shortest path from the node with id sourceId
+     * to the node with id destId, or null if no such path exists.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceId, the id of the source node to get the shortest path from.
+     * @param destId, the id of the destination node to get the shortest path to.
+     * @spec.requires graph != null, sourceId and destId are in [0, graph.getNodeCount())
+     * @return the shortest path from the node with id sourceId to the node with id destId
+     *         in the graph, or null if no such path exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, int sourceId, int destId)
+    {
+        return searchPath(graph, sourceId, destId, null);
+    }
+
+    /**
+     * Returns the shortest path like getShortestPath(graph, sourceId, destId), adding the work
+     * of both searches to counters unless it is null.
+     *
+     * @spec.requires graph != null, sourceId and destId are in [0, graph.getNodeCount())
+     * @spec.modifies counters
+     */
+    static <T> Path<T> searchPath(WeightedDirectedGraph<T> graph, int sourceId, int destId,
+                                  SearchCounters counters)
+    {
+        int n = graph.getNodeCount();
+
+        // forward search state: distances from the source, and the last edge into each node
+        double[] distF = new double[n];
+        int[] pred = new int[n];
+        int[] predEdge = new int[n];
+
+        // backward search state: distances to the destination, and the first edge out of each
+        // node, stored as the node it leads to and its index among that node's inbound edges
+        double[] distB = new double[n];
+        int[] succ = new int[n];
+        int[] succEdge = new int[n];
+
+        Arrays.fill(distF, Double.POSITIVE_INFINITY);
+        Arrays.fill(distB, Double.POSITIVE_INFINITY);
+        Arrays.fill(pred, -1);
+        Arrays.fill(succ, -1);
+
+        IndexedMinHeap activeF = new IndexedMinHeap(n);
+        IndexedMinHeap activeB = new IndexedMinHeap(n);
+        distF[sourceId] = 0;
+        distB[destId] = 0;
+        activeF.insert(sourceId, 0);
+        activeB.insert(destId, 0);
+
+        // the length of the shortest path found so far, through the node meet
+        double best = sourceId == destId ? 0 : Double.POSITIVE_INFINITY;
+        int meet = sourceId == destId ? sourceId : -1;
+
+        // the work of both searches together, counted in locals to keep the loop tight
+        int settled = 0;
+        int relaxed = 0;
+        int pushes = 2;
+
+        // no path through an unsettled node can beat best once the two frontiers'
+        // minimum distances add up to at least best
+        while (!activeF.isEmpty() && !activeB.isEmpty()
+                && activeF.getKey(activeF.peekMin()) + activeB.getKey(activeB.peekMin()) < best)
+        {
+            if (activeF.size() <= activeB.size())
+            {
+                int u = activeF.removeMin();
+                settled++;
+
+                for (int k = 0; k < graph.getOutDegree(u); k++)
+                {
+                    relaxed++;
+                    int v = graph.getOutTarget(u, k);
+                    double newDist = distF[u] + graph.getOutWeight(u, k);
+
+                    if (newDist < distF[v])
+                    {
+                        if (activeF.contains(v))
+                            activeF.decreaseKey(v, newDist);
+                        else
+                            activeF.insert(v, newDist);
+
+                        pushes++;
+                        distF[v] = newDist;
+                        pred[v] = u;
+                        predEdge[v] = k;
+                    }
+
+                    if (distF[v] + distB[v] < best)
+                    {
+                        best = distF[v] + distB[v];
+                        meet = v;
+                    }
+                }
+            }
+            else
+            {
+                int u = activeB.removeMin();
+                settled++;
+
+                for (int l = 0; l < graph.getInDegree(u); l++)
+                {
+                    relaxed++;
+                    int v = graph.getInSource(u, l);
+                    double newDist = distB[u] + graph.getInWeight(u, l);
+
+                    if (newDist < distB[v])
+                    {
+                        if (activeB.contains(v))
+                            activeB.decreaseKey(v, newDist);
+                        else
+                            activeB.insert(v, newDist);
+
+                        pushes++;
+                        distB[v] = newDist;
+                        succ[v] = u;
+                        succEdge[v] = l;
+                    }
+
+                    if (distF[v] + distB[v] < best)
+                    {
+                        best = distF[v] + distB[v];
+                        meet = v;
+                    }
+                }
+            }
+        }
+
+        if (counters != null)
+            counters.add(settled, relaxed, pushes);
+
+        if (meet == -1)
+            return null;
+
+        Path<T> firstHalf = IndexedDijkstraPathfinder.buildPath(graph, sourceId, meet, pred, predEdge);
+        int length = 0;
+
+        for (int v = meet; v != destId; v = succ[v])
+            length++;
+
+        List<T> ends = new ArrayList<>(length);
+        double[] costs = new double[length];
+        int i = 0;
+
+        for (int v = meet; v != destId; v = succ[v], i++)
+        {
+            ends.add(graph.getNode(succ[v]));
+            costs[i] = graph.getInWeight(succ[v], succEdge[v]);
+        }
+
+        return firstHalf.extend(ends, costs);
+    }
+}
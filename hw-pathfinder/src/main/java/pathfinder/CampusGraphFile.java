@@ -0,0 +1,315 @@
+package pathfinder;
+
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A utility that saves the graph and buildings of a CampusMap in a compact binary file, and loads
+ * them back by memory-mapping that file, which is much faster than parsing and interning the CSV
+ * files again. Running this class writes the file for the campus data, so it can be made once by
+ * a build step: {@code java pathfinder.CampusGraphFile <output file>}.
+ *
+ * A file starts with a header of the magic number, the format version, the payload length and the
+ * CRC32 checksum of the payload. The payload holds the node count and each node's coordinates in
+ * node id order, the edge count, the outbound edges of every node in compressed sparse row form
+ * (an offset per node into arrays of targets and weights), and the building count and each
+ * building's node id, short name and long name.
+ */
+public class CampusGraphFile
+{
+    // This class does not represent an ADT.
+
+    // identifies campus graph files: the bytes "CPGF"
+    private static final int MAGIC = 0x43504746;
+
+    // the version of the format written by this class, bumped whenever the format changes
+    private static final int VERSION = 1;
+
+    // the size of the header in bytes: magic, version, payload length and checksum
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+
+    /**
+     * The graph and buildings loaded from a campus graph file.
+     */
+    static class Contents
+    {
+        // the graph of Points on campus, with node ids in the order they were saved
+        final WeightedDirectedGraph<Point> graph;
+
+        // the buildings on campus, in the order they were saved
+        final List<CampusBuilding> buildings;
+
+        Contents(WeightedDirectedGraph<Point> graph, List<CampusBuilding> buildings)
+        {
+            this.graph = graph;
+            this.buildings = buildings;
+        }
+    }
+
+    /**
+     * Writes the campus graph file for the campus CSV data.
+     *
+     * @param args, the path of the file to write.
+     * @throws IOException if the file can't be written.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 1)
+            throw new IllegalArgumentException("Usage: CampusGraphFile <output file>");
+
+        new CampusMap(CampusMap.RoutingMode.DIJKSTRA, false, 0).writeGraphFile(Paths.get(args[0]));
+    }
+
+    /**
+     * Writes graph and buildings to file, replacing it atomically so that a process loading the
+     * file never sees it half written.
+     *
+     * @param file, the path of the file to write.
+     * @param graph, the graph of Points on campus.
+     * @param buildings, the buildings on campus.
+     * @spec.requires graph, buildings != null and every building's Point is a node of graph
+     * @throws IOException if the file can't be written.
+     */
+    static void write(Path file, WeightedDirectedGraph<Point> graph,
+                      Collection<CampusBuilding> buildings) throws IOException
+    {
+        int n = graph.getNodeCount();
+        int m = graph.getEdgeCount();
+        List<byte[]> names = new ArrayList<>();
+        int payloadSize = 4 + 16 * n + 4 + 4 * (n + 1) + 12 * m + 4;
+
+        for (CampusBuilding cb : buildings)
+        {
+            byte[] shortName = cb.getShortName().getBytes(StandardCharsets.UTF_8);
+            byte[] longName = cb.getLongName().getBytes(StandardCharsets.UTF_8);
+            names.add(shortName);
+            names.add(longName);
+            payloadSize += 12 + shortName.length + longName.length;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(payloadSize);
+        payload.putInt(n);
+
+        for (int u = 0; u < n; u++)
+            payload.putDouble(graph.getNode(u).getX()).putDouble(graph.getNode(u).getY());
+
+        payload.putInt(m);
+        int offset = 0;
+
+        for (int u = 0; u < n; u++)
+        {
+            payload.putInt(offset);
+            offset += graph.getOutDegree(u);
+        }
+
+        payload.putInt(offset);
+
+        for (int u = 0; u < n; u++)
+            for (int k = 0; k < graph.getOutDegree(u); k++)
+                payload.putInt(graph.getOutTarget(u, k));
+
+        for (int u = 0; u < n; u++)
+            for (int k = 0; k < graph.getOutDegree(u); k++)
+                payload.putDouble(graph.getOutWeight(u, k));
+
+        payload.putInt(buildings.size());
+        int name = 0;
+
+        for (CampusBuilding cb : buildings)
+        {
+            payload.putInt(graph.getNodeId(new Point(cb.getX(), cb.getY())));
+            payload.putInt(names.get(name).length).put(names.get(name++));
+            payload.putInt(names.get(name).length).put(names.get(name++));
+        }
+
+        payload.flip();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(payloadSize).putLong(crc.getValue());
+        header.flip();
+
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "campus_graph", ".tmp");
+        boolean moved = false;
+
+        try
+        {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+            {
+                while (header.hasRemaining() || payload.hasRemaining())
+                    channel.write(new ByteBuffer[] {header, payload});
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        }
+        finally
+        {
+            // a failed write leaves nothing behind next to file
+            if (!moved)
+                Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Loads the graph and buildings saved in file by memory-mapping it.
+     *
+     * @param file, the path of the file to load.
+     * @return the graph and buildings saved in file.
+     * @throws IOException if the file can't be read, isn't a campus graph file of this version,
+     *                     fails its checksum, or holds a count, offset or node id out of range
+     *                     or a duplicate edge.
+     */
+    static Contents read(Path file) throws IOException
+    {
+        ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Not a campus graph file: " + file);
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC)
+            throw new IOException("Not a campus graph file: " + file);
+
+        int version = buffer.getInt();
+
+        if (version != VERSION)
+            throw new IOException(String.format("Campus graph file %s has version %d, not %d",
+                    file, version, VERSION));
+
+        long payloadSize = buffer.getLong();
+        long checksum = buffer.getLong();
+
+        if (payloadSize != buffer.remaining())
+            throw new IOException("Truncated campus graph file: " + file);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+
+        if (crc.getValue() != checksum)
+            throw new IOException("Corrupt campus graph file: " + file);
+
+        try
+        {
+            return readPayload(file, buffer);
+        }
+        catch (BufferUnderflowException | IllegalArgumentException e)
+        {
+            throw new IOException("Malformed campus graph file: " + file, e);
+        }
+    }
+
+    // Returns the graph and buildings in the payload of file starting at the position of buffer,
+    // throwing an IOException if a count, offset or node id in it is out of range or a node has
+    // two edges to the same node.
+    private static Contents readPayload(Path file, ByteBuffer buffer) throws IOException
+    {
+        WeightedDirectedGraph<Point> graph = new WeightedDirectedGraph<>();
+        int n = buffer.getInt();
+        checkPayload(n >= 0 && 16L * n <= buffer.remaining(), file, "node count %d", n);
+
+        for (int u = 0; u < n; u++)
+            graph.addNode(new Point(buffer.getDouble(), buffer.getDouble()));
+
+        int m = buffer.getInt();
+        checkPayload(m >= 0 && 4L * (n + 1) + 12L * m <= buffer.remaining(), file, "edge count %d", m);
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+
+        for (int u = 0; u <= n; u++)
+        {
+            offsets[u] = buffer.getInt();
+            checkPayload(u == 0 ? offsets[u] == 0 : offsets[u] >= offsets[u - 1] && offsets[u] <= m,
+                    file, "edge offset %d of node %d", offsets[u], u);
+        }
+
+        checkPayload(offsets[n] == m, file, "edge offset %d of node %d", offsets[n], n);
+
+        for (int e = 0; e < m; e++)
+        {
+            targets[e] = buffer.getInt();
+            checkPayload(targets[e] >= 0 && targets[e] < n, file, "edge target %d", targets[e]);
+        }
+
+        // a graph has at most one edge between two nodes, so the edges can be added without
+        // looking for an existing one once lastSource shows each target appears once per node
+        int[] lastSource = new int[n];
+        Arrays.fill(lastSource, -1);
+
+        for (int u = 0; u < n; u++)
+        {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++)
+            {
+                checkPayload(lastSource[targets[e]] != u, file, "duplicate edge %d to %d", u, targets[e]);
+                lastSource[targets[e]] = u;
+            }
+        }
+
+        double[] weights = new double[m];
+        buffer.asDoubleBuffer().get(weights);
+        buffer.position(buffer.position() + 8 * m);
+
+        for (int u = 0; u < n; u++)
+            graph.addOutEdgesById(u, targets, weights, offsets[u], offsets[u + 1]);
+
+        int buildingCount = buffer.getInt();
+        checkPayload(buildingCount >= 0 && 12L * buildingCount <= buffer.remaining(), file,
+                "building count %d", buildingCount);
+        List<CampusBuilding> buildings = new ArrayList<>(buildingCount);
+
+        for (int b = 0; b < buildingCount; b++)
+        {
+            int id = buffer.getInt();
+            checkPayload(id >= 0 && id < n, file, "building node id %d", id);
+            Point point = graph.getNode(id);
+            String shortName = readString(file, buffer);
+            String longName = readString(file, buffer);
+            buildings.add(new CampusBuilding(shortName, longName, point.getX(), point.getY()));
+        }
+
+        return new Contents(graph, buildings);
+    }
+
+    // Throws an IOException naming file and the value described by format and args as malformed
+    // unless valid is true.
+    private static void checkPayload(boolean valid, Path file, String format, Object... args)
+            throws IOException
+    {
+        if (!valid)
+            throw new IOException(String.format("Malformed campus graph file %s: invalid %s",
+                    file, String.format(format, args)));
+    }
+
+    // Returns the UTF-8 string of the length given by the int at the position of buffer,
+    // stored right after that int, throwing an IOException if that length is out of range.
+    private static String readString(Path file, ByteBuffer buffer) throws IOException
+    {
+        int length = buffer.getInt();
+        checkPayload(length >= 0 && length <= buffer.remaining(), file, "name length %d", length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -11,98 +11,489 @@
 
 package pathfinder;
 
-import graph.DirectedGraph;
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.LruCache;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
-import pathfinder.parser.CampusPath;
 import pathfinder.parser.CampusPathsParser;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
- * This class provides an immutable representation of a campus map which
+ * This class provides a representation of a campus map which
  * allows checking for the existence of buildings with a given
  * shorthand name, getting the corresponding long name for a building,
  * getting the mappings of all buildings' short names to long names,
- * and getting the shortest path from one building to another.
+ * getting the shortest path from one building to another or from one
+ * building to many others, and getting the walking distances between all
+ * pairs of buildings.
+ *
+ * Shortest paths are found with the search selected by the map's RoutingMode, or,
+ * if the map was created with precomputed routes, looked up in a table of the
+ * shortest paths between every pair of buildings built when the map is created.
+ * Otherwise, recently found paths are kept in a bounded least-recently-used cache.
+ *
+ * The buildings never change, but the paths between Points on campus can be closed,
+ * reopened or given a new distance while the map is in use. Each change publishes a
+ * new snapshot of the campus graph and the structures derived from it in one step,
+ * so queries already running finish on the snapshot they started with. Precomputed
+ * routes are only recomputed for start buildings whose routes the change can affect,
+ * and cached routes the change can't affect stay cached. A contraction hierarchy is
+ * rebuilt for every change.
+ *
+ * The statistics of each findShortestPath query, such as how many nodes its search settled and
+ * how long it took, can be recorded into a QueryMetrics sink set with setQueryMetrics.
  */
 public class CampusMap implements ModelAPI
 {
     public static final boolean DEBUG = false;
 
-    // AF(this): an immutable campus "map" where each shorthand building name is mapped
+    /**
+     * The number of routes kept in the route cache of a CampusMap created without
+     * an explicit route cache capacity.
+     */
+    public static final int DEFAULT_ROUTE_CACHE_CAPACITY = 1024;
+
+    // reports a campus graph file that can't be loaded, since the map is still made from the CSVs
+    private static final Logger LOGGER = Logger.getLogger(CampusMap.class.getName());
+
+    /**
+     * The search used by a CampusMap to find shortest paths between buildings.
+     */
+    public enum RoutingMode
+    {
+        /** Dijkstra's algorithm, settling nodes in order of distance from the start. */
+        DIJKSTRA,
+
+        /**
+         * A* search guided by the straight-line distance to the destination, scaled so
+         * that it never overestimates the walking distance along campus paths.
+         */
+        A_STAR,
+
+        /**
+         * Dijkstra's algorithm run forward from the start and backward from the destination
+         * at the same time, stopping once the two searches meet in the middle.
+         */
+        BIDIRECTIONAL,
+
+        /**
+         * Queries on a contraction hierarchy built when the map is created, which adds
+         * shortcut edges to the campus graph so each query only searches a few nodes.
+         */
+        CONTRACTION_HIERARCHIES
+    }
+
+    // AF(this): a campus "map" where each shorthand building name is mapped
     //           to the building's respective name and map coordinates in the
-    //           HashMap "shortNameBldgMap", and there is a DirectedGraph "graph" of Points
-    //           corresponding to geographic locations on campus connected by
-    //           Double edges representing the distance in feet between Points
-    //           on campus.
+    //           HashMap "shortNameBldgMap", and there is a WeightedDirectedGraph "snapshot.graph"
+    //           of Points corresponding to geographic locations on campus connected by
+    //           edges weighted with the distance in feet between Points on campus, except
+    //           that the edges in closedEdges are closed until they are reopened.
     //
     // Representation Invariant (RI): shortNameBldgMap != null, has no null keys,
-    //                                no null CampusBuilding mappings, and all mapped
-    //                                CampusBuildings have getShortName() equal to
-    //                                the corresponding key and a Point(getX(), getY())
-    //                                that exists in graph, and also graph != null.
+    //                                no null CampusBuilding mappings, buildingIds has the
+    //                                same keys, and all mapped CampusBuildings have
+    //                                getShortName() equal to the corresponding key and a
+    //                                Point(getX(), getY()) that exists in snapshot.graph with
+    //                                the id mapped to the same key in buildingIds, and also
+    //                                mode != null, snapshot != null, closedEdges != null and
+    //                                no key of closedEdges is an edge of snapshot.graph.
+    //                                Within snapshot, graph != null, heuristic != null and
+    //                                never overestimates the distance along any edge of graph,
+    //                                and hierarchy != null iff mode == CONTRACTION_HIERARCHIES,
+    //                                and routeTrees != null iff routeTable != null, in which
+    //                                case routeTrees maps every short name in shortNameBldgMap
+    //                                to a tree with the same distances as the shortest path tree
+    //                                of its building's Point in graph, and routeTable maps every
+    //                                pair of short names to the shortest path between the
+    //                                buildings' Points in graph, or null if there is none,
+    //                                and symmetric == graph.isSymmetric(), and every path in
+    //                                routeCache (if not null) is the shortest path between the
+    //                                Points of the buildings with the short names in its key,
+    //                                where the first short name is never greater than the second
+    //                                if symmetric.
     //
 
-    // the pathfinding utility used to find shortest route from building to building
-    private final DirectedGraph<Point, Double> graph;
-
     // maps the short names of buildings to the corresponding CampusBuilding class
     private final Map<String, CampusBuilding> shortNameBldgMap;
 
+    // maps the short names of buildings to the node ids of their Points in the graph, resolved
+    // once so that queries search by id without building or hashing a Point. Node ids never
+    // change when paths do.
+    private final Map<String, Integer> buildingIds;
+
+    // the search used to find shortest paths
+    private final RoutingMode mode;
+
+    // the current campus graph and everything derived from it, replaced as a whole whenever
+    // paths change; queries read it once and work on that snapshot throughout
+    private volatile Snapshot snapshot;
+
+    // maps the [start, end] Points of every closed edge to its distance before it was closed,
+    // only accessed while holding the lock on this
+    private final Map<List<Point>, Double> closedEdges;
+
+    // the sink findShortestPath records the statistics of each query into, or null if it doesn't
+    private volatile QueryMetrics queryMetrics;
+
+    /**
+     * An immutable state of the campus paths: the graph and the structures derived from it.
+     */
+    private class Snapshot
+    {
+        // the pathfinding utility used to find shortest route from building to building
+        final WeightedDirectedGraph<Point> graph;
+
+        // whether every path on campus can be walked both ways at the same cost, in which case
+        // routeCache only keeps one direction of each route
+        final boolean symmetric;
+
+        // the admissible straight-line estimate of the distance between Points used by A* search
+        final EuclideanHeuristic heuristic;
+
+        // the contraction hierarchy of graph queried in CONTRACTION_HIERARCHIES mode, otherwise null
+        final ContractionHierarchy<Point> hierarchy;
+
+        // maps start building short names to their shortest path trees if routes were
+        // precomputed, otherwise null
+        final Map<String, ShortestPathTree<Point>> routeTrees;
+
+        // maps start and end building short names to the shortest path between them if routes
+        // were precomputed, otherwise null
+        final Map<String, Map<String, Path<Point>>> routeTable;
+
+        // maps [start, end] building short names to recently found shortest paths between them,
+        // or null if routes are not cached
+        final LruCache<List<String>, Path<Point>> routeCache;
+
+        Snapshot(WeightedDirectedGraph<Point> graph, boolean symmetric,
+                 Map<String, ShortestPathTree<Point>> routeTrees,
+                 Map<String, Map<String, Path<Point>>> routeTable,
+                 LruCache<List<String>, Path<Point>> routeCache)
+        {
+            this.graph = graph;
+            this.symmetric = symmetric;
+            this.heuristic = admissibleHeuristic(graph);
+            this.hierarchy = mode == RoutingMode.CONTRACTION_HIERARCHIES ?
+                    new ContractionHierarchy<>(graph) : null;
+            this.routeTrees = routeTrees;
+            this.routeTable = routeTable;
+            this.routeCache = routeCache;
+        }
+    }
+
+    /**
+     * A change to the weight of one edge of the campus graph.
+     */
+    private static class EdgeChange
+    {
+        // the node ids of the edge's endpoints
+        final int srcId;
+        final int destId;
+
+        // the weight of the edge before and after the change, or positive infinity
+        // if there is no such edge before or after
+        final double oldWeight;
+        final double newWeight;
+
+        EdgeChange(int srcId, int destId, double oldWeight, double newWeight)
+        {
+            this.srcId = srcId;
+            this.destId = destId;
+            this.oldWeight = oldWeight;
+            this.newWeight = newWeight;
+        }
+
+        // Returns whether this change can change the shortest paths from the root of tree,
+        // which it can only do by lengthening an edge of the tree or by shortening an edge
+        // enough to lead to its destination sooner than the tree does.
+        boolean affects(ShortestPathTree<Point> tree)
+        {
+            if (newWeight > oldWeight)
+                return tree.usesEdge(srcId, destId);
+
+            return tree.getDistance(srcId) + newWeight < tree.getDistance(destId);
+        }
+    }
+
+    /**
+     * Creates a CampusMap of the campus buildings and paths that finds shortest
+     * paths with Dijkstra's algorithm.
+     */
     public CampusMap()
     {
-        graph = new DirectedGraph<>();
+        this(RoutingMode.DIJKSTRA);
+    }
+
+    /**
+     * Creates a CampusMap of the campus buildings and paths that finds shortest
+     * paths with the given search.
+     *
+     * @param mode the search used to find shortest paths.
+     * @throws IllegalArgumentException if mode == null
+     */
+    public CampusMap(RoutingMode mode)
+    {
+        this(mode, false);
+    }
+
+    /**
+     * Creates a CampusMap of the campus buildings and paths that finds shortest
+     * paths with the given search, or, if precomputeRoutes is true, computes the
+     * shortest paths between all pairs of buildings up front (in parallel, one
+     * search per start building) so that findShortestPath is a table lookup.
+     *
+     * @param mode the search used to find shortest paths.
+     * @param precomputeRoutes whether to precompute the routes between all buildings.
+     * @throws IllegalArgumentException if mode == null
+     */
+    public CampusMap(RoutingMode mode, boolean precomputeRoutes)
+    {
+        this(mode, precomputeRoutes, DEFAULT_ROUTE_CACHE_CAPACITY);
+    }
+
+    /**
+     * Creates a CampusMap of the campus buildings and paths that finds shortest
+     * paths with the given search, or looks them up in a table of all routes
+     * computed up front if precomputeRoutes is true. Unless routes are precomputed,
+     * up to routeCacheCapacity of the most recently used routes are cached, or none
+     * if routeCacheCapacity is 0.
+     *
+     * @param mode the search used to find shortest paths.
+     * @param precomputeRoutes whether to precompute the routes between all buildings.
+     * @param routeCacheCapacity the maximum number of routes to cache.
+     * @throws IllegalArgumentException if mode == null or routeCacheCapacity < 0
+     */
+    public CampusMap(RoutingMode mode, boolean precomputeRoutes, int routeCacheCapacity)
+    {
+        this(mode, precomputeRoutes, routeCacheCapacity, null);
+    }
+
+    /**
+     * Creates a CampusMap like CampusMap(mode, precomputeRoutes, routeCacheCapacity), but
+     * loads the campus buildings and paths from the campus graph file at graphFile, as
+     * written by writeGraphFile, instead of parsing the campus CSV files. If graphFile is
+     * null, or the file is missing, corrupt or of another format version, the CSV files
+     * are parsed instead.
+     *
+     * @param mode the search used to find shortest paths.
+     * @param precomputeRoutes whether to precompute the routes between all buildings.
+     * @param routeCacheCapacity the maximum number of routes to cache.
+     * @param graphFile the campus graph file to load, or null to parse the CSV files.
+     * @throws IllegalArgumentException if mode == null or routeCacheCapacity < 0
+     */
+    public CampusMap(RoutingMode mode, boolean precomputeRoutes, int routeCacheCapacity,
+                     java.nio.file.Path graphFile)
+    {
+        if (mode == null)
+            throw new IllegalArgumentException("mode cannot be null!");
+
+        if (routeCacheCapacity < 0)
+            throw new IllegalArgumentException(String.format(
+                    "routeCacheCapacity cannot be negative, but is %d!", routeCacheCapacity));
+
+        this.mode = mode;
         shortNameBldgMap = new HashMap<>();
+        closedEdges = new HashMap<>();
+        CampusGraphFile.Contents contents = graphFile == null ? null : readGraphFile(graphFile);
+        WeightedDirectedGraph<Point> graph;
 
-        List<CampusBuilding> buildings =
-                CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
-        List<CampusPath> paths =
-                CampusPathsParser.parseCampusPaths("campus_paths.csv");
+        if (contents != null)
+        {
+            graph = contents.graph;
 
-        for (CampusBuilding cb : buildings)
+            for (CampusBuilding cb : contents.buildings)
+                shortNameBldgMap.put(cb.getShortName(), cb);
+        }
+        else
         {
-            Point p = new Point(cb.getX(), cb.getY());
-            graph.addNode(p);
-            shortNameBldgMap.put(cb.getShortName(), cb);
+            WeightedDirectedGraph<Point> csvGraph = new WeightedDirectedGraph<>();
+
+            CampusPathsParser.parseCampusBuildings("campus_buildings.csv", cb ->
+            {
+                csvGraph.addNode(new Point(cb.getX(), cb.getY()));
+                shortNameBldgMap.put(cb.getShortName(), cb);
+            });
+
+            CampusPathsParser.parseCampusPaths("campus_paths.csv", cp ->
+            {
+                Point srcPoint = new Point(cp.getX1(), cp.getY1());
+                Point destPoint = new Point(cp.getX2(), cp.getY2());
+
+                if (!csvGraph.hasNode(srcPoint))
+                    csvGraph.addNode(srcPoint);
+
+                if (!csvGraph.hasNode(destPoint))
+                    csvGraph.addNode(destPoint);
+
+                // duplicate paths between the same points keep the shortest distance
+                csvGraph.addEdge(srcPoint, destPoint, cp.getDistance());
+            });
+            graph = csvGraph;
         }
 
-        for (CampusPath cp : paths)
+        buildingIds = new HashMap<>();
+
+        for (CampusBuilding cb : shortNameBldgMap.values())
+            buildingIds.put(cb.getShortName(), graph.getNodeId(new Point(cb.getX(), cb.getY())));
+
+        Map<String, ShortestPathTree<Point>> routeTrees = precomputeRoutes ?
+                buildRouteTrees(graph, shortNameBldgMap.keySet()) : null;
+        snapshot = new Snapshot(graph, graph.isSymmetric(), routeTrees,
+                precomputeRoutes ? buildRouteTable(routeTrees) : null,
+                precomputeRoutes || routeCacheCapacity == 0 ? null :
+                        new LruCache<>(routeCacheCapacity));
+        checkRep();
+    }
+
+    // Returns the graph and buildings in the campus graph file at graphFile, or null if it
+    // can't be loaded, in which case the caller falls back to the CSV files.
+    private static CampusGraphFile.Contents readGraphFile(java.nio.file.Path graphFile)
+    {
+        try
+        {
+            return CampusGraphFile.read(graphFile);
+        }
+        catch (IOException e)
         {
-            Point srcPoint = new Point(cp.getX1(), cp.getY1());
-            Point destPoint = new Point(cp.getX2(), cp.getY2());
+            LOGGER.log(Level.WARNING, "Can't load campus graph file " + graphFile
+                    + ", parsing the campus CSV files instead", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the campus buildings and the currently open paths of this map to a campus
+     * graph file at graphFile, which a CampusMap created with that file loads without
+     * parsing the CSV files. An existing file at graphFile is replaced.
+     *
+     * @param graphFile the path of the campus graph file to write.
+     * @throws IllegalArgumentException if graphFile == null
+     * @throws IOException if the file can't be written.
+     */
+    public void writeGraphFile(java.nio.file.Path graphFile) throws IOException
+    {
+        if (graphFile == null)
+            throw new IllegalArgumentException("graphFile cannot be null!");
+
+        CampusGraphFile.write(graphFile, snapshot.graph, shortNameBldgMap.values());
+    }
+
+    // Returns the straight-line estimate of the distance between Points, scaled by the largest
+    // number of feet per pixel that no edge of graph is shorter than, so that it never
+    // overestimates the walking distance.
+    private static EuclideanHeuristic admissibleHeuristic(WeightedDirectedGraph<Point> graph)
+    {
+        double feetPerPixel = Double.POSITIVE_INFINITY;
 
-            if (!graph.hasNode(srcPoint))
-                graph.addNode(srcPoint);
+        for (int u = 0; u < graph.getNodeCount(); u++)
+        {
+            Point src = graph.getNode(u);
 
-            if (!graph.hasNode(destPoint))
-                graph.addNode(destPoint);
+            for (int k = 0; k < graph.getOutDegree(u); k++)
+            {
+                Point dest = graph.getNode(graph.getOutTarget(u, k));
+                double pixels = Math.hypot(dest.getX() - src.getX(), dest.getY() - src.getY());
 
-            // assuming no duplicate paths, this is valid :)
-            graph.addEdge(srcPoint, destPoint, cp.getDistance());
+                if (pixels > 0)
+                    feetPerPixel = Math.min(feetPerPixel, graph.getOutWeight(u, k) / pixels);
+            }
         }
 
-        checkRep();
+        return new EuclideanHeuristic(Double.isFinite(feetPerPixel) ? feetPerPixel : 0);
+    }
+
+    // Returns a map from each of the given building short names to the shortest path tree of its
+    // building in graph. A single Dijkstra search from each start building reaches every end
+    // building at once, and the searches for different start buildings run in parallel since
+    // they only read graph.
+    private Map<String, ShortestPathTree<Point>> buildRouteTrees(WeightedDirectedGraph<Point> graph,
+                                                                 Collection<String> startShortNames)
+    {
+        return startShortNames.parallelStream().collect(Collectors.toMap(
+                startShortName -> startShortName,
+                startShortName -> IndexedDijkstraPathfinder.getShortestPathTree(graph,
+                        getBuildingId(startShortName))));
+    }
+
+    // Returns a table mapping every pair of building short names to the shortest path between
+    // them, or null if there is none, read off the given shortest path trees of the buildings.
+    private Map<String, Map<String, Path<Point>>> buildRouteTable(
+            Map<String, ShortestPathTree<Point>> routeTrees)
+    {
+        return routeTrees.entrySet().parallelStream().collect(Collectors.toMap(Map.Entry::getKey,
+                entry -> readRoutes(entry.getValue(), shortNameBldgMap.keySet())));
+    }
+
+    // Returns a map from each of the given building short names to the path to that building
+    // in tree, or null if there is none.
+    private Map<String, Path<Point>> readRoutes(ShortestPathTree<Point> tree,
+                                                Collection<String> endShortNames)
+    {
+        Map<String, Path<Point>> routes = new HashMap<>();
+
+        for (String endShortName : endShortNames)
+            routes.put(endShortName, tree.getPathTo(getBuildingId(endShortName)));
+
+        return routes;
+    }
+
+    // Returns the node id in the graph of the Point of the building with the given short name.
+    private int getBuildingId(String shortName)
+    {
+        return buildingIds.get(shortName);
     }
 
     // checks the RI of the class
     private void checkRep()
     {
-        assert graph != null;
+        Snapshot current = snapshot;
         assert shortNameBldgMap != null;
+        assert buildingIds != null && buildingIds.size() == shortNameBldgMap.size();
+        assert mode != null;
+        assert current != null && closedEdges != null;
+        assert current.graph != null;
+        assert current.heuristic != null;
+        assert (current.hierarchy != null) == (mode == RoutingMode.CONTRACTION_HIERARCHIES);
+        assert (current.routeTrees != null) == (current.routeTable != null);
         assert !shortNameBldgMap.containsKey(null);
+        assert current.routeTable == null || current.routeCache == null;
 
         if (DEBUG)
         {
+            assert current.symmetric == current.graph.isSymmetric();
+
             for (String shortName : shortNameBldgMap.keySet())
             {
                 CampusBuilding cb = shortNameBldgMap.get(shortName);
                 assert cb != null;
                 assert cb.getShortName().equals(shortName);
-                assert graph.hasNode(new Point(cb.getX(), cb.getY()));
+                assert current.graph.getNode(buildingIds.get(shortName)).equals(
+                        new Point(cb.getX(), cb.getY()));
+            }
+
+            for (List<Point> edge : closedEdges.keySet())
+                assert !current.graph.hasEdge(edge.get(0), edge.get(1));
+
+            if (current.routeTable != null)
+            {
+                assert current.routeTrees.keySet().equals(shortNameBldgMap.keySet());
+                assert current.routeTable.keySet().equals(shortNameBldgMap.keySet());
+
+                for (Map<String, Path<Point>> routes : current.routeTable.values())
+                    assert routes.keySet().equals(shortNameBldgMap.keySet());
             }
         }
     }
@@ -157,12 +548,475 @@ public class CampusMap implements ModelAPI
                                     startShortName : endShortName));
         }
 
-        CampusBuilding srcBldg = shortNameBldgMap.get(startShortName);
-        CampusBuilding destBldg = shortNameBldgMap.get(endShortName);
-        Point srcPoint = new Point(srcBldg.getX(), srcBldg.getY());
-        Point destPoint = new Point(destBldg.getX(), destBldg.getY());
+        QueryMetrics metrics = queryMetrics;
+
+        if (metrics == null)
+            return route(snapshot, startShortName, endShortName, null);
+
+        long start = System.nanoTime();
+        SearchCounters counters = new SearchCounters();
+        Path<Point> path = route(snapshot, startShortName, endShortName, counters);
+        metrics.record(startShortName, endShortName,
+                counters.toStats(System.nanoTime() - start, path));
+        return path;
+    }
+
+    // Returns the shortest path in current between the buildings with the given short names,
+    // or null if there is none, looked up in the route table or cache if possible. Unless
+    // counters is null, sets its outcome to how the path was found and adds the work of any
+    // search it runs.
+    private Path<Point> route(Snapshot current, String startShortName, String endShortName,
+                              SearchCounters counters)
+    {
+        if (current.routeTable != null)
+        {
+            if (counters != null)
+                counters.outcome = QueryStats.Outcome.TABLE;
+
+            return current.routeTable.get(startShortName).get(endShortName);
+        }
+
+        if (current.routeCache == null)
+            return search(current, startShortName, endShortName, counters);
+
+        // on a symmetric campus a route and its reverse share one cache entry
+        boolean reversed = current.symmetric && startShortName.compareTo(endShortName) > 0;
+        List<String> key = reversed ? List.of(endShortName, startShortName) :
+                List.of(startShortName, endShortName);
+        Path<Point> path = current.routeCache.get(key);
+
+        if (path == null)
+        {
+            path = reversed ? search(current, endShortName, startShortName, counters) :
+                    search(current, startShortName, endShortName, counters);
+
+            // pairs without a route are rare and cheap to rule out, so they aren't cached
+            if (path == null)
+                return null;
+
+            current.routeCache.put(key, path);
+        }
+        else if (counters != null)
+            counters.outcome = QueryStats.Outcome.CACHE;
+
+        return reversed ? path.reverse() : path;
+    }
+
+    /**
+     * Finds the shortest paths from one building to each of several others with a single
+     * search, rather than one search per destination.
+     *
+     * @param startShortName the short name of the building the paths start from
+     * @param endShortNames the short names of the buildings to find paths to
+     * @return a map from each of endShortNames to the shortest path from the building
+     *         with short name startShortName to it, or null if there is none
+     * @throws IllegalArgumentException if startShortName or endShortNames is null,
+     *                                  or any of the short names doesn't exist
+     */
+    public Map<String, Path<Point>> findShortestPaths(String startShortName,
+                                                      Collection<String> endShortNames)
+    {
+        if (startShortName == null || endShortNames == null)
+        {
+            throw new IllegalArgumentException(String.format("%s cannot be, but is null!",
+                    startShortName == null && endShortNames == null ?
+                            "startShortName and endShortNames" :
+                            startShortName == null ? "startShortName" : "endShortNames"));
+        }
+
+        for (String shortName : endShortNames)
+            if (!shortNameExists(shortName))
+                throw new IllegalArgumentException(
+                        String.format("Building by short-name %s doesn't exist!", shortName));
+
+        if (!shortNameExists(startShortName))
+            throw new IllegalArgumentException(
+                    String.format("Building by short-name %s doesn't exist!", startShortName));
+
+        return findRoutesFrom(snapshot, startShortName, endShortNames);
+    }
+
+    /**
+     * Finds the shortest paths for a batch of routes, given as a map from each start
+     * building to the buildings to find paths to from it. Routes from the same start
+     * building share a single search, and the searches for different start buildings
+     * run in parallel.
+     *
+     * @param endShortNamesByStart a map from the short name of each building paths
+     *                             start from to the short names of their end buildings
+     * @return a map from each start building short name in endShortNamesByStart to a map
+     *         from each of its end building short names to the shortest path between the
+     *         two buildings, or null if there is none
+     * @throws IllegalArgumentException if endShortNamesByStart is null, has a null key or
+     *                                  value, or any of the short names doesn't exist
+     */
+    public Map<String, Map<String, Path<Point>>> findShortestPaths(
+            Map<String, ? extends Collection<String>> endShortNamesByStart)
+    {
+        if (endShortNamesByStart == null)
+            throw new IllegalArgumentException("endShortNamesByStart cannot be, but is null!");
+
+        // check every route up front so a bad one fails the batch before any search runs
+        for (Map.Entry<String, ? extends Collection<String>> entry : endShortNamesByStart.entrySet())
+        {
+            if (entry.getKey() == null || entry.getValue() == null)
+                throw new IllegalArgumentException(String.format("%s cannot be, but is null!",
+                        entry.getKey() == null ? "A start short name" :
+                                "The end short names of " + entry.getKey()));
+
+            for (String shortName : entry.getValue())
+                if (!shortNameExists(shortName))
+                    throw new IllegalArgumentException(
+                            String.format("Building by short-name %s doesn't exist!", shortName));
+
+            if (!shortNameExists(entry.getKey()))
+                throw new IllegalArgumentException(
+                        String.format("Building by short-name %s doesn't exist!", entry.getKey()));
+        }
+
+        // every route in the batch is found on the same snapshot
+        Snapshot current = snapshot;
+
+        return endShortNamesByStart.entrySet().parallelStream().collect(Collectors.toMap(
+                Map.Entry::getKey, entry -> findRoutesFrom(current, entry.getKey(), entry.getValue())));
+    }
+
+    // Returns a map from each of endShortNames to the shortest path in current from the building
+    // with short name startShortName to it, or null if there is none.
+    private Map<String, Path<Point>> findRoutesFrom(Snapshot current, String startShortName,
+                                                    Collection<String> endShortNames)
+    {
+        if (current.routeTable != null)
+        {
+            Map<String, Path<Point>> routes = new HashMap<>();
+
+            for (String endShortName : endShortNames)
+                routes.put(endShortName, current.routeTable.get(startShortName).get(endShortName));
+
+            return routes;
+        }
+
+        return readRoutes(IndexedDijkstraPathfinder.getShortestPathTree(current.graph,
+                getBuildingId(startShortName)), endShortNames);
+    }
+
+    /**
+     * Returns the shortest walking distance between every pair of buildings. This runs one
+     * search per start building, in parallel on the common ForkJoinPool, and only reads
+     * distances off each search rather than building the Paths between buildings.
+     *
+     * @return a map from each building short name to a map from each building short name
+     *         reachable from it to the length of the shortest path between the two buildings
+     */
+    public Map<String, Map<String, Double>> distanceMatrix()
+    {
+        Snapshot current = snapshot;
+
+        return shortNameBldgMap.keySet().parallelStream().collect(Collectors.toMap(
+                startShortName -> startShortName,
+                startShortName -> distancesFrom(current, startShortName)));
+    }
+
+    // Returns a map from the short name of every building reachable in current from the building
+    // with short name startShortName to the length of the shortest path to it.
+    private Map<String, Double> distancesFrom(Snapshot current, String startShortName)
+    {
+        ShortestPathTree<Point> tree = current.routeTrees != null ?
+                current.routeTrees.get(startShortName) :
+                IndexedDijkstraPathfinder.getShortestPathTree(current.graph,
+                        getBuildingId(startShortName));
+        Map<String, Double> distances = new HashMap<>();
+
+        for (String endShortName : shortNameBldgMap.keySet())
+        {
+            double distance = tree.getDistance(getBuildingId(endShortName));
+
+            if (distance != Double.POSITIVE_INFINITY)
+                distances.put(endShortName, distance);
+        }
+
+        return distances;
+    }
+
+    /**
+     * Closes the paths between two Points on campus in both directions, so that no route
+     * uses them until they are reopened with reopenPath.
+     *
+     * @param a one end of the paths to close
+     * @param b the other end of the paths to close
+     * @spec.modifies this
+     * @spec.effects removes every path from a to b and from b to a from this map
+     * @throws IllegalArgumentException if a or b is null or not a Point on campus, or
+     *                                  there is no open path between a and b
+     */
+    public synchronized void closePath(Point a, Point b)
+    {
+        WeightedDirectedGraph<Point> graph = checkPathEnds(a, b);
+        List<EdgeChange> changes = new ArrayList<>();
+
+        for (List<Point> edge : List.of(List.of(a, b), List.of(b, a)))
+        {
+            if (graph.hasEdge(edge.get(0), edge.get(1)))
+            {
+                double weight = graph.getWeight(edge.get(0), edge.get(1));
+                closedEdges.put(edge, weight);
+                changes.add(new EdgeChange(graph.getNodeId(edge.get(0)), graph.getNodeId(edge.get(1)),
+                        weight, Double.POSITIVE_INFINITY));
+            }
+        }
+
+        if (changes.isEmpty())
+            throw new IllegalArgumentException(
+                    String.format("There is no open path between %s and %s!", a, b));
+
+        applyChanges(changes);
+    }
+
+    /**
+     * Reopens the paths between two Points on campus closed by closePath, with the
+     * distances they had when they were closed.
+     *
+     * @param a one end of the paths to reopen
+     * @param b the other end of the paths to reopen
+     * @spec.modifies this
+     * @spec.effects adds back every closed path from a to b and from b to a
+     * @throws IllegalArgumentException if a or b is null or not a Point on campus, or
+     *                                  no path between a and b is closed
+     */
+    public synchronized void reopenPath(Point a, Point b)
+    {
+        WeightedDirectedGraph<Point> graph = checkPathEnds(a, b);
+        List<EdgeChange> changes = new ArrayList<>();
+
+        for (List<Point> edge : List.of(List.of(a, b), List.of(b, a)))
+        {
+            Double weight = closedEdges.remove(edge);
+
+            if (weight != null)
+                changes.add(new EdgeChange(graph.getNodeId(edge.get(0)), graph.getNodeId(edge.get(1)),
+                        Double.POSITIVE_INFINITY, weight));
+        }
+
+        if (changes.isEmpty())
+            throw new IllegalArgumentException(
+                    String.format("No path between %s and %s is closed!", a, b));
+
+        applyChanges(changes);
+    }
+
+    /**
+     * Sets the distance of the open paths between two Points on campus in both directions,
+     * for example to account for a detour.
+     *
+     * @param a one end of the paths to change
+     * @param b the other end of the paths to change
+     * @param distance the new distance of the paths in feet
+     * @spec.modifies this
+     * @spec.effects the paths from a to b and from b to a have the given distance
+     * @throws IllegalArgumentException if a or b is null or not a Point on campus, there is
+     *                                  no open path between a and b, or distance is
+     *                                  negative, infinite or NaN
+     */
+    public synchronized void setPathDistance(Point a, Point b, double distance)
+    {
+        WeightedDirectedGraph<Point> graph = checkPathEnds(a, b);
+
+        if (!Double.isFinite(distance) || distance < 0)
+            throw new IllegalArgumentException(String.format(
+                    "Path distance must be finite and non-negative, but is %f!", distance));
+
+        List<EdgeChange> changes = new ArrayList<>();
+        boolean open = false;
 
-        return DijkstraPathfinder.getShortestPath(graph, srcPoint, destPoint);
+        for (List<Point> edge : List.of(List.of(a, b), List.of(b, a)))
+        {
+            if (graph.hasEdge(edge.get(0), edge.get(1)))
+            {
+                double weight = graph.getWeight(edge.get(0), edge.get(1));
+                open = true;
+
+                if (weight != distance)
+                    changes.add(new EdgeChange(graph.getNodeId(edge.get(0)),
+                            graph.getNodeId(edge.get(1)), weight, distance));
+            }
+        }
+
+        if (!open)
+            throw new IllegalArgumentException(
+                    String.format("There is no open path between %s and %s!", a, b));
+
+        if (!changes.isEmpty())
+            applyChanges(changes);
+    }
+
+    // Returns the current graph after checking that a and b are Points in it.
+    private WeightedDirectedGraph<Point> checkPathEnds(Point a, Point b)
+    {
+        WeightedDirectedGraph<Point> graph = snapshot.graph;
+
+        if (a == null || b == null)
+            throw new IllegalArgumentException("Path ends cannot be null!");
+
+        if (!graph.hasNode(a) || !graph.hasNode(b))
+            throw new IllegalArgumentException(String.format("Point %s is not on campus!",
+                    graph.hasNode(a) ? b : a));
+
+        return graph;
+    }
+
+    // Publishes a snapshot of the campus with the given changes made to a copy of the current
+    // graph, recomputing only the precomputed routes the changes can affect and keeping the
+    // cached routes they can't. Must be called while holding the lock on this.
+    private void applyChanges(List<EdgeChange> changes)
+    {
+        Snapshot old = snapshot;
+        WeightedDirectedGraph<Point> graph = new WeightedDirectedGraph<>(old.graph);
+        Set<List<Point>> lengthened = new HashSet<>();
+        boolean shortened = false;
+
+        for (EdgeChange change : changes)
+        {
+            if (change.newWeight == Double.POSITIVE_INFINITY)
+                graph.removeEdgeById(change.srcId, change.destId);
+            else if (change.oldWeight == Double.POSITIVE_INFINITY)
+                graph.addEdgeById(change.srcId, change.destId, change.newWeight);
+            else
+                graph.setEdgeWeightById(change.srcId, change.destId, change.newWeight);
+
+            if (change.newWeight > change.oldWeight)
+            {
+                Point src = graph.getNode(change.srcId);
+                Point dest = graph.getNode(change.destId);
+                lengthened.add(List.of(src, dest));
+                lengthened.add(List.of(dest, src));
+            }
+            else
+            {
+                shortened = true;
+            }
+        }
+
+        boolean symmetric = graph.isSymmetric();
+        Map<String, ShortestPathTree<Point>> routeTrees = null;
+        Map<String, Map<String, Path<Point>>> routeTable = null;
+
+        if (old.routeTrees != null)
+        {
+            List<String> stale = old.routeTrees.keySet().stream()
+                    .filter(startShortName -> changes.stream().anyMatch(
+                            change -> change.affects(old.routeTrees.get(startShortName))))
+                    .collect(Collectors.toList());
+            Map<String, ShortestPathTree<Point>> fresh = buildRouteTrees(graph, stale);
+            routeTrees = new HashMap<>(old.routeTrees);
+            routeTrees.putAll(fresh);
+            routeTable = new HashMap<>(old.routeTable);
+            routeTable.putAll(buildRouteTable(fresh));
+        }
+
+        LruCache<List<String>, Path<Point>> routeCache = null;
+
+        if (old.routeCache != null)
+        {
+            // a shorter path may lead anywhere sooner, and a change of symmetry changes the
+            // cache keys, but otherwise only the routes along a lengthened path are stale
+            boolean keepAny = !shortened && symmetric == old.symmetric;
+            routeCache = old.routeCache.copyIf((key, path) -> keepAny && !usesAny(path, lengthened));
+        }
+
+        snapshot = new Snapshot(graph, symmetric, routeTrees, routeTable, routeCache);
+        checkRep();
+    }
+
+    // Returns whether any segment of path goes between the Points of one of the given edges.
+    private static boolean usesAny(Path<Point> path, Set<List<Point>> edges)
+    {
+        for (Path<Point>.Segment<Point> segment : path)
+            if (edges.contains(List.of(segment.getStart(), segment.getEnd())))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Returns the number of findShortestPath calls answered from the route cache.
+     *
+     * @return the number of route cache hits, or 0 if routes are not cached
+     */
+    public long getRouteCacheHitCount()
+    {
+        LruCache<List<String>, Path<Point>> routeCache = snapshot.routeCache;
+        return routeCache == null ? 0 : routeCache.getHitCount();
+    }
+
+    /**
+     * Returns the number of findShortestPath calls that had to search for a route
+     * that was not in the route cache.
+     *
+     * @return the number of route cache misses, or 0 if routes are not cached
+     */
+    public long getRouteCacheMissCount()
+    {
+        LruCache<List<String>, Path<Point>> routeCache = snapshot.routeCache;
+        return routeCache == null ? 0 : routeCache.getMissCount();
+    }
+
+    /**
+     * Returns the number of routes evicted from the full route cache to make room
+     * for newer ones.
+     *
+     * @return the number of route cache evictions, or 0 if routes are not cached
+     */
+    public long getRouteCacheEvictionCount()
+    {
+        LruCache<List<String>, Path<Point>> routeCache = snapshot.routeCache;
+        return routeCache == null ? 0 : routeCache.getEvictionCount();
+    }
+
+    /**
+     * Sets the sink that findShortestPath records the statistics of each query into, with the
+     * short names of the buildings as its endpoints. Queries answered from the precomputed route
+     * table or the route cache run no search, so they only record their time and path length.
+     *
+     * @param queryMetrics the sink to record query statistics into, or null to stop recording.
+     * @spec.modifies this
+     * @spec.effects findShortestPath records into queryMetrics from now on.
+     */
+    public void setQueryMetrics(QueryMetrics queryMetrics)
+    {
+        this.queryMetrics = queryMetrics;
+    }
+
+    /**
+     * Returns the sink that findShortestPath records the statistics of each query into.
+     *
+     * @return the sink query statistics are recorded into, or null if they aren't recorded.
+     */
+    public QueryMetrics getQueryMetrics()
+    {
+        return queryMetrics;
+    }
+
+    // Returns the shortest path in current between the buildings with the given short names
+    // found with the search selected by mode, or null if there is none, adding the work of the
+    // search to counters unless it is null.
+    private Path<Point> search(Snapshot current, String startShortName, String endShortName,
+                               SearchCounters counters)
+    {
+        int srcId = getBuildingId(startShortName);
+        int destId = getBuildingId(endShortName);
+
+        switch (mode)
+        {
+            case A_STAR:
+                return AStarPathfinder.searchPath(current.graph, current.heuristic, srcId, destId,
+                        counters);
+            case BIDIRECTIONAL:
+                return BidirectionalDijkstraPathfinder.searchPath(current.graph, srcId, destId, counters);
+            case CONTRACTION_HIERARCHIES:
+                return current.hierarchy.searchPath(srcId, destId, counters);
+            default:
+                return IndexedDijkstraPathfinder.searchPath(current.graph, srcId, destId, counters);
+        }
     }
 
 }
@@ -0,0 +1,689 @@
+package pathfinder;
+
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents an immutable contraction hierarchy built over a snapshot of a
+ * WeightedDirectedGraph, which answers shortest path queries on that graph much faster
+ * than running Dijkstra's algorithm from scratch.
+ *
+ * Building the hierarchy contracts the nodes of the graph one at a time, from least to most
+ * important, and adds a shortcut edge between two neighbours of a contracted node whenever the
+ * only shortest path between them went through it. Each node then only needs its edges towards
+ * more important nodes: a query runs a small bidirectional search that only climbs upward from
+ * both ends, and the shortcuts on the path it finds are unpacked back into the original edges.
+ *
+ * Changes made to the graph after the hierarchy was built are not reflected in it.
+ */
+public class ContractionHierarchy<T>
+{
+    public static final boolean DEBUG = false;
+
+    // the most nodes a witness search may settle before giving up; giving up early only
+    // adds shortcuts that aren't strictly needed, it never makes queries incorrect
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    // AF(this): a contraction hierarchy of the graph "graph", where node v was contracted
+    //           rank[v]-th, the edges of the hierarchy are, for each edge index e, the edge
+    //           from edgeFrom[e] to edgeTo[e] with weight edgeWeight[e] that is an original
+    //           edge of graph if edgeFirst[e] == -1, and otherwise a shortcut standing for
+    //           the edge edgeFirst[e] followed by the edge edgeSecond[e].
+    //           upOffsets and upEdges list the edges leading from each node to a node of
+    //           higher rank, and downOffsets and downEdges the edges leading into each node
+    //           from a node of higher rank.
+    //
+    // Representation Invariant (RI): graph != null, all arrays != null, rank is a permutation
+    //                                of [0, graph.getNodeCount()), edgeFrom, edgeTo, edgeWeight,
+    //                                edgeFirst and edgeSecond have the same length, no two edges
+    //                                have the same (edgeFrom, edgeTo) pair, for every shortcut e,
+    //                                edgeFirst[e] runs from edgeFrom[e] to a middle node of lower
+    //                                rank than both ends of e, edgeSecond[e] runs from that middle
+    //                                node to edgeTo[e], and edgeWeight[e] is the sum of their
+    //                                weights, and upOffsets, downOffsets have
+    //                                graph.getNodeCount() + 1 entries delimiting runs of upEdges,
+    //                                downEdges.
+    //
+
+    // the graph this hierarchy was built over, used to map node ids back to nodes
+    private final WeightedDirectedGraph<T> graph;
+
+    // the order in which each node was contracted
+    private final int[] rank;
+
+    // the edges of the hierarchy, both original edges and shortcuts
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeight;
+    private final int[] edgeFirst;
+    private final int[] edgeSecond;
+
+    // the upward edges out of each node, and the upward edges into each node, in CSR form
+    private final int[] upOffsets;
+    private final int[] upEdges;
+    private final int[] downOffsets;
+    private final int[] downEdges;
+
+    // the reusable state of the search run by each thread that queries this hierarchy
+    private final ThreadLocal<SearchSpace> searchSpaces;
+
+    /**
+     * Builds a contraction hierarchy over the current nodes and edges of the given graph.
+     *
+     * @param graph the graph to build the hierarchy over.
+     * @spec.requires graph != null and isn't modified while the hierarchy is in use.
+     */
+    public ContractionHierarchy(WeightedDirectedGraph<T> graph)
+    {
+        this.graph = graph;
+        int n = graph.getNodeCount();
+
+        Builder builder = new Builder(graph);
+        builder.contractAll();
+
+        this.rank = builder.rank;
+        this.edgeFrom = Arrays.copyOf(builder.edgeFrom, builder.numEdges);
+        this.edgeTo = Arrays.copyOf(builder.edgeTo, builder.numEdges);
+        this.edgeWeight = Arrays.copyOf(builder.edgeWeight, builder.numEdges);
+        this.edgeFirst = Arrays.copyOf(builder.edgeFirst, builder.numEdges);
+        this.edgeSecond = Arrays.copyOf(builder.edgeSecond, builder.numEdges);
+
+        // split the edges into those climbing out of their source and those climbing into
+        // their destination, each laid out in one run per node
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+
+        for (int e = 0; e < edgeFrom.length; e++)
+        {
+            if (rank[edgeFrom[e]] < rank[edgeTo[e]])
+                upOffsets[edgeFrom[e] + 1]++;
+            else
+                downOffsets[edgeTo[e] + 1]++;
+        }
+
+        for (int v = 0; v < n; v++)
+        {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+
+        this.upEdges = new int[upOffsets[n]];
+        this.downEdges = new int[downOffsets[n]];
+        int[] upFill = Arrays.copyOf(upOffsets, n);
+        int[] downFill = Arrays.copyOf(downOffsets, n);
+
+        for (int e = 0; e < edgeFrom.length; e++)
+        {
+            if (rank[edgeFrom[e]] < rank[edgeTo[e]])
+                upEdges[upFill[edgeFrom[e]]++] = e;
+            else
+                downEdges[downFill[edgeTo[e]]++] = e;
+        }
+
+        this.searchSpaces = ThreadLocal.withInitial(() -> new SearchSpace(n));
+        checkRep();
+    }
+
+    // checks the RI of the class
+    private void checkRep()
+    {
+        assert graph != null;
+        assert rank != null && rank.length == graph.getNodeCount();
+        assert edgeFrom.length == edgeTo.length;
+        assert edgeFrom.length == edgeWeight.length;
+        assert edgeFrom.length == edgeFirst.length && edgeFrom.length == edgeSecond.length;
+        assert upOffsets.length == rank.length + 1 && downOffsets.length == rank.length + 1;
+
+        if (DEBUG)
+        {
+            for (int e = 0; e < edgeFrom.length; e++)
+            {
+                if (edgeFirst[e] != -1)
+                {
+                    int middle = edgeTo[edgeFirst[e]];
+                    assert edgeFrom[edgeFirst[e]] == edgeFrom[e];
+                    assert edgeFrom[edgeSecond[e]] == middle && edgeTo[edgeSecond[e]] == edgeTo[e];
+                    assert rank[middle] < rank[edgeFrom[e]] && rank[middle] < rank[edgeTo[e]];
+                    assert edgeWeight[e] == edgeWeight[edgeFirst[e]] + edgeWeight[edgeSecond[e]];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shortcut edges this hierarchy added to the graph.
+     *
+     * @return the number of shortcut edges in this hierarchy.
+     */
+    public int getShortcutCount()
+    {
+        int shortcuts = 0;
+
+        for (int first : edgeFirst)
+            if (first != -1)
+                shortcuts++;
+
+        return shortcuts;
+    }
+
+    /**
+     * Returns the shortest path from sourceNode to destNode in the graph this hierarchy
+     * was built over, or null if no path from sourceNode to destNode exists.
+     *
+     * @param sourceNode, the source node to get the shortest path from.
+     * @param destNode, the destination node to get the shortest path to.
+     * @spec.requires sourceNode, destNode != null and exist in the graph
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
+     */
+    public Path<T> getShortestPath(T sourceNode, T destNode)
+    {
+        return getShortestPath(graph.getNodeId(sourceNode), graph.getNodeId(destNode));
+    }
+
+    /**
+     * Returns the shortest path from the node with id sourceId to the node with id destId in
+     * the graph this hierarchy was built over, or null if no such path exists.
+     *
+     * @param sourceId, the id of the source node to get the shortest path from.
+     * @param destId, the id of the destination node to get the shortest path to.
+     * @spec.requires sourceId and destId are ids of nodes in the graph
+     * @return the shortest path from the node with id sourceId to the node with id destId
+     *         in the graph, or null if no such path exists.
+     */
+    public Path<T> getShortestPath(int sourceId, int destId)
+    {
+        return searchPath(sourceId, destId, null);
+    }
+
+    /**
+     * Returns the shortest path like getShortestPath(sourceId, destId), adding the work of
+     * the upward searches to counters unless it is null.
+     *
+     * @spec.requires sourceId and destId are ids of nodes in the graph
+     * @spec.modifies counters
+     */
+    Path<T> searchPath(int sourceId, int destId, SearchCounters counters)
+    {
+        SearchSpace space = searchSpaces.get();
+        int meet = space.search(sourceId, destId);
+
+        if (counters != null)
+            counters.add(space.settled, space.relaxed, space.pushes);
+
+        if (meet == -1)
+        {
+            space.reset();
+            return null;
+        }
+
+        // collect the hierarchy edges of the path, from the source up to the meeting node
+        // and from the meeting node back down to the destination
+        List<Integer> pathEdges = new ArrayList<>();
+
+        for (int v = meet; v != sourceId; v = edgeFrom[space.predEdgeF[v]])
+            pathEdges.add(space.predEdgeF[v]);
+
+        Collections.reverse(pathEdges);
+
+        for (int v = meet; v != destId; v = edgeTo[space.predEdgeB[v]])
+            pathEdges.add(space.predEdgeB[v]);
+
+        space.reset();
+
+        // unpack every shortcut into the original edges it stands for
+        List<T> ends = new ArrayList<>();
+        double[] costs = new double[16];
+        int[] stack = new int[16];
+
+        for (int pathEdge : pathEdges)
+        {
+            int top = 0;
+            stack[top++] = pathEdge;
+
+            while (top > 0)
+            {
+                int e = stack[--top];
+
+                if (edgeFirst[e] == -1)
+                {
+                    if (ends.size() == costs.length)
+                        costs = Arrays.copyOf(costs, costs.length * 2);
+
+                    costs[ends.size()] = edgeWeight[e];
+                    ends.add(graph.getNode(edgeTo[e]));
+                }
+                else
+                {
+                    if (top + 2 > stack.length)
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+
+                    // push the second half first so the first half is unpacked first
+                    stack[top++] = edgeSecond[e];
+                    stack[top++] = edgeFirst[e];
+                }
+            }
+        }
+
+        return new Path<>(graph.getNode(sourceId)).extend(ends, Arrays.copyOf(costs, ends.size()));
+    }
+
+    /**
+     * The reusable arrays of one thread's bidirectional upward search. Only the entries of
+     * nodes in touched are set, so resetting them after a query is proportional to the size
+     * of the search rather than to the size of the graph.
+     */
+    private class SearchSpace
+    {
+        private final double[] distF;
+        private final double[] distB;
+        private final int[] predEdgeF;
+        private final int[] predEdgeB;
+        private final IndexedMinHeap activeF;
+        private final IndexedMinHeap activeB;
+        private int[] touched;
+        private int numTouched;
+
+        // the work of the last search: nodes settled, edges relaxed and heap pushes
+        private int settled;
+        private int relaxed;
+        private int pushes;
+
+        private SearchSpace(int n)
+        {
+            distF = new double[n];
+            distB = new double[n];
+            predEdgeF = new int[n];
+            predEdgeB = new int[n];
+            activeF = new IndexedMinHeap(n);
+            activeB = new IndexedMinHeap(n);
+            touched = new int[16];
+            Arrays.fill(distF, Double.POSITIVE_INFINITY);
+            Arrays.fill(distB, Double.POSITIVE_INFINITY);
+        }
+
+        // Runs the bidirectional upward search from sourceId and destId, and returns the node
+        // where the shortest path found climbs highest, or -1 if there is no path.
+        private int search(int sourceId, int destId)
+        {
+            touch(sourceId);
+            touch(destId);
+            distF[sourceId] = 0;
+            distB[destId] = 0;
+            activeF.insert(sourceId, 0);
+            activeB.insert(destId, 0);
+            settled = 0;
+            relaxed = 0;
+            pushes = 2;
+
+            double best = Double.POSITIVE_INFINITY;
+            int meet = -1;
+
+            // each side stops once it can no longer reach a node closer than the best meeting
+            // distance found, since its distances only grow from there
+            while ((!activeF.isEmpty() && activeF.getKey(activeF.peekMin()) < best)
+                    || (!activeB.isEmpty() && activeB.getKey(activeB.peekMin()) < best))
+            {
+                boolean forward = !activeF.isEmpty() && activeF.getKey(activeF.peekMin()) < best
+                        && (activeB.isEmpty() || activeB.getKey(activeB.peekMin()) >= best
+                            || activeF.size() <= activeB.size());
+
+                if (forward)
+                {
+                    int u = activeF.removeMin();
+                    settled++;
+
+                    if (distF[u] + distB[u] < best)
+                    {
+                        best = distF[u] + distB[u];
+                        meet = u;
+                    }
+
+                    for (int i = upOffsets[u]; i < upOffsets[u + 1]; i++)
+                    {
+                        relaxed++;
+                        int e = upEdges[i];
+                        relax(distF, predEdgeF, activeF, edgeTo[e], distF[u] + edgeWeight[e], e);
+                    }
+                }
+                else
+                {
+                    int u = activeB.removeMin();
+                    settled++;
+
+                    if (distF[u] + distB[u] < best)
+                    {
+                        best = distF[u] + distB[u];
+                        meet = u;
+                    }
+
+                    for (int i = downOffsets[u]; i < downOffsets[u + 1]; i++)
+                    {
+                        relaxed++;
+                        int e = downEdges[i];
+                        relax(distB, predEdgeB, activeB, edgeFrom[e], distB[u] + edgeWeight[e], e);
+                    }
+                }
+            }
+
+            return meet;
+        }
+
+        // Lowers the distance of node v on one side of the search to newDist through edge e,
+        // if that is shorter than the distance already known.
+        private void relax(double[] dist, int[] predEdge, IndexedMinHeap active, int v, double newDist, int e)
+        {
+            if (newDist >= dist[v])
+                return;
+
+            if (distF[v] == Double.POSITIVE_INFINITY && distB[v] == Double.POSITIVE_INFINITY)
+                touch(v);
+
+            if (active.contains(v))
+                active.decreaseKey(v, newDist);
+            else
+                active.insert(v, newDist);
+
+            pushes++;
+            dist[v] = newDist;
+            predEdge[v] = e;
+        }
+
+        private void touch(int v)
+        {
+            if (numTouched == touched.length)
+                touched = Arrays.copyOf(touched, touched.length * 2);
+
+            touched[numTouched++] = v;
+        }
+
+        // Clears the state left behind by the last search.
+        private void reset()
+        {
+            for (int i = 0; i < numTouched; i++)
+            {
+                distF[touched[i]] = Double.POSITIVE_INFINITY;
+                distB[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+
+            numTouched = 0;
+            activeF.clear();
+            activeB.clear();
+        }
+    }
+
+    /**
+     * The mutable state of the node contraction that builds a hierarchy: the growing edge
+     * table, each uncontracted node's edges to other uncontracted nodes, and the contraction
+     * order chosen so far.
+     */
+    private static class Builder
+    {
+        private final int n;
+        private final int[] rank;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbours;
+
+        private int[] edgeFrom;
+        private int[] edgeTo;
+        private double[] edgeWeight;
+        private int[] edgeFirst;
+        private int[] edgeSecond;
+        private int numEdges;
+
+        // maps the key of each (from, to) node pair with an edge to the index of that edge
+        private final Map<Long, Integer> pairIndex;
+
+        // the indices of the edges out of and into each node
+        private final List<List<Integer>> outEdges;
+        private final List<List<Integer>> inEdges;
+
+        // the reusable state of witness searches
+        private final double[] witnessDist;
+        private final IndexedMinHeap witnessActive;
+        private final List<Integer> witnessTouched;
+
+        private Builder(WeightedDirectedGraph<?> graph)
+        {
+            n = graph.getNodeCount();
+            rank = new int[n];
+            contracted = new boolean[n];
+            contractedNeighbours = new int[n];
+            edgeFrom = new int[Math.max(16, graph.getEdgeCount())];
+            edgeTo = new int[edgeFrom.length];
+            edgeWeight = new double[edgeFrom.length];
+            edgeFirst = new int[edgeFrom.length];
+            edgeSecond = new int[edgeFrom.length];
+            pairIndex = new HashMap<>();
+            outEdges = new ArrayList<>(n);
+            inEdges = new ArrayList<>(n);
+            witnessDist = new double[n];
+            witnessActive = new IndexedMinHeap(n);
+            witnessTouched = new ArrayList<>();
+            Arrays.fill(witnessDist, Double.POSITIVE_INFINITY);
+
+            for (int v = 0; v < n; v++)
+            {
+                outEdges.add(new ArrayList<>());
+                inEdges.add(new ArrayList<>());
+            }
+
+            for (int u = 0; u < n; u++)
+            {
+                for (int k = 0; k < graph.getOutDegree(u); k++)
+                {
+                    int v = graph.getOutTarget(u, k);
+
+                    // self loops never lie on a shortest path
+                    if (u != v)
+                        addEdge(u, v, graph.getOutWeight(u, k), -1, -1);
+                }
+            }
+        }
+
+        // Contracts every node, least important first, recording the order in rank.
+        private void contractAll()
+        {
+            IndexedMinHeap order = new IndexedMinHeap(n);
+
+            for (int v = 0; v < n; v++)
+                order.insert(v, priority(v));
+
+            int nextRank = 0;
+
+            while (!order.isEmpty())
+            {
+                int v = order.removeMin();
+
+                // priorities go stale as neighbours are contracted, so recompute the chosen
+                // node's priority and put it back if it is no longer the least important
+                double current = priority(v);
+
+                if (!order.isEmpty() && current > order.getKey(order.peekMin()))
+                {
+                    order.insert(v, current);
+                    continue;
+                }
+
+                contract(v, true);
+                contracted[v] = true;
+                rank[v] = nextRank++;
+
+                for (int e : outEdges.get(v))
+                    contractedNeighbours[edgeTo[e]]++;
+
+                for (int e : inEdges.get(v))
+                    contractedNeighbours[edgeFrom[e]]++;
+            }
+        }
+
+        // Returns how important node v is to keep for later, as the number of shortcuts
+        // contracting it now would add minus the edges it would remove, plus the number of
+        // its neighbours already contracted so contraction spreads evenly over the graph.
+        private double priority(int v)
+        {
+            int removed = 0;
+
+            for (int e : outEdges.get(v))
+                if (!contracted[edgeTo[e]])
+                    removed++;
+
+            for (int e : inEdges.get(v))
+                if (!contracted[edgeFrom[e]])
+                    removed++;
+
+            return contract(v, false) - removed + contractedNeighbours[v];
+        }
+
+        // Finds the shortcuts needed to contract node v, adds them if add is true, and
+        // returns how many there are.
+        private int contract(int v, boolean add)
+        {
+            int shortcuts = 0;
+
+            // maxOut is the longest edge out of v, bounding how far witness searches must go
+            double maxOut = 0;
+
+            for (int e : outEdges.get(v))
+                if (!contracted[edgeTo[e]])
+                    maxOut = Math.max(maxOut, edgeWeight[e]);
+
+            // snapshot the in edges, since adding shortcuts may add edges into v's neighbours
+            List<Integer> ins = new ArrayList<>(inEdges.get(v));
+            List<Integer> outs = new ArrayList<>(outEdges.get(v));
+
+            for (int in : ins)
+            {
+                int u = edgeFrom[in];
+
+                if (contracted[u])
+                    continue;
+
+                witnessSearch(u, v, edgeWeight[in] + maxOut);
+
+                for (int out : outs)
+                {
+                    int x = edgeTo[out];
+
+                    if (contracted[x] || x == u)
+                        continue;
+
+                    double viaV = edgeWeight[in] + edgeWeight[out];
+
+                    if (witnessDist[x] > viaV)
+                    {
+                        shortcuts++;
+
+                        if (add)
+                            addEdge(u, x, viaV, in, out);
+                    }
+                }
+
+                clearWitnessSearch();
+            }
+
+            return shortcuts;
+        }
+
+        // Runs Dijkstra from node u over uncontracted nodes other than v, stopping beyond
+        // maxDist or after WITNESS_SETTLE_LIMIT nodes, leaving distances in witnessDist.
+        private void witnessSearch(int u, int v, double maxDist)
+        {
+            witnessDist[u] = 0;
+            witnessTouched.add(u);
+            witnessActive.insert(u, 0);
+            int settled = 0;
+
+            while (!witnessActive.isEmpty() && settled < WITNESS_SETTLE_LIMIT)
+            {
+                int w = witnessActive.removeMin();
+                settled++;
+
+                if (witnessDist[w] > maxDist)
+                    break;
+
+                for (int e : outEdges.get(w))
+                {
+                    int x = edgeTo[e];
+
+                    if (contracted[x] || x == v)
+                        continue;
+
+                    double newDist = witnessDist[w] + edgeWeight[e];
+
+                    if (newDist < witnessDist[x])
+                    {
+                        if (witnessDist[x] == Double.POSITIVE_INFINITY)
+                            witnessTouched.add(x);
+
+                        if (witnessActive.contains(x))
+                            witnessActive.decreaseKey(x, newDist);
+                        else
+                            witnessActive.insert(x, newDist);
+
+                        witnessDist[x] = newDist;
+                    }
+                }
+            }
+        }
+
+        private void clearWitnessSearch()
+        {
+            for (int w : witnessTouched)
+                witnessDist[w] = Double.POSITIVE_INFINITY;
+
+            witnessTouched.clear();
+            witnessActive.clear();
+        }
+
+        // Adds an edge from node u to node x with the given weight standing for the edge first
+        // followed by the edge second (or an original edge if first == -1), or makes the
+        // existing edge from u to x stand for them instead if that is shorter.
+        private void addEdge(int u, int x, double weight, int first, int second)
+        {
+            // unlike Long.hashCode of the packed pair, this key doesn't collide for (u, x)
+            // and (x, u), and is its own hash code while n * n fits in an int
+            long key = (long) u * n + x;
+            Integer existing = pairIndex.get(key);
+
+            if (existing != null)
+            {
+                if (weight < edgeWeight[existing])
+                {
+                    edgeWeight[existing] = weight;
+                    edgeFirst[existing] = first;
+                    edgeSecond[existing] = second;
+                }
+
+                return;
+            }
+
+            if (numEdges == edgeFrom.length)
+            {
+                edgeFrom = Arrays.copyOf(edgeFrom, numEdges * 2);
+                edgeTo = Arrays.copyOf(edgeTo, numEdges * 2);
+                edgeWeight = Arrays.copyOf(edgeWeight, numEdges * 2);
+                edgeFirst = Arrays.copyOf(edgeFirst, numEdges * 2);
+                edgeSecond = Arrays.copyOf(edgeSecond, numEdges * 2);
+            }
+
+            edgeFrom[numEdges] = u;
+            edgeTo[numEdges] = x;
+            edgeWeight[numEdges] = weight;
+            edgeFirst[numEdges] = first;
+            edgeSecond[numEdges] = second;
+            pairIndex.put(key, numEdges);
+            outEdges.get(u).add(numEdges);
+            inEdges.get(x).add(numEdges);
+            numEdges++;
+        }
+    }
+}
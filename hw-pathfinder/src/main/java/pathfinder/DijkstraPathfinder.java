@@ -1,8 +1,9 @@
 package pathfinder;
 
 import graph.DirectedGraph;
+import graph.EdgeCursor;
+import graph.WeightedDirectedGraph;
 import pathfinder.datastructures.Path;
-import pathfinder.datastructures.Point;
 
 import java.util.Comparator;
 import java.util.HashSet;
@@ -14,43 +15,59 @@ import java.util.Set;
  * by edges of non-negative Doubles representing the cost to travel from a given node to another, and
  * uses Dijkstra's shortest-path algorithm to find the shortest path from a given source
  * node in the graph to a given destination node.
+ *
+ * Each search can optionally record the statistics of its query, such as the number of nodes
+ * it settled and the time it took, into a QueryMetrics sink.
  */
 public class DijkstraPathfinder
 {
     // This class does not represent an ADT.
 
     /**
-     * Gets the shortest distance in the graph between
-     * a given source node and a given destination node. Returns null if
-     * there are no paths between the source and destination node.
+     * Uses Dijkstra's algorithm to return the shortest path from sourceNode
+     * to destNode, or null if no path from sourceNode to destNode exists.
      *
-     * @param sourceNode, the source node to get the distance from
+     * @param sourceNode, the source node to get the shortest path from.
      * @param destNode, the destination node to get the distance to
      * @spec.requires sourceNode, destNode != null and exist in the graph
-     * @return the shortest distance between sourceNode and destNode, or null
-     *         if there are no paths from sourceNode to destNode.
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
      */
-    private static <T> Double getShortestDistance(DirectedGraph<T, Double> graph, T sourceNode, T destNode)
+    public static <T> Path<T> getShortestPath(DirectedGraph<T, Double> graph, T sourceNode, T destNode)
     {
-        Double shortest = null;
-
-        for (double distance : graph.getEdges(sourceNode, destNode))
-            shortest = shortest == null ? distance : Math.min(distance, shortest);
-
-        return shortest;
+        return search(graph, sourceNode, destNode, null);
     }
 
     /**
      * Uses Dijkstra's algorithm to return the shortest path from sourceNode
-     * to destNode, or null if no path from sourceNode to destNode exists.
+     * to destNode, or null if no path from sourceNode to destNode exists, and
+     * records the statistics of the query into metrics unless it is null.
      *
      * @param sourceNode, the source node to get the shortest path from.
      * @param destNode, the destination node to get the distance to
+     * @param metrics, the sink to record the statistics of the query into, or null.
      * @spec.requires sourceNode, destNode != null and exist in the graph
+     * @spec.effects records the statistics of the query into metrics if it isn't null.
      * @return the shortest path from sourceNode to destNode in the graph, or
      *         null if no path from sourceNode to destNode exists.
      */
-    public static <T> Path<T> getShortestPath(DirectedGraph<T, Double> graph, T sourceNode, T destNode)
+    public static <T> Path<T> getShortestPath(DirectedGraph<T, Double> graph, T sourceNode, T destNode,
+                                              QueryMetrics metrics)
+    {
+        if (metrics == null)
+            return search(graph, sourceNode, destNode, null);
+
+        long start = System.nanoTime();
+        SearchCounters counters = new SearchCounters();
+        Path<T> path = search(graph, sourceNode, destNode, counters);
+        metrics.record(sourceNode, destNode, counters.toStats(System.nanoTime() - start, path));
+        return path;
+    }
+
+    // Returns the shortest path from sourceNode to destNode in graph, or null if there is none,
+    // adding the work of the search to counters unless it is null.
+    private static <T> Path<T> search(DirectedGraph<T, Double> graph, T sourceNode, T destNode,
+                                      SearchCounters counters)
     {
         PriorityQueue<Path<T>> active = new PriorityQueue<>(
                 new Comparator<Path<T>>() {
@@ -62,6 +79,12 @@ public class DijkstraPathfinder
 
         Set<T> finished = new HashSet<>();
 
+        // counted in locals and only stored once the search ends, to keep the loop tight
+        int settled = 0;
+        int relaxed = 0;
+        int pushes = 1;
+        Path<T> res = null;
+
         active.add(new Path<>(sourceNode));
 
         while (!active.isEmpty())
@@ -70,25 +93,77 @@ public class DijkstraPathfinder
             T minDest = minPath.getEnd();
 
             if (minDest.equals(destNode))
-                return minPath;
+            {
+                settled++;
+                res = minPath;
+                break;
+            }
 
             if (finished.contains(minDest))
                 continue;
 
-            Set<T> childNodes = graph.getChildNodes(minDest);
+            settled++;
 
-            for (T child : childNodes)
+            // parallel edges to a child each add a path, of which only the shortest is extended
+            EdgeCursor<T, Double> outEdges = graph.getOutEdgeCursor(minDest);
+
+            while (outEdges.advance())
             {
+                relaxed++;
+                T child = outEdges.getDestNode();
+
                 if (!finished.contains(child))
                 {
-                    Path<T> newPath = minPath.extend(child, getShortestDistance(graph, minDest, child));
-                    active.add(newPath);
+                    pushes++;
+                    active.add(minPath.extend(child, outEdges.getLabel()));
                 }
             }
 
             finished.add(minDest);
         }
 
-        return null;
+        if (counters != null)
+            counters.add(settled, relaxed, pushes);
+
+        return res;
+    }
+
+    /**
+     * Uses Dijkstra's algorithm to return the shortest path from sourceNode
+     * to destNode in a graph with primitive double edge weights, or null if no
+     * path from sourceNode to destNode exists. The search itself is run by
+     * IndexedDijkstraPathfinder over the graph's integer node ids.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceNode, the source node to get the shortest path from.
+     * @param destNode, the destination node to get the distance to
+     * @spec.requires graph != null, sourceNode, destNode != null and exist in the graph
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, T sourceNode, T destNode)
+    {
+        return IndexedDijkstraPathfinder.getShortestPath(graph, sourceNode, destNode);
+    }
+
+    /**
+     * Uses Dijkstra's algorithm to return the shortest path from sourceNode
+     * to destNode in a graph with primitive double edge weights, or null if no
+     * path from sourceNode to destNode exists, and records the statistics of the
+     * query into metrics unless it is null.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceNode, the source node to get the shortest path from.
+     * @param destNode, the destination node to get the distance to
+     * @param metrics, the sink to record the statistics of the query into, or null.
+     * @spec.requires graph != null, sourceNode, destNode != null and exist in the graph
+     * @spec.effects records the statistics of the query into metrics if it isn't null.
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, T sourceNode, T destNode,
+                                              QueryMetrics metrics)
+    {
+        return IndexedDijkstraPathfinder.getShortestPath(graph, sourceNode, destNode, metrics);
     }
 }
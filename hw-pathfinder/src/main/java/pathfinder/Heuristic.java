@@ -0,0 +1,22 @@
+package pathfinder;
+
+/**
+ * A heuristic that estimates the remaining cost of travelling from a node of type T to a
+ * destination node, used by AStarPathfinder to search towards the destination first.
+ *
+ * For AStarPathfinder to return shortest paths, a heuristic must be admissible: its estimate
+ * must never exceed the true cost of the cheapest path between the two nodes.
+ */
+public interface Heuristic<T>
+{
+    /**
+     * Estimates the cost of the cheapest path from node to destNode.
+     *
+     * @param node the node to estimate the remaining cost from.
+     * @param destNode the destination node.
+     * @spec.requires node, destNode != null
+     * @return a finite, non-negative estimate of the cost of the cheapest path
+     *         from node to destNode.
+     */
+    double estimate(T node, T destNode);
+}
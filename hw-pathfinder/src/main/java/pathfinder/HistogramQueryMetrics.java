@@ -0,0 +1,280 @@
+package pathfinder;
+
+import pathfinder.datastructures.Histogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe QueryMetrics that keeps histograms of the statistics of the queries recorded
+ * into it: the nodes settled, edges relaxed and heap pushes of the queries answered by a search,
+ * and the elapsed time and path length of every query, separately for each outcome. It also
+ * counts the queries that found no path, and keeps the endpoints of the search that settled the
+ * most nodes and of the slowest query so far, so pathological pairs can be found. The metrics can
+ * be rendered in the Prometheus text exposition format, with the elapsed times in seconds and the
+ * outcome of each time and path length series in its "outcome" label.
+ *
+ * Queries answered from the route table or cache do no search work, so they only add to the
+ * elapsed time and path length histograms, and queries that found no path don't add to the path
+ * length histograms.
+ */
+public class HistogramQueryMetrics implements QueryMetrics
+{
+    // the prefix of the name of every metric
+    private static final String PREFIX = "pathfinder_query_";
+
+    // the bucket bounds of the elapsed time histograms, in nanoseconds, from 1 microsecond to 10 seconds
+    private static final long[] NANOS_BOUNDS = {
+            1_000L, 2_500L, 5_000L, 10_000L, 25_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L,
+            5_000_000_000L, 10_000_000_000L
+    };
+
+    // AF(this): the statistics of every query recorded, where nodesSettled, edgesRelaxed and
+    //           heapPushes count the work of the queries answered by a search, the histograms at
+    //           index o of elapsedNanos and pathLength count the values of those statistics for
+    //           the queries with the outcome of ordinal o, noPathCount counts the queries that
+    //           found no path, mostSettled is the search that settled the most nodes and slowest
+    //           the query that took longest.
+    //
+    // Representation Invariant (RI): every field != null, and elapsedNanos and pathLength have
+    //                                one non-null histogram per outcome.
+    //
+
+    private final Histogram nodesSettled;
+    private final Histogram edgesRelaxed;
+    private final Histogram heapPushes;
+    private final Histogram[] elapsedNanos;
+    private final Histogram[] pathLength;
+    private final LongAdder noPathCount;
+    private final Extreme mostSettled;
+    private final Extreme slowest;
+
+    /**
+     * The query with the largest value of one statistic recorded so far.
+     */
+    private static class Extreme
+    {
+        // the largest value, or -1 if no query was recorded, which is only updated along with
+        // the query's endpoints and outcome while holding the lock on this
+        private volatile long value = -1;
+        private String source;
+        private String dest;
+        private QueryStats.Outcome outcome;
+
+        // Makes the given query the extreme one if its value is larger.
+        private void offer(long candidate, Object source, Object dest, QueryStats.Outcome outcome)
+        {
+            // most queries aren't the extreme one, so they don't take the lock
+            if (candidate <= value)
+                return;
+
+            synchronized (this)
+            {
+                if (candidate > value)
+                {
+                    this.source = String.valueOf(source);
+                    this.dest = String.valueOf(dest);
+                    this.outcome = outcome;
+                    this.value = candidate;
+                }
+            }
+        }
+
+        // Appends the extreme query as a gauge with the given name and help text, whose value
+        // is its value divided by unitsPerBase, if any query was recorded.
+        private synchronized void append(StringBuilder out, String name, String help, long unitsPerBase)
+        {
+            if (source == null)
+                return;
+
+            appendHeader(out, name, "gauge", help);
+            out.append(name).append("{source=\"").append(escapeLabel(source))
+                    .append("\",dest=\"").append(escapeLabel(dest))
+                    .append("\",").append(outcomeLabel(outcome)).append("} ")
+                    .append(unitsPerBase == 1 ? Long.toString(value) :
+                            Double.toString((double) value / unitsPerBase))
+                    .append('\n');
+        }
+    }
+
+    /**
+     * Creates a HistogramQueryMetrics with no queries recorded.
+     */
+    public HistogramQueryMetrics()
+    {
+        int outcomes = QueryStats.Outcome.values().length;
+        nodesSettled = new Histogram(Histogram.exponentialBounds(1_000_000));
+        edgesRelaxed = new Histogram(Histogram.exponentialBounds(10_000_000));
+        heapPushes = new Histogram(Histogram.exponentialBounds(10_000_000));
+        elapsedNanos = new Histogram[outcomes];
+        pathLength = new Histogram[outcomes];
+
+        for (int o = 0; o < outcomes; o++)
+        {
+            elapsedNanos[o] = new Histogram(NANOS_BOUNDS);
+            pathLength[o] = new Histogram(Histogram.exponentialBounds(10_000));
+        }
+
+        noPathCount = new LongAdder();
+        mostSettled = new Extreme();
+        slowest = new Extreme();
+    }
+
+    @Override
+    public void record(Object source, Object dest, QueryStats stats)
+    {
+        QueryStats.Outcome outcome = stats.getOutcome();
+        int o = outcome.ordinal();
+
+        if (outcome == QueryStats.Outcome.SEARCH)
+        {
+            nodesSettled.observe(stats.getNodesSettled());
+            edgesRelaxed.observe(stats.getEdgesRelaxed());
+            heapPushes.observe(stats.getHeapPushes());
+            mostSettled.offer(stats.getNodesSettled(), source, dest, outcome);
+        }
+
+        elapsedNanos[o].observe(stats.getElapsedNanos());
+        slowest.offer(stats.getElapsedNanos(), source, dest, outcome);
+
+        if (stats.hasPath())
+            pathLength[o].observe(stats.getPathLength());
+        else
+            noPathCount.increment();
+    }
+
+    /**
+     * Returns the histogram of the number of nodes settled by each query answered by a search.
+     *
+     * @return the histogram of nodes settled.
+     */
+    public Histogram getNodesSettled()
+    {
+        return nodesSettled;
+    }
+
+    /**
+     * Returns the histogram of the number of edges relaxed by each query answered by a search.
+     *
+     * @return the histogram of edges relaxed.
+     */
+    public Histogram getEdgesRelaxed()
+    {
+        return edgesRelaxed;
+    }
+
+    /**
+     * Returns the histogram of the number of heap pushes by each query answered by a search.
+     *
+     * @return the histogram of heap pushes.
+     */
+    public Histogram getHeapPushes()
+    {
+        return heapPushes;
+    }
+
+    /**
+     * Returns the histogram of the time each query with the given outcome took, in nanoseconds.
+     *
+     * @param outcome the outcome of the queries.
+     * @spec.requires outcome != null
+     * @return the histogram of elapsed times.
+     */
+    public Histogram getElapsedNanos(QueryStats.Outcome outcome)
+    {
+        return elapsedNanos[outcome.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of the number of edges in the path found by each query with the
+     * given outcome that found one.
+     *
+     * @param outcome the outcome of the queries.
+     * @spec.requires outcome != null
+     * @return the histogram of path lengths.
+     */
+    public Histogram getPathLength(QueryStats.Outcome outcome)
+    {
+        return pathLength[outcome.ordinal()];
+    }
+
+    /**
+     * Returns the number of queries recorded that found no path.
+     *
+     * @return the number of queries without a path.
+     */
+    public long getNoPathCount()
+    {
+        return noPathCount.sum();
+    }
+
+    /**
+     * Renders the metrics in the Prometheus text exposition format (version 0.0.4).
+     *
+     * @return the metrics as the body of a Prometheus scrape response.
+     */
+    public String toPrometheusText()
+    {
+        StringBuilder out = new StringBuilder();
+        appendHistogram(out, nodesSettled, "nodes_settled",
+                "Nodes settled by each shortest-path query answered by a search.");
+        appendHistogram(out, edgesRelaxed, "edges_relaxed",
+                "Edges relaxed by each shortest-path query answered by a search.");
+        appendHistogram(out, heapPushes, "heap_pushes",
+                "Frontier heap insertions and decrease-keys by each shortest-path query answered "
+                        + "by a search.");
+        appendHistograms(out, elapsedNanos, "duration_seconds",
+                "Time taken by each shortest-path query.", 1_000_000_000L);
+        appendHistograms(out, pathLength, "path_length",
+                "Edges in the path found by each shortest-path query that found one.", 1);
+
+        appendHeader(out, PREFIX + "no_path_total", "counter", "Shortest-path queries that found no path.");
+        out.append(PREFIX).append("no_path_total ").append(getNoPathCount()).append('\n');
+
+        mostSettled.append(out, PREFIX + "max_nodes_settled",
+                "Nodes settled by the shortest-path search that settled the most, by its endpoints.", 1);
+        slowest.append(out, PREFIX + "slowest_seconds",
+                "Time taken by the slowest shortest-path query, by its endpoints.", 1_000_000_000L);
+        return out.toString();
+    }
+
+    // Appends the histogram of one search work statistic to out as a histogram metric.
+    private static void appendHistogram(StringBuilder out, Histogram histogram, String name, String help)
+    {
+        appendHeader(out, PREFIX + name, "histogram", help);
+        histogram.appendPrometheus(out, PREFIX + name, "", 1);
+    }
+
+    // Appends the histograms of one statistic to out as one histogram metric with a series per
+    // outcome.
+    private static void appendHistograms(StringBuilder out, Histogram[] histograms, String name,
+                                         String help, long unitsPerBase)
+    {
+        appendHeader(out, PREFIX + name, "histogram", help);
+
+        for (QueryStats.Outcome outcome : QueryStats.Outcome.values())
+            histograms[outcome.ordinal()].appendPrometheus(out, PREFIX + name,
+                    outcomeLabel(outcome), unitsPerBase);
+    }
+
+    // Appends the HELP and TYPE lines of a metric to out.
+    private static void appendHeader(StringBuilder out, String name, String type, String help)
+    {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    // Returns the label naming the given outcome.
+    private static String outcomeLabel(QueryStats.Outcome outcome)
+    {
+        return "outcome=\"" + outcome.name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    // Returns value escaped for use as a Prometheus label value.
+    private static String escapeLabel(String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
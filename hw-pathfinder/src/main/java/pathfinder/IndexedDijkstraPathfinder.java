@@ -0,0 +1,251 @@
+package pathfinder;
+
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A pathfinding utility that runs Dijkstra's shortest-path algorithm over the integer node ids of
+ * a WeightedDirectedGraph. Tentative distances and predecessors are kept in flat arrays indexed by
+ * node id, the frontier is an IndexedMinHeap with decrease-key so every node is in the heap at
+ * most once, and the resulting Path is only built once the destination has been settled.
+ */
+public class IndexedDijkstraPathfinder
+{
+    // This class does not represent an ADT.
+
+    /**
+     * Uses Dijkstra's algorithm to return the shortest path from sourceNode
+     * to destNode, or null if no path from sourceNode to destNode exists.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceNode, the source node to get the shortest path from.
+     * @param destNode, the destination node to get the distance to
+     * @spec.requires graph != null, sourceNode, destNode != null and exist in the graph
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, T sourceNode, T destNode)
+    {
+        return getShortestPath(graph, graph.getNodeId(sourceNode), graph.getNodeId(destNode));
+    }
+
+    /**
+     * Uses Dijkstra's algorithm to return the shortest path from sourceNode to destNode, or null
+     * if no path from sourceNode to destNode exists, and records the statistics of the query into
+     * metrics unless it is null.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceNode, the source node to get the shortest path from.
+     * @param destNode, the destination node to get the distance to
+     * @param metrics, the sink to record the statistics of the query into, or null.
+     * @spec.requires graph != null, sourceNode, destNode != null and exist in the graph
+     * @spec.effects records the statistics of the query into metrics if it isn't null.
+     * @return the shortest path from sourceNode to destNode in the graph, or
+     *         null if no path from sourceNode to destNode exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, T sourceNode, T destNode,
+                                              QueryMetrics metrics)
+    {
+        return getShortestPath(graph, graph.getNodeId(sourceNode), graph.getNodeId(destNode), metrics);
+    }
+
+    /**
+     * Uses Dijkstra's algorithm to return the shortest path from the node with id sourceId
+     * to the node with id destId, or null if no such path exists.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceId, the id of the source node to get the shortest path from.
+     * @param destId, the id of the destination node to get the shortest path to.
+     * @spec.requires graph != null, sourceId and destId are in [0, graph.getNodeCount())
+     * @return the shortest path from the node with id sourceId to the node with id destId
+     *         in the graph, or null if no such path exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, int sourceId, int destId)
+    {
+        return searchPath(graph, sourceId, destId, null);
+    }
+
+    /**
+     * Uses Dijkstra's algorithm to return the shortest path from the node with id sourceId
+     * to the node with id destId, or null if no such path exists, and records the statistics
+     * of the query into metrics unless it is null.
+     *
+     * @param graph, the graph to find the shortest path in.
+     * @param sourceId, the id of the source node to get the shortest path from.
+     * @param destId, the id of the destination node to get the shortest path to.
+     * @param metrics, the sink to record the statistics of the query into, or null.
+     * @spec.requires graph != null, sourceId and destId are in [0, graph.getNodeCount())
+     * @spec.effects records the statistics of the query, with the source and destination
+     *               nodes as its endpoints, into metrics if it isn't null.
+     * @return the shortest path from the node with id sourceId to the node with id destId
+     *         in the graph, or null if no such path exists.
+     */
+    public static <T> Path<T> getShortestPath(WeightedDirectedGraph<T> graph, int sourceId, int destId,
+                                              QueryMetrics metrics)
+    {
+        if (metrics == null)
+            return getShortestPath(graph, sourceId, destId);
+
+        long start = System.nanoTime();
+        SearchCounters counters = new SearchCounters();
+        Path<T> path = searchPath(graph, sourceId, destId, counters);
+        metrics.record(graph.getNode(sourceId), graph.getNode(destId),
+                counters.toStats(System.nanoTime() - start, path));
+        return path;
+    }
+
+    /**
+     * Returns the shortest path like getShortestPath(graph, sourceId, destId), counting the work
+     * of the search into counters unless it is null.
+     *
+     * @spec.requires graph != null, sourceId and destId are in [0, graph.getNodeCount())
+     * @spec.modifies counters
+     */
+    static <T> Path<T> searchPath(WeightedDirectedGraph<T> graph, int sourceId, int destId,
+                                  SearchCounters counters)
+    {
+        int n = graph.getNodeCount();
+        double[] dist = new double[n];
+        int[] pred = new int[n];
+        int[] predEdge = new int[n];
+
+        search(graph, sourceId, destId, dist, pred, predEdge, counters);
+
+        if (dist[destId] == Double.POSITIVE_INFINITY)
+            return null;
+
+        return buildPath(graph, sourceId, destId, pred, predEdge);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from sourceNode to completion and returns the tree of shortest
+     * paths from it, from which the shortest path to any destination can be read off without
+     * searching again.
+     *
+     * @param graph, the graph to find shortest paths in.
+     * @param sourceNode, the source node to get the shortest paths from.
+     * @spec.requires graph != null, sourceNode != null and exists in the graph
+     * @return the shortest path tree of graph rooted at sourceNode.
+     */
+    public static <T> ShortestPathTree<T> getShortestPathTree(WeightedDirectedGraph<T> graph, T sourceNode)
+    {
+        return getShortestPathTree(graph, graph.getNodeId(sourceNode));
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the node with id sourceId to completion and returns the
+     * tree of shortest paths from it.
+     *
+     * @param graph, the graph to find shortest paths in.
+     * @param sourceId, the id of the source node to get the shortest paths from.
+     * @spec.requires graph != null, sourceId is in [0, graph.getNodeCount())
+     * @return the shortest path tree of graph rooted at the node with id sourceId.
+     */
+    public static <T> ShortestPathTree<T> getShortestPathTree(WeightedDirectedGraph<T> graph, int sourceId)
+    {
+        return new ShortestPathTree<>(graph, sourceId);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the node with id sourceId until the node with id destId is
+     * settled, or until every reachable node is settled if destId is -1. On return, dist[v] holds
+     * the shortest distance to every settled node v (and an upper bound for other reached nodes,
+     * or positive infinity for unreached ones), and pred[v], predEdge[v] name the node and the
+     * index among its outbound edges of the last edge on the shortest path to v (or -1 for the
+     * source and unreached nodes). The work of the search is added to counters unless it is null,
+     * which also records the counts at which each node was settled if it was created to.
+     *
+     * @spec.requires dist, pred, predEdge have length graph.getNodeCount()
+     * @spec.modifies dist, pred, predEdge, counters
+     */
+    static <T> void search(WeightedDirectedGraph<T> graph, int sourceId, int destId,
+                           double[] dist, int[] pred, int[] predEdge, SearchCounters counters)
+    {
+        // counted in locals and only stored once the search ends, to keep the loop tight
+        int settled = 0;
+        int relaxed = 0;
+        int pushes = 1;
+
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(pred, -1);
+        Arrays.fill(predEdge, -1);
+
+        IndexedMinHeap active = new IndexedMinHeap(graph.getNodeCount());
+        dist[sourceId] = 0;
+        active.insert(sourceId, 0);
+
+        while (!active.isEmpty())
+        {
+            int minNode = active.removeMin();
+            settled++;
+
+            if (minNode == destId)
+                break;
+
+            double minDist = dist[minNode];
+
+            for (int k = 0; k < graph.getOutDegree(minNode); k++)
+            {
+                relaxed++;
+                int child = graph.getOutTarget(minNode, k);
+                double newDist = minDist + graph.getOutWeight(minNode, k);
+
+                if (newDist < dist[child])
+                {
+                    // a node that was already settled can never be improved on here, since
+                    // edge weights are non-negative, so it is never reinserted into the heap
+                    if (active.contains(child))
+                        active.decreaseKey(child, newDist);
+                    else
+                        active.insert(child, newDist);
+
+                    pushes++;
+                    dist[child] = newDist;
+                    pred[child] = minNode;
+                    predEdge[child] = k;
+                }
+            }
+        }
+
+        if (counters != null)
+            counters.add(settled, relaxed, pushes);
+    }
+
+    /**
+     * Builds the Path from the node with id sourceId to the node with id destId by walking the
+     * predecessor arrays filled in by a search back from destId.
+     *
+     * @spec.requires destId was reached by a search from sourceId that filled in pred and predEdge
+     * @return the path from the node with id sourceId to the node with id destId.
+     */
+    static <T> Path<T> buildPath(WeightedDirectedGraph<T> graph, int sourceId, int destId,
+                                 int[] pred, int[] predEdge)
+    {
+        int length = 0;
+
+        for (int v = destId; v != sourceId; v = pred[v])
+            length++;
+
+        List<T> ends = new ArrayList<>(length);
+        double[] costs = new double[length];
+
+        for (int i = 0; i < length; i++)
+            ends.add(null);
+
+        int i = length;
+
+        for (int v = destId; v != sourceId; v = pred[v])
+        {
+            i--;
+            ends.set(i, graph.getNode(v));
+            costs[i] = graph.getOutWeight(pred[v], predEdge[v]);
+        }
+
+        return new Path<>(graph.getNode(sourceId)).extend(ends, costs);
+    }
+}
@@ -0,0 +1,19 @@
+package pathfinder;
+
+/**
+ * A sink for the statistics of shortest-path queries, which a pathfinder hands one QueryStats
+ * per query when it is given one. Queries can run on many threads at once, so implementations
+ * must be thread-safe, and since they are called on every query they should be cheap.
+ */
+public interface QueryMetrics
+{
+    /**
+     * Records the statistics of one shortest-path query from source to dest.
+     *
+     * @param source the node (or building short name) the query searched from.
+     * @param dest the node (or building short name) the query searched to.
+     * @param stats the statistics of the query.
+     * @spec.requires source, dest, stats != null
+     */
+    void record(Object source, Object dest, QueryStats stats);
+}
@@ -0,0 +1,167 @@
+package pathfinder;
+
+/**
+ * This class represents the immutable statistics of one shortest-path query: how it was answered,
+ * how much of the graph the search that found its path explored, how long it took, and how many
+ * edges long the path it found is.
+ */
+public class QueryStats
+{
+    /**
+     * How a shortest-path query was answered.
+     */
+    public enum Outcome
+    {
+        /** By a search run for the query, whose work the statistics count. */
+        SEARCH,
+
+        /**
+         * From a route cache. The search that found the cached path ran for an earlier query,
+         * so the statistics count no work.
+         */
+        CACHE,
+
+        /**
+         * From a table of routes precomputed when the map was made, so the statistics count
+         * no work.
+         */
+        TABLE
+    }
+
+    // AF(this): a query answered as "outcome" whose search removed nodesSettled nodes from its
+    //           frontier as settled, examined edgesRelaxed outbound edges of settled nodes,
+    //           inserted into or decreased a key in its frontier heapPushes times, that ran for
+    //           elapsedNanos nanoseconds and found a path of pathLength edges, or no path if
+    //           pathLength == -1.
+    //
+    // Representation Invariant (RI): outcome != null, nodesSettled, edgesRelaxed, heapPushes and
+    //                                elapsedNanos >= 0, pathLength >= -1, and the work counts are
+    //                                all 0 unless outcome == SEARCH.
+    //
+
+    private final Outcome outcome;
+    private final int nodesSettled;
+    private final int edgesRelaxed;
+    private final int heapPushes;
+    private final long elapsedNanos;
+    private final int pathLength;
+
+    /**
+     * Creates the statistics of a query.
+     *
+     * @param outcome how the query was answered.
+     * @param nodesSettled the number of nodes the search settled.
+     * @param edgesRelaxed the number of edges the search relaxed.
+     * @param heapPushes the number of insertions and decrease-keys on the search's frontier.
+     * @param elapsedNanos the time the query took, in nanoseconds.
+     * @param pathLength the number of edges in the path found, or -1 if there is no path.
+     * @throws IllegalArgumentException if outcome == null, a count or elapsedNanos is negative,
+     *                                  pathLength < -1, or outcome != SEARCH and a count isn't 0
+     */
+    public QueryStats(Outcome outcome, int nodesSettled, int edgesRelaxed, int heapPushes,
+                      long elapsedNanos, int pathLength)
+    {
+        if (outcome == null)
+            throw new IllegalArgumentException("outcome cannot be null!");
+
+        if (nodesSettled < 0 || edgesRelaxed < 0 || heapPushes < 0)
+            throw new IllegalArgumentException(String.format(
+                    "Search counts must be non-negative, not %d, %d and %d!",
+                    nodesSettled, edgesRelaxed, heapPushes));
+
+        if (outcome != Outcome.SEARCH && (nodesSettled != 0 || edgesRelaxed != 0 || heapPushes != 0))
+            throw new IllegalArgumentException(String.format(
+                    "Queries answered from a %s count no search work!",
+                    outcome == Outcome.CACHE ? "cache" : "route table"));
+
+        if (elapsedNanos < 0 || pathLength < -1)
+            throw new IllegalArgumentException(String.format(
+                    "Invalid elapsed time %d or path length %d!", elapsedNanos, pathLength));
+
+        this.outcome = outcome;
+        this.nodesSettled = nodesSettled;
+        this.edgesRelaxed = edgesRelaxed;
+        this.heapPushes = heapPushes;
+        this.elapsedNanos = elapsedNanos;
+        this.pathLength = pathLength;
+    }
+
+    /**
+     * Returns how the query was answered.
+     *
+     * @return the outcome of the query.
+     */
+    public Outcome getOutcome()
+    {
+        return outcome;
+    }
+
+    /**
+     * Returns the number of nodes the search that found the query's path settled.
+     *
+     * @return the number of nodes settled.
+     */
+    public int getNodesSettled()
+    {
+        return nodesSettled;
+    }
+
+    /**
+     * Returns the number of outbound edges of settled nodes the search that found the query's
+     * path relaxed.
+     *
+     * @return the number of edges relaxed.
+     */
+    public int getEdgesRelaxed()
+    {
+        return edgesRelaxed;
+    }
+
+    /**
+     * Returns the number of times the search that found the query's path inserted a node into
+     * its frontier or decreased the key of one already in it.
+     *
+     * @return the number of heap pushes.
+     */
+    public int getHeapPushes()
+    {
+        return heapPushes;
+    }
+
+    /**
+     * Returns the time the query took.
+     *
+     * @return the time the query took, in nanoseconds.
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns whether the query found a path.
+     *
+     * @return true iff the query found a path.
+     */
+    public boolean hasPath()
+    {
+        return pathLength != -1;
+    }
+
+    /**
+     * Returns the number of edges in the path the query found.
+     *
+     * @return the number of edges in the path found, or -1 if there is no path.
+     */
+    public int getPathLength()
+    {
+        return pathLength;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("QueryStats(%s, settled=%d, relaxed=%d, pushes=%d, nanos=%d, length=%d)",
+                outcome, nodesSettled, edgesRelaxed, heapPushes, elapsedNanos, pathLength);
+    }
+}
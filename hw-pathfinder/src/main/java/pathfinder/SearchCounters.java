@@ -0,0 +1,53 @@
+package pathfinder;
+
+import pathfinder.datastructures.Path;
+
+/**
+ * The mutable work counters of one shortest-path query, which the searches add to when they are
+ * given one and which are then turned into the QueryStats of the query.
+ */
+class SearchCounters
+{
+    // how the query was answered
+    QueryStats.Outcome outcome = QueryStats.Outcome.SEARCH;
+
+    // the numbers of nodes settled, edges relaxed and heap pushes
+    int nodesSettled;
+    int edgesRelaxed;
+    int heapPushes;
+
+    /**
+     * Creates counters at zero.
+     */
+    SearchCounters()
+    {
+    }
+
+    /**
+     * Adds the given work to these counters.
+     *
+     * @param settled the number of nodes settled.
+     * @param relaxed the number of edges relaxed.
+     * @param pushes the number of heap pushes.
+     * @spec.modifies this
+     */
+    void add(int settled, int relaxed, int pushes)
+    {
+        nodesSettled += settled;
+        edgesRelaxed += relaxed;
+        heapPushes += pushes;
+    }
+
+    /**
+     * Returns the statistics of a query that did the work counted by these counters.
+     *
+     * @param elapsedNanos the time the query took, in nanoseconds.
+     * @param path the path the query found, or null if there is none.
+     * @return the statistics of the query.
+     */
+    QueryStats toStats(long elapsedNanos, Path<?> path)
+    {
+        return new QueryStats(outcome, nodesSettled, edgesRelaxed, heapPushes, elapsedNanos,
+                path == null ? -1 : path.getSegmentCount());
+    }
+}
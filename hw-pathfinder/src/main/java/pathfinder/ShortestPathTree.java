@@ -0,0 +1,192 @@
+package pathfinder;
+
+import graph.WeightedDirectedGraph;
+import pathfinder.datastructures.Path;
+
+/**
+ * This class represents an immutable tree of the shortest paths from one source node of a
+ * WeightedDirectedGraph to every node reachable from it, as found by a single run of Dijkstra's
+ * algorithm to completion. The path to any destination is then read off the tree without another
+ * search, so finding routes from one source to many destinations costs one search in total.
+ *
+ * A ShortestPathTree describes the graph as it was when the tree was built, so it must not be
+ * used after the graph changes.
+ */
+public class ShortestPathTree<T>
+{
+    public static final boolean DEBUG = false;
+
+    // AF(this): the tree of shortest paths in "graph" from the node with id sourceId, where for
+    //           every node v reachable from the source, dist[v] is the length of the shortest
+    //           path to v, and that path is the shortest path to pred[v] followed by the
+    //           predEdge[v]-th outbound edge of pred[v], or the empty path if v is the source.
+    //           Nodes v unreachable from the source have dist[v] == positive infinity.
+    //
+    // Representation Invariant (RI): graph != null, dist, pred, predEdge != null and have length
+    //                                graph.getNodeCount(), sourceId is a node id of graph,
+    //                                dist[sourceId] == 0 and pred[sourceId] == -1, and for every
+    //                                other node v, pred[v] == -1 iff dist[v] is infinite, and
+    //                                otherwise dist[v] == dist[pred[v]] plus the weight of the
+    //                                predEdge[v]-th outbound edge of pred[v].
+    //
+
+    // the graph the tree spans
+    private final WeightedDirectedGraph<T> graph;
+
+    // the id of the root of the tree
+    private final int sourceId;
+
+    // the shortest distance from the source to each node, by node id
+    private final double[] dist;
+
+    // the parent of each node in the tree and the index of the edge from it, by node id
+    private final int[] pred;
+    private final int[] predEdge;
+
+    /**
+     * Runs Dijkstra's algorithm from the node with id sourceId to build its shortest path tree.
+     *
+     * @param graph, the graph to build the tree in.
+     * @param sourceId, the id of the root of the tree.
+     * @spec.requires graph != null, sourceId is in [0, graph.getNodeCount())
+     */
+    ShortestPathTree(WeightedDirectedGraph<T> graph, int sourceId)
+    {
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.sourceId = sourceId;
+        this.dist = new double[n];
+        this.pred = new int[n];
+        this.predEdge = new int[n];
+
+        IndexedDijkstraPathfinder.search(graph, sourceId, -1, dist, pred, predEdge, null);
+        checkRep();
+    }
+
+    // checks the RI of the class
+    private void checkRep()
+    {
+        assert graph != null;
+        assert dist != null && pred != null && predEdge != null;
+        assert dist.length == graph.getNodeCount();
+        assert pred.length == dist.length && predEdge.length == dist.length;
+        assert dist[sourceId] == 0 && pred[sourceId] == -1;
+
+        if (DEBUG)
+        {
+            for (int v = 0; v < dist.length; v++)
+            {
+                if (v == sourceId)
+                    continue;
+
+                assert (pred[v] == -1) == (dist[v] == Double.POSITIVE_INFINITY);
+
+                if (pred[v] != -1)
+                    assert dist[v] == dist[pred[v]] + graph.getOutWeight(pred[v], predEdge[v]);
+            }
+        }
+    }
+
+    /**
+     * Returns the root of this tree.
+     *
+     * @return the node all paths in this tree start from.
+     */
+    public T getSource()
+    {
+        return graph.getNode(sourceId);
+    }
+
+    /**
+     * Returns whether there is a path from the source to destNode.
+     *
+     * @param destNode, the node to find a path to.
+     * @spec.requires destNode != null and exists in the graph
+     * @return true iff destNode is reachable from the source.
+     */
+    public boolean hasPathTo(T destNode)
+    {
+        return hasPathTo(graph.getNodeId(destNode));
+    }
+
+    /**
+     * Returns whether there is a path from the source to the node with id destId.
+     *
+     * @param destId, the id of the node to find a path to.
+     * @spec.requires destId is in [0, graph.getNodeCount())
+     * @return true iff the node with id destId is reachable from the source.
+     */
+    public boolean hasPathTo(int destId)
+    {
+        return dist[destId] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to destNode.
+     *
+     * @param destNode, the node to get the distance to.
+     * @spec.requires destNode != null and exists in the graph
+     * @return the cost of the shortest path from the source to destNode, or
+     *         Double.POSITIVE_INFINITY if there is no such path.
+     */
+    public double getDistance(T destNode)
+    {
+        return getDistance(graph.getNodeId(destNode));
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the node with id destId.
+     *
+     * @param destId, the id of the node to get the distance to.
+     * @spec.requires destId is in [0, graph.getNodeCount())
+     * @return the cost of the shortest path from the source to the node with id destId, or
+     *         Double.POSITIVE_INFINITY if there is no such path.
+     */
+    public double getDistance(int destId)
+    {
+        return dist[destId];
+    }
+
+    /**
+     * Returns whether the path in this tree to the node with id destId ends with the edge from
+     * the node with id srcId, so that changing that edge may change the shortest paths.
+     *
+     * @param srcId, the id of the node the edge originates from.
+     * @param destId, the id of the node the edge terminates on.
+     * @spec.requires srcId, destId are in [0, graph.getNodeCount())
+     * @return true iff the edge from srcId to destId is an edge of this tree.
+     */
+    boolean usesEdge(int srcId, int destId)
+    {
+        return destId != sourceId && pred[destId] == srcId;
+    }
+
+    /**
+     * Returns the shortest path from the source to destNode, without searching the graph again.
+     *
+     * @param destNode, the node to get the shortest path to.
+     * @spec.requires destNode != null and exists in the graph
+     * @return the shortest path from the source to destNode, or null if there is no such path.
+     */
+    public Path<T> getPathTo(T destNode)
+    {
+        return getPathTo(graph.getNodeId(destNode));
+    }
+
+    /**
+     * Returns the shortest path from the source to the node with id destId, without
+     * searching the graph again.
+     *
+     * @param destId, the id of the node to get the shortest path to.
+     * @spec.requires destId is in [0, graph.getNodeCount())
+     * @return the shortest path from the source to the node with id destId, or null
+     *         if there is no such path.
+     */
+    public Path<T> getPathTo(int destId)
+    {
+        if (!hasPathTo(destId))
+            return null;
+
+        return IndexedDijkstraPathfinder.buildPath(graph, sourceId, destId, pred, predEdge);
+    }
+}
@@ -0,0 +1,222 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This represents a mutable, thread-safe histogram of non-negative long observations, counted
+ * into a fixed set of buckets. Each bucket is bounded above by one of the histogram's upper
+ * bounds, and a final bucket holds everything above the largest bound. Observing a value takes
+ * constant time and never blocks, so many threads can record into one histogram at once.
+ *
+ * The histogram can be rendered in the Prometheus text exposition format, where its buckets
+ * are cumulative: the bucket with upper bound b counts every observation less than or equal
+ * to b.
+ */
+public class Histogram {
+
+    // AF(this) =
+    //      the number of observations v with upperBounds[i-1] < v <= upperBounds[i] => counts[i]
+    //          (with upperBounds[-1] taken as negative infinity)
+    //      the number of observations greater than every upper bound => counts[upperBounds.length]
+    //      the total of all observations => sum
+
+    // Rep Invariant:
+    //      upperBounds != null && upperBounds.length > 0 &&
+    //      upperBounds is strictly increasing &&
+    //      counts != null && counts.length == upperBounds.length + 1 && counts has no nulls &&
+    //      sum != null
+
+    /**
+     * The upper bounds of every bucket except the last, in increasing order.
+     */
+    private final long[] upperBounds;
+
+    /**
+     * The number of observations in each bucket, not cumulative.
+     */
+    private final LongAdder[] counts;
+
+    /**
+     * The total of all observations.
+     */
+    private final LongAdder sum;
+
+    /**
+     * Creates a new, empty histogram with buckets bounded above by the given bounds.
+     *
+     * @param upperBounds The upper bounds of the buckets, in increasing order.
+     * @throws IllegalArgumentException if upperBounds is null, empty, or not strictly increasing.
+     */
+    public Histogram(long... upperBounds) {
+        if(upperBounds == null || upperBounds.length == 0) {
+            throw new IllegalArgumentException("Histogram needs at least one bucket bound.");
+        }
+        for(int i = 1; i < upperBounds.length; i++) {
+            if(upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException(
+                        String.format("Bucket bounds must be increasing, but %d follows %d.",
+                                upperBounds[i], upperBounds[i - 1]));
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+        this.counts = new LongAdder[upperBounds.length + 1];
+        for(int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        this.sum = new LongAdder();
+        checkRep();
+    }
+
+    /**
+     * Returns the bucket bounds growing in a 1-2-5 pattern from 1 up to at least max, that is
+     * 1, 2, 5, 10, 20, 50, ... which suits quantities whose scale isn't known in advance.
+     *
+     * @param max The smallest value the largest bound must reach.
+     * @return The bounds 1, 2, 5, 10, ... up to the first one that is at least max.
+     * @throws IllegalArgumentException if max is not positive.
+     */
+    public static long[] exponentialBounds(long max) {
+        if(max <= 0) {
+            throw new IllegalArgumentException("The largest bucket bound must be positive.");
+        }
+        long[] steps = {1, 2, 5};
+        long[] bounds = new long[64];
+        int n = 0;
+        for(long scale = 1; ; scale *= 10) {
+            for(long step : steps) {
+                bounds[n++] = step * scale;
+                if(step * scale >= max) {
+                    return Arrays.copyOf(bounds, n);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records one observation.
+     *
+     * @param value The observed value.
+     * @spec.requires value >= 0
+     * @spec.modifies this
+     * @spec.effects Counts value in the first bucket whose upper bound is at least value,
+     *               or in the last bucket if there is none, and adds it to the sum.
+     */
+    public void observe(long value) {
+        int i = Arrays.binarySearch(upperBounds, value);
+        counts[i >= 0 ? i : -i - 1].increment();
+        sum.add(value);
+    }
+
+    /**
+     * Returns the upper bounds of the buckets of this histogram, other than the last bucket,
+     * which has no upper bound.
+     *
+     * @return A copy of the upper bounds of the buckets, in increasing order.
+     */
+    public long[] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    /**
+     * Returns the cumulative counts of the buckets of this histogram, where element i is the
+     * number of observations no greater than getUpperBounds()[i] and the last element is the
+     * number of all observations.
+     *
+     * @return The cumulative bucket counts, one longer than getUpperBounds().
+     */
+    public long[] getCumulativeCounts() {
+        long[] res = new long[counts.length];
+        long total = 0;
+        for(int i = 0; i < counts.length; i++) {
+            total += counts[i].sum();
+            res[i] = total;
+        }
+        return res;
+    }
+
+    /**
+     * Returns the number of observations recorded in this histogram.
+     *
+     * @return The number of observations.
+     */
+    public long getCount() {
+        long total = 0;
+        for(LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the total of all observations recorded in this histogram.
+     *
+     * @return The sum of the observations.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Appends the samples of this histogram to out in the Prometheus text exposition format, as
+     * a series of the histogram metric with the given name and labels. The bucket bounds and the
+     * sum are divided by unitsPerBase, so that a histogram of nanoseconds can be exposed in
+     * seconds, for example. Observations recorded while this runs may or may not be included.
+     *
+     * @param out The builder to append the samples to.
+     * @param name The name of the metric.
+     * @param labels The labels of the series, as comma-separated name="value" pairs with their
+     *               values escaped, or the empty string for none.
+     * @param unitsPerBase The number of observed units in one unit of the metric.
+     * @spec.requires out, name, labels != null, name is a valid Prometheus metric name
+     *                and unitsPerBase > 0
+     * @spec.modifies out
+     * @spec.effects Appends one line per bucket, and the sum and count lines of the series to out.
+     */
+    public void appendPrometheus(StringBuilder out, String name, String labels, long unitsPerBase) {
+        long[] cumulative = getCumulativeCounts();
+        String bucketPrefix = labels.isEmpty() ? "{" : "{" + labels + ",";
+        String suffix = labels.isEmpty() ? " " : "{" + labels + "} ";
+        for(int i = 0; i < upperBounds.length; i++) {
+            out.append(name).append("_bucket").append(bucketPrefix).append("le=\"")
+                    .append(formatValue(upperBounds[i], unitsPerBase))
+                    .append("\"} ").append(cumulative[i]).append('\n');
+        }
+        out.append(name).append("_bucket").append(bucketPrefix).append("le=\"+Inf\"} ")
+                .append(cumulative[upperBounds.length]).append('\n');
+        out.append(name).append("_sum").append(suffix)
+                .append(formatValue(getSum(), unitsPerBase)).append('\n');
+        out.append(name).append("_count").append(suffix)
+                .append(cumulative[upperBounds.length]).append('\n');
+    }
+
+    /**
+     * Formats value / unitsPerBase as a sample value, without a fractional part if it is a
+     * whole number.
+     *
+     * @param value The value to format, in observed units.
+     * @param unitsPerBase The number of observed units in one unit of the metric.
+     * @return value / unitsPerBase as a string.
+     */
+    private static String formatValue(long value, long unitsPerBase) {
+        if(value % unitsPerBase == 0) {
+            return Long.toString(value / unitsPerBase);
+        }
+        return Double.toString((double) value / unitsPerBase);
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated.
+     */
+    private void checkRep() {
+        assert upperBounds != null && upperBounds.length > 0;
+        for(int i = 1; i < upperBounds.length; i++) {
+            assert upperBounds[i] > upperBounds[i - 1];
+        }
+        assert counts != null && counts.length == upperBounds.length + 1;
+        for(LongAdder count : counts) {
+            assert count != null;
+        }
+        assert sum != null;
+    }
+}
@@ -0,0 +1,235 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * This represents a mutable binary min-heap over the integer ids [0, capacity), where each id in
+ * the heap has a double priority key. Unlike java.util.PriorityQueue, each id appears at most once
+ * and its key can be lowered in place with {@link #decreaseKey(int, double)}, so a shortest-path
+ * search never has to push stale duplicate entries.
+ */
+public class IndexedMinHeap {
+
+    // AF(this) =
+    //      the ids in the heap => heap[0..size)
+    //      the key of each id i in the heap => keys[i]
+    //      the id with the minimum key => heap[0], if size > 0
+
+    // Rep Invariant:
+    //      heap != null && positions != null && keys != null &&
+    //      heap.length == positions.length == keys.length &&
+    //      0 <= size <= heap.length &&
+    //      for every 0 <= p < size: positions[heap[p]] == p &&
+    //      for every id i not in heap[0..size): positions[i] == -1 &&
+    //      for every 0 < p < size: keys[heap[(p - 1) / 2]] <= keys[heap[p]]
+
+    /**
+     * The ids in the heap, laid out as an implicit binary tree.
+     */
+    private final int[] heap;
+
+    /**
+     * The index in heap of each id, or -1 if the id is not in the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The key of each id in the heap.
+     */
+    private final double[] keys;
+
+    /**
+     * The number of ids in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty heap that can hold the ids [0, capacity).
+     *
+     * @param capacity The number of distinct ids this heap can hold.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public IndexedMinHeap(int capacity) {
+        if(capacity < 0) {
+            throw new IllegalArgumentException("Heap capacity cannot be negative.");
+        }
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        this.size = 0;
+        Arrays.fill(positions, -1);
+        checkRep();
+    }
+
+    /**
+     * @return {@literal true} if and only if this heap contains no ids.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of ids in this heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id The id to look for.
+     * @return {@literal true} if and only if {@code id} is in this heap.
+     */
+    public boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * @param id An id in this heap.
+     * @return The key of {@code id}.
+     * @throws IllegalArgumentException if {@code id} is not in this heap.
+     */
+    public double getKey(int id) {
+        if(!contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is not in the heap.");
+        }
+        return keys[id];
+    }
+
+    /**
+     * Adds {@code id} to this heap with the given key.
+     *
+     * @param id  The id to add.
+     * @param key The priority of {@code id}; smaller keys are removed first.
+     * @throws IllegalArgumentException if {@code id} is already in this heap.
+     */
+    public void insert(int id, double key) {
+        if(contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap.");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        positions[id] = size;
+        size++;
+        siftUp(size - 1);
+        checkRep();
+    }
+
+    /**
+     * Lowers the key of an id already in this heap.
+     *
+     * @param id  The id whose key to lower.
+     * @param key The new key of {@code id}, which must not exceed its current key.
+     * @throws IllegalArgumentException if {@code id} is not in this heap or {@code key} is
+     *                                  greater than its current key.
+     */
+    public void decreaseKey(int id, double key) {
+        if(!contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is not in the heap.");
+        }
+        if(key > keys[id]) {
+            throw new IllegalArgumentException("New key cannot be greater than the current key.");
+        }
+        keys[id] = key;
+        siftUp(positions[id]);
+        checkRep();
+    }
+
+    /**
+     * @return The id with the minimum key in this heap, without removing it. Ties are broken
+     * arbitrarily.
+     * @throws IllegalStateException if this heap is empty.
+     */
+    public int peekMin() {
+        if(size == 0) {
+            throw new IllegalStateException("Cannot peek into an empty heap.");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes the id with the minimum key from this heap. Ties are broken arbitrarily.
+     *
+     * @return The id that had the minimum key.
+     * @throws IllegalStateException if this heap is empty.
+     */
+    public int removeMin() {
+        if(size == 0) {
+            throw new IllegalStateException("Cannot remove from an empty heap.");
+        }
+        int min = heap[0];
+        size--;
+        positions[min] = -1;
+        if(size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        checkRep();
+        return min;
+    }
+
+    /**
+     * Removes every id from this heap, so it can be reused by another search.
+     */
+    public void clear() {
+        for(int p = 0; p < size; p++) {
+            positions[heap[p]] = -1;
+        }
+        size = 0;
+        checkRep();
+    }
+
+    /**
+     * Moves the id at index p towards the root until its parent's key is not greater.
+     */
+    private void siftUp(int p) {
+        int id = heap[p];
+        double key = keys[id];
+        while(p > 0) {
+            int parent = (p - 1) >>> 1;
+            if(keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[p] = heap[parent];
+            positions[heap[p]] = p;
+            p = parent;
+        }
+        heap[p] = id;
+        positions[id] = p;
+    }
+
+    /**
+     * Moves the id at index p towards the leaves until neither child has a smaller key.
+     */
+    private void siftDown(int p) {
+        int id = heap[p];
+        double key = keys[id];
+        while(true) {
+            int child = 2 * p + 1;
+            if(child >= size) {
+                break;
+            }
+            if(child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if(keys[heap[child]] >= key) {
+                break;
+            }
+            heap[p] = heap[child];
+            positions[heap[p]] = p;
+            p = child;
+        }
+        heap[p] = id;
+        positions[id] = p;
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation.
+     */
+    private void checkRep() {
+        assert heap != null && positions != null && keys != null;
+        assert heap.length == positions.length && heap.length == keys.length;
+        assert 0 <= size && size <= heap.length;
+    }
+}
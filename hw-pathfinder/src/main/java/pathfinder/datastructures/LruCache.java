@@ -0,0 +1,212 @@
+package pathfinder.datastructures;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * This represents a mutable, thread-safe cache that maps keys of type K to non-null values of
+ * type V and holds at most a fixed number of entries. Once it is full, adding another entry
+ * evicts the least recently used one, where both {@link #get(Object)} hits and
+ * {@link #put(Object, Object)} count as a use. The cache also counts its hits, misses and
+ * evictions, so callers can tell whether its capacity suits their workload.
+ *
+ * @param <K> The type of the keys in this cache.
+ * @param <V> The type of the values in this cache.
+ */
+public class LruCache<K, V> {
+
+    // AF(this) =
+    //      the entries in the cache, from least to most recently used => entries in iteration order
+    //      the maximum number of entries => capacity
+    //      the number of get calls that found / didn't find their key => hits / misses
+    //      the number of entries removed to make room for others => evictions
+
+    // Rep Invariant:
+    //      entries != null &&
+    //      capacity > 0 &&
+    //      entries.size() <= capacity &&
+    //      entries has no null keys or values &&
+    //      hits >= 0 && misses >= 0 && evictions >= 0
+
+    /**
+     * The entries of this cache in access order, so the eldest entry is the least recently used.
+     * Every access to entries and the counters below synchronizes on entries.
+     */
+    private final LinkedHashMap<K, V> entries;
+
+    /**
+     * The maximum number of entries in this cache.
+     */
+    private final int capacity;
+
+    /**
+     * The number of lookups that found their key.
+     */
+    private long hits;
+
+    /**
+     * The number of lookups that didn't find their key.
+     */
+    private long misses;
+
+    /**
+     * The number of entries evicted to make room for new ones.
+     */
+    private long evictions;
+
+    /**
+     * Creates a new, empty cache that holds at most {@code capacity} entries.
+     *
+     * @param capacity The maximum number of entries in this cache.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public LruCache(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if(size() > LruCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        checkRep();
+    }
+
+    /**
+     * Looks up a key, marking its entry as the most recently used one if it is present.
+     *
+     * @param key The key to look up.
+     * @return The value mapped to {@code key}, or null if it is not in this cache.
+     * @throws NullPointerException if key is null.
+     */
+    public V get(K key) {
+        if(key == null) {
+            throw new NullPointerException("Cache keys cannot be null.");
+        }
+        synchronized(entries) {
+            V value = entries.get(key);
+            if(value == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Maps a key to a value as the most recently used entry, evicting the least recently used
+     * entry if this cache would otherwise hold more than its capacity.
+     *
+     * @param key   The key to add.
+     * @param value The value to map {@code key} to.
+     * @throws NullPointerException if key or value is null.
+     */
+    public void put(K key, V value) {
+        if(key == null || value == null) {
+            throw new NullPointerException("Cache keys and values cannot be null.");
+        }
+        synchronized(entries) {
+            entries.put(key, value);
+            checkRep();
+        }
+    }
+
+    /**
+     * Removes every entry from this cache. The hit, miss and eviction counts are kept.
+     */
+    public void clear() {
+        synchronized(entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Creates a new cache with the same capacity and hit, miss and eviction counts as this one,
+     * holding the entries of this cache that {@code keep} accepts in the same order of use.
+     * Later changes to either cache don't affect the other.
+     *
+     * @param keep Whether to copy an entry, given its key and value.
+     * @return A copy of this cache without the entries {@code keep} rejects.
+     * @throws NullPointerException if keep is null.
+     */
+    public LruCache<K, V> copyIf(BiPredicate<? super K, ? super V> keep) {
+        if(keep == null) {
+            throw new NullPointerException("The entry filter cannot be null.");
+        }
+        LruCache<K, V> copy = new LruCache<>(capacity);
+        synchronized(entries) {
+            for(Map.Entry<K, V> entry : entries.entrySet()) {
+                if(keep.test(entry.getKey(), entry.getValue())) {
+                    copy.entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+            copy.hits = hits;
+            copy.misses = misses;
+            copy.evictions = evictions;
+        }
+        copy.checkRep();
+        return copy;
+    }
+
+    /**
+     * @return The number of entries in this cache.
+     */
+    public int size() {
+        synchronized(entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return The maximum number of entries in this cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of {@link #get(Object)} calls that found their key.
+     */
+    public long getHitCount() {
+        synchronized(entries) {
+            return hits;
+        }
+    }
+
+    /**
+     * @return The number of {@link #get(Object)} calls that didn't find their key.
+     */
+    public long getMissCount() {
+        synchronized(entries) {
+            return misses;
+        }
+    }
+
+    /**
+     * @return The number of entries evicted to make room for newer ones.
+     */
+    public long getEvictionCount() {
+        synchronized(entries) {
+            return evictions;
+        }
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation.
+     */
+    private void checkRep() {
+        assert entries != null;
+        assert capacity > 0;
+        assert entries.size() <= capacity;
+        assert hits >= 0 && misses >= 0 && evictions >= 0;
+    }
+}
@@ -90,6 +90,65 @@ public class Path<T> implements Iterable<Path<T>.Segment<T>> {
         return extendedPath;
     }
 
+    /**
+     * Appends a sequence of segments to the end of this path in one step, copying the existing
+     * segments only once. The i-th appended segment terminates at {@code newEnds.get(i)} with a
+     * cost of {@code segmentCosts[i]}, and originates at the end of the previously appended
+     * segment (or at {@code this.getEnd()} for the first one). This is equivalent to calling
+     * {@link #extend(Object, double)} once per element, without building every intermediate path.
+     *
+     * @param newEnds      The nodes at the ends of the segments being appended, in order.
+     * @param segmentCosts The costs of the segments being appended, in the same order.
+     * @return A new path representing the current path with the given segments appended to the end.
+     * @throws IllegalArgumentException if newEnds and segmentCosts have different lengths.
+     */
+    public Path<T> extend(List<T> newEnds, double[] segmentCosts) {
+        checkRep();
+        if(newEnds.size() != segmentCosts.length) {
+            throw new IllegalArgumentException("Each appended segment needs exactly one cost.");
+        }
+        //
+        Path<T> extendedPath = new Path<>(start);
+        extendedPath.path = new ArrayList<>(this.path.size() + newEnds.size());
+        extendedPath.path.addAll(this.path);
+        extendedPath.cost = this.cost;
+        T end = this.getEnd();
+        for(int i = 0; i < segmentCosts.length; i++) {
+            extendedPath.path.add(new Segment<T>(end, newEnds.get(i), segmentCosts[i]));
+            extendedPath.cost += segmentCosts[i];
+            end = newEnds.get(i);
+        }
+        //
+        extendedPath.checkRep();
+        checkRep();
+        //
+        return extendedPath;
+    }
+
+    /**
+     * Returns this path traversed backwards: a path from {@code this.getEnd()} to
+     * {@code this.getStart()} through the same nodes in the opposite order, where each segment
+     * has the same cost as the segment of this path between the same two nodes.
+     *
+     * @return A new path representing the current path in reverse.
+     */
+    public Path<T> reverse() {
+        checkRep();
+        //
+        Path<T> reversedPath = new Path<>(this.getEnd());
+        reversedPath.path = new ArrayList<>(this.path.size());
+        for(int i = this.path.size() - 1; i >= 0; i--) {
+            Segment<T> segment = this.path.get(i);
+            reversedPath.path.add(new Segment<T>(segment.getEnd(), segment.getStart(), segment.getCost()));
+        }
+        reversedPath.cost = this.cost;
+        //
+        reversedPath.checkRep();
+        checkRep();
+        //
+        return reversedPath;
+    }
+
     /**
      * @return The total cost along this path.
      */
@@ -97,6 +156,14 @@ public class Path<T> implements Iterable<Path<T>.Segment<T>> {
         return cost;
     }
 
+    /**
+     * @return The number of segments in this path, which is 0 if this path is from the start
+     * node to itself.
+     */
+    public int getSegmentCount() {
+        return path.size();
+    }
+
     /**
      * @return The node at the beginning of this path.
      */
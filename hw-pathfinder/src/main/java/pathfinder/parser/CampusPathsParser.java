@@ -11,16 +11,23 @@
 
 package pathfinder.parser;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * A utility class capable of parsing data in campus buildings and
  * campus paths files in their expected formats.
+ *
+ * Files are parsed as a stream: each line is split into fields in place
+ * and handed to a consumer as soon as it is read, so no file is ever held
+ * in memory as a whole. Files read from disk rather than the classpath
+ * are memory-mapped.
  */
 public class CampusPathsParser {
 
@@ -35,29 +42,43 @@ public class CampusPathsParser {
      */
     public static List<CampusBuilding> parseCampusBuildings(String file) {
         List<CampusBuilding> buildings = new ArrayList<>();
-        List<String> lines = readLines(file);
-        //
-        for (String line : lines) {
-            String[] fields = line.split(",");
-            if (fields.length != 4) {
-                throw new ParserException("Wrong number of fields in line.");
-            }
-            String shortName = fields[0];
-            String longName = fields[1];
-            double x, y;
-            try {
-                x = Double.parseDouble(fields[2]);
-                y = Double.parseDouble(fields[3]);
-            } catch (NumberFormatException e) {
-                throw new ParserException("Cannot parse x/y coordinates as numbers", e);
-            }
-            //
-            buildings.add(new CampusBuilding(shortName, longName, x, y));
-        }
-        //
+        parseCampusBuildings(file, buildings::add);
         return buildings;
     }
 
+    /**
+     * Parses the campus buildings file (in src/main/resources/data/) and
+     * passes an object containing the data of each line to consumer, in order.
+     *
+     * @param file     The simple filename of a campus buildings file to parse.
+     * @param consumer The consumer of the {@link CampusBuilding} of each line.
+     * @throws ParserException if the file cannot be found or parsed as expected
+     */
+    public static void parseCampusBuildings(String file, Consumer<CampusBuilding> consumer) {
+        try (InputStream stream = openResource(file)) {
+            CsvRecordReader.read(stream, record -> consumer.accept(toCampusBuilding(record)));
+        } catch (IOException e) {
+            throw new ParserException("Cannot read file: " + file, e);
+        }
+    }
+
+    /**
+     * Parses a campus buildings file on disk, which is memory-mapped rather than
+     * read through a stream, and passes an object containing the data of each line
+     * to consumer, in order.
+     *
+     * @param file     The path of a campus buildings file to parse.
+     * @param consumer The consumer of the {@link CampusBuilding} of each line.
+     * @throws ParserException if the file cannot be read or parsed as expected
+     */
+    public static void parseCampusBuildings(Path file, Consumer<CampusBuilding> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvRecordReader.read(channel, record -> consumer.accept(toCampusBuilding(record)));
+        } catch (IOException e) {
+            throw new ParserException("Cannot read file: " + file, e);
+        }
+    }
+
     /**
      * Parses the campus paths file (in src/main/resources/data/) and
      * returns a list of objects containing all the data in that file.
@@ -69,45 +90,107 @@ public class CampusPathsParser {
      */
     public static List<CampusPath> parseCampusPaths(String file) {
         List<CampusPath> paths = new ArrayList<>();
-        List<String> lines = readLines(file);
+        parseCampusPaths(file, paths::add);
+        return paths;
+    }
+
+    /**
+     * Parses the campus paths file (in src/main/resources/data/) and
+     * passes an object containing the data of each line to consumer, in order.
+     *
+     * @param file     The simple filename of a campus paths file to parse.
+     * @param consumer The consumer of the {@link CampusPath} of each line.
+     * @throws ParserException if the file cannot be found or parsed as expected
+     */
+    public static void parseCampusPaths(String file, Consumer<CampusPath> consumer) {
+        try (InputStream stream = openResource(file)) {
+            CsvRecordReader.read(stream, record -> consumer.accept(toCampusPath(record)));
+        } catch (IOException e) {
+            throw new ParserException("Cannot read file: " + file, e);
+        }
+    }
+
+    /**
+     * Parses a campus paths file on disk, which is memory-mapped rather than
+     * read through a stream, and passes an object containing the data of each line
+     * to consumer, in order.
+     *
+     * @param file     The path of a campus paths file to parse.
+     * @param consumer The consumer of the {@link CampusPath} of each line.
+     * @throws ParserException if the file cannot be read or parsed as expected
+     */
+    public static void parseCampusPaths(Path file, Consumer<CampusPath> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvRecordReader.read(channel, record -> consumer.accept(toCampusPath(record)));
+        } catch (IOException e) {
+            throw new ParserException("Cannot read file: " + file, e);
+        }
+    }
+
+    /**
+     * Converts a record of a campus buildings file to the building it describes.
+     *
+     * @param record The reader positioned at the record.
+     * @throws ParserException if the record is not in the expected format
+     * @return A new {@link CampusBuilding} containing the data in the record.
+     */
+    private static CampusBuilding toCampusBuilding(CsvRecordReader record) {
+        if (record.getFieldCount() != 4) {
+            throw new ParserException("Wrong number of fields in line.");
+        }
+        String shortName = record.getString(0);
+        String longName = record.getString(1);
+        double x, y;
+        try {
+            x = record.getDouble(2);
+            y = record.getDouble(3);
+        } catch (NumberFormatException e) {
+            throw new ParserException("Cannot parse x/y coordinates as numbers", e);
+        }
         //
-        for (String line : lines) {
-            String[] fields = line.split(",");
-            if (fields.length != 5) {
-                throw new ParserException("Wrong number of fields in line");
-            }
-            double x1, x2, y1, y2, distance;
-            try {
-                x1 = Double.parseDouble(fields[0]);
-                y1 = Double.parseDouble(fields[1]);
-                x2 = Double.parseDouble(fields[2]);
-                y2 = Double.parseDouble(fields[3]);
-                distance = Double.parseDouble(fields[4]);
-            } catch (NumberFormatException e) {
-                throw new ParserException("Cannot parse x/y coordinates as numbers", e);
-            }
-            //
-            paths.add(new CampusPath(x1, y1, x2, y2, distance));
+        return new CampusBuilding(shortName, longName, x, y);
+    }
+
+    /**
+     * Converts a record of a campus paths file to the path it describes.
+     *
+     * @param record The reader positioned at the record.
+     * @throws ParserException if the record is not in the expected format
+     * @return A new {@link CampusPath} containing the data in the record.
+     */
+    private static CampusPath toCampusPath(CsvRecordReader record) {
+        if (record.getFieldCount() != 5) {
+            throw new ParserException("Wrong number of fields in line");
+        }
+        double x1, x2, y1, y2, distance;
+        try {
+            x1 = record.getDouble(0);
+            y1 = record.getDouble(1);
+            x2 = record.getDouble(2);
+            y2 = record.getDouble(3);
+            distance = record.getDouble(4);
+        } catch (NumberFormatException e) {
+            throw new ParserException("Cannot parse x/y coordinates as numbers", e);
         }
         //
-        return paths;
+        return new CampusPath(x1, y1, x2, y2, distance);
     }
 
     /**
-     * Reads all lines contained within the provided data file, which is located
-     * relative to the data/ folder in this parser's classpath.
+     * Opens the provided data file, which is located relative to the data/
+     * folder in this parser's classpath.
      *
-     * @param filename The file to read.
-     * @throws ParserException if the file doesn't exist, has an invalid name, or can't be read
-     * @return A new {@link List<String>} containing all lines in the file.
+     * @param filename The file to open.
+     * @throws ParserException if the file doesn't exist or has an invalid name
+     * @return A new {@link InputStream} of the contents of the file.
      */
-    private static List<String> readLines(String filename) {
+    private static InputStream openResource(String filename) {
         // See MarvelParser.java (from hw-marvel) for an explanation of this code
         InputStream stream = CampusPathsParser.class.getResourceAsStream("/data/" + filename);
         if (stream == null) {
             throw new ParserException("No such file: " + filename);
         }
-        return new BufferedReader(new InputStreamReader(stream)).lines().collect(Collectors.toList());
+        return stream;
     }
 
     /**
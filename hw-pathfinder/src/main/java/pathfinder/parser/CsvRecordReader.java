@@ -0,0 +1,352 @@
+package pathfinder.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A streaming reader of comma-separated records, one per line, that never materializes the
+ * lines of its input. Bytes are read through a single reusable buffer (or a memory-mapped
+ * window of a file), each line is split into fields by recording their offsets in that buffer,
+ * and numeric fields are parsed straight from the bytes. Each record is handed to a
+ * {@link RecordHandler} while it is current, which pulls out just the fields it needs.
+ */
+class CsvRecordReader {
+
+    /**
+     * Receives each record read by a CsvRecordReader.
+     */
+    interface RecordHandler {
+
+        /**
+         * Handles the current record of reader, whose fields are only valid during this call.
+         *
+         * @param reader The reader positioned at the record to handle.
+         */
+        void handle(CsvRecordReader reader);
+    }
+
+    /**
+     * The initial size of the buffer used to read streams, which grows to fit longer lines.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The largest part of a file mapped into memory at once.
+     */
+    private static final long MAP_WINDOW = 1L << 28;
+
+    /**
+     * The largest significand that a double represents exactly, 2^53.
+     */
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+
+    /**
+     * The powers of ten that a double represents exactly, 10^0 through 10^22.
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The smallest power of ten covered by POWERS_OF_FIVE.
+     */
+    private static final int MIN_POWER_OF_TEN = -27;
+
+    /**
+     * For each q in [MIN_POWER_OF_TEN, 0], the 128-bit approximation of 5^q normalized so its
+     * top bit is set (rounded up for q < 0), as its high 64 bits at index 2 * (q -
+     * MIN_POWER_OF_TEN) and low 64 bits right after, as used by the Eisel-Lemire algorithm.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[2 * (1 - MIN_POWER_OF_TEN)];
+
+    static {
+        for (int q = MIN_POWER_OF_TEN; q <= 0; q++) {
+            BigInteger power = BigInteger.valueOf(5).pow(-q);
+            // 2^(bits + 127) / 5^-q, where 2^bits is the smallest power of two >= 5^-q
+            int bits = power.subtract(BigInteger.ONE).bitLength();
+            BigInteger approximation = q == 0 ? BigInteger.ONE.shiftLeft(127) :
+                    BigInteger.ONE.shiftLeft(bits + 127).divide(power).add(BigInteger.ONE);
+            POWERS_OF_FIVE[2 * (q - MIN_POWER_OF_TEN)] = approximation.shiftRight(64).longValue();
+            POWERS_OF_FIVE[2 * (q - MIN_POWER_OF_TEN) + 1] = approximation.longValue();
+        }
+    }
+
+    /**
+     * The buffer holding the current record.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The offsets in buffer of the first byte of each field of the current record, and of the
+     * byte after its last byte.
+     */
+    private int[] fieldStarts = new int[8];
+    private int[] fieldEnds = new int[8];
+
+    /**
+     * The number of fields in the current record.
+     */
+    private int fieldCount;
+
+    /**
+     * The scratch space used to decode String fields out of a buffer that has no backing array.
+     */
+    private byte[] scratch = new byte[64];
+
+    private CsvRecordReader() {
+    }
+
+    /**
+     * Reads every record in stream, through a single buffer, and passes each to handler.
+     *
+     * @param stream  The stream to read, which is read to its end but not closed.
+     * @param handler The handler to pass each record to, in order.
+     * @throws IOException if stream cannot be read.
+     */
+    static void read(InputStream stream, RecordHandler handler) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader();
+        byte[] bytes = new byte[BUFFER_SIZE];
+        reader.buffer = ByteBuffer.wrap(bytes);
+        int length = 0;
+        //
+        while (true) {
+            int read = stream.read(bytes, length, bytes.length - length);
+            boolean atEnd = read == -1;
+            if (!atEnd) {
+                length += read;
+            }
+            int consumed = reader.readLines(length, atEnd, handler);
+            if (atEnd) {
+                return;
+            }
+            // keep the start of the last, incomplete line for the next read
+            System.arraycopy(bytes, consumed, bytes, 0, length - consumed);
+            length -= consumed;
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                reader.buffer = ByteBuffer.wrap(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reads every record in the file open in channel by memory-mapping it, and passes each to
+     * handler.
+     *
+     * @param channel The channel of the file to read, from its start.
+     * @param handler The handler to pass each record to, in order.
+     * @throws IOException if the file cannot be mapped or read.
+     * @throws CampusPathsParser.ParserException if a line is too long to map.
+     */
+    static void read(FileChannel channel, RecordHandler handler) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader();
+        long size = channel.size();
+        long position = 0;
+        //
+        while (position < size) {
+            int window = (int) Math.min(MAP_WINDOW, size - position);
+            boolean atEnd = position + window == size;
+            reader.buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+            int consumed = reader.readLines(window, atEnd, handler);
+            if (consumed == 0 && !atEnd) {
+                throw new CampusPathsParser.ParserException("Line too long to map into memory.");
+            }
+            position += consumed;
+        }
+    }
+
+    /**
+     * Splits the complete lines in buffer[0..limit) into records and passes each to handler.
+     * If atEnd, a last line without a line terminator is complete too. Blank lines are skipped.
+     *
+     * @return The offset of the first byte in buffer that is not part of a complete line.
+     */
+    private int readLines(int limit, boolean atEnd, RecordHandler handler) {
+        int lineStart = 0;
+        //
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd == limit && !atEnd) {
+                break;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                splitFields(lineStart, lineEnd);
+                handler.handle(this);
+            }
+            lineStart = Math.min(next, limit);
+        }
+        //
+        return lineStart;
+    }
+
+    /**
+     * Records the offsets of the comma-separated fields of buffer[start..end) as the current
+     * record.
+     */
+    private void splitFields(int start, int end) {
+        fieldCount = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == ',') {
+                if (fieldCount == fieldStarts.length) {
+                    fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+                    fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+                }
+                fieldStarts[fieldCount] = fieldStart;
+                fieldEnds[fieldCount] = i;
+                fieldCount++;
+                fieldStart = i + 1;
+            }
+        }
+    }
+
+    /**
+     * @return The number of fields in the current record.
+     */
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @param field The index of a field of the current record.
+     * @return The text of the field, decoded as UTF-8.
+     */
+    String getString(int field) {
+        int start = fieldStarts[field];
+        int length = fieldEnds[field] - start;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length,
+                              StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(start + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a field of the current record as a double, exactly as
+     * {@link Double#parseDouble(String)} would. Plain decimals with at most 18 significant
+     * digits and at most 27 digits after the point are parsed straight from the bytes: if
+     * their significand and the power of ten they are scaled by are both exact doubles, one
+     * division rounds correctly (Clinger's fast path), and otherwise the Eisel-Lemire
+     * algorithm rounds the significand times a 128-bit power of five. Anything else falls
+     * back to Double.parseDouble.
+     *
+     * @param field The index of a field of the current record.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a number.
+     */
+    double getDouble(int field) {
+        int i = fieldStarts[field];
+        int end = fieldEnds[field];
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        long significand = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean sawDigit = false;
+        boolean sawPoint = false;
+        //
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                sawDigit = true;
+                if (significand != 0 || b != '0') {
+                    significantDigits++;
+                }
+                significand = significand * 10 + (b - '0');
+                if (sawPoint) {
+                    exponent--;
+                }
+            } else if (b == '.' && !sawPoint) {
+                sawPoint = true;
+            } else {
+                break;
+            }
+        }
+        //
+        if (i == end && sawDigit && significantDigits <= 18 && exponent >= MIN_POWER_OF_TEN) {
+            double value;
+            if (significand == 0) {
+                // zero however many digits follow the point, which Eisel-Lemire can't handle
+                value = 0.0;
+            } else if (significand <= MAX_EXACT_SIGNIFICAND && -exponent < EXACT_POWERS_OF_TEN.length) {
+                value = significand / EXACT_POWERS_OF_TEN[-exponent];
+            } else {
+                value = eiselLemire(significand, exponent);
+            }
+            return negative ? -value : value;
+        }
+        // exponents, special values and very long significands
+        return Double.parseDouble(getString(field));
+    }
+
+    /**
+     * Returns the double nearest to significand * 10^exponent (ties to even), computed from the
+     * top bits of the product of the significand and POWERS_OF_FIVE as described in Lemire,
+     * "Number Parsing at a Gigabyte per Second" (2021).
+     *
+     * @spec.requires 0 < significand < 10^18 and MIN_POWER_OF_TEN <= exponent <= 0
+     */
+    private static double eiselLemire(long significand, int exponent) {
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long w = significand << leadingZeros;
+        int index = 2 * (exponent - MIN_POWER_OF_TEN);
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        // only when the bits below the 55 we keep are all ones can the low half of the
+        // power of five carry into them
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 9;
+        long mantissa = high >>> shift;
+        // floor(log2(10^exponent)) + 63, plus the exponent bias
+        int power2 = ((217706 * exponent) >> 16) + 63 + upperBit - leadingZeros + 1023;
+        // an exact halfway product rounds to even rather than up
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        return Double.longBitsToDouble(mantissa | ((long) power2 << 52));
+    }
+
+    /**
+     * @return The high 64 bits of the unsigned 128-bit product of a and b.
+     */
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+}
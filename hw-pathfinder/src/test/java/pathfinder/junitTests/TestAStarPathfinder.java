@@ -0,0 +1,127 @@
+package pathfinder.junitTests;
+
+import graph.WeightedDirectedGraph;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.AStarPathfinder;
+import pathfinder.EuclideanHeuristic;
+import pathfinder.Heuristic;
+import pathfinder.IndexedDijkstraPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestAStarPathfinder
+{
+    private static final double EPSILON = 1e-9;
+
+    private WeightedDirectedGraph<Point> grid;
+    private List<Point> points;
+
+    @Before
+    public void initGrid()
+    {
+        // a 10 x 10 grid of Points with edges in both directions between neighbours, each
+        // weighted with its length times a random factor >= 1 so straight lines are admissible
+        Random random = new Random(331);
+        grid = new WeightedDirectedGraph<>();
+        points = new ArrayList<>();
+
+        for (int x = 0; x < 10; x++)
+        {
+            for (int y = 0; y < 10; y++)
+            {
+                Point p = new Point(x, y);
+                grid.addNode(p);
+                points.add(p);
+            }
+        }
+
+        for (int x = 0; x < 10; x++)
+        {
+            for (int y = 0; y < 10; y++)
+            {
+                if (x + 1 < 10)
+                    addBothWays(new Point(x, y), new Point(x + 1, y), 1 + random.nextDouble());
+
+                if (y + 1 < 10)
+                    addBothWays(new Point(x, y), new Point(x, y + 1), 1 + random.nextDouble());
+            }
+        }
+    }
+
+    private void addBothWays(Point a, Point b, double weight)
+    {
+        grid.addEdge(a, b, weight);
+        grid.addEdge(b, a, weight);
+    }
+
+    @Test
+    public void testPathToSelfIsEmpty()
+    {
+        Point p = new Point(3, 4);
+        assertEquals(new Path<>(p),
+                AStarPathfinder.getShortestPath(grid, new EuclideanHeuristic(1), p, p));
+    }
+
+    @Test
+    public void testNoPath()
+    {
+        Point island = new Point(100, 100);
+        grid.addNode(island);
+        assertNull(AStarPathfinder.getShortestPath(grid, new EuclideanHeuristic(1), new Point(0, 0), island));
+    }
+
+    @Test
+    public void testMatchesDijkstraWithEuclideanHeuristic()
+    {
+        Heuristic<Point> heuristic = new EuclideanHeuristic(1);
+
+        for (int i = 0; i < points.size(); i += 9)
+        {
+            for (int j = 0; j < points.size(); j += 7)
+            {
+                Path<Point> expected = IndexedDijkstraPathfinder.getShortestPath(grid, points.get(i), points.get(j));
+                Path<Point> actual = AStarPathfinder.getShortestPath(grid, heuristic, points.get(i), points.get(j));
+                assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+                assertEquals(points.get(j), actual.getEnd());
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesDijkstraWithInconsistentHeuristic()
+    {
+        // admissible, since it is at most the Euclidean estimate, but not consistent
+        Heuristic<Point> heuristic = new Heuristic<Point>()
+        {
+            @Override
+            public double estimate(Point node, Point destNode)
+            {
+                double straight = Math.hypot(node.getX() - destNode.getX(), node.getY() - destNode.getY());
+                return ((int) node.getX() + (int) node.getY()) % 2 == 0 ? straight : 0;
+            }
+        };
+
+        for (int i = 0; i < points.size(); i += 11)
+        {
+            for (int j = 0; j < points.size(); j += 3)
+            {
+                Path<Point> expected = IndexedDijkstraPathfinder.getShortestPath(grid, points.get(i), points.get(j));
+                Path<Point> actual = AStarPathfinder.getShortestPath(grid, heuristic, points.get(i), points.get(j));
+                assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeHeuristicScale()
+    {
+        new EuclideanHeuristic(-1);
+    }
+}
@@ -0,0 +1,100 @@
+package pathfinder.junitTests;
+
+import graph.WeightedDirectedGraph;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.BidirectionalDijkstraPathfinder;
+import pathfinder.IndexedDijkstraPathfinder;
+import pathfinder.datastructures.Path;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestBidirectionalDijkstraPathfinder
+{
+    private static final double EPSILON = 1e-9;
+
+    private WeightedDirectedGraph<String> graph;
+
+    @Before
+    public void initGraph()
+    {
+        graph = new WeightedDirectedGraph<>();
+        graph.addNode("Canterlot");
+        graph.addNode("Ponyville");
+        graph.addNode("Manehattan");
+        graph.addNode("Everfree Forest");
+        graph.addNode("Cloudsdale");
+        graph.addEdge("Ponyville", "Canterlot", 1.337);
+        graph.addEdge("Ponyville", "Manehattan", 7355.608);
+        graph.addEdge("Canterlot", "Cloudsdale", 2.0);
+        graph.addEdge("Cloudsdale", "Manehattan", 3.0);
+    }
+
+    @Test
+    public void testNoPath()
+    {
+        assertNull(BidirectionalDijkstraPathfinder.getShortestPath(graph, "Manehattan", "Ponyville"));
+        assertNull(BidirectionalDijkstraPathfinder.getShortestPath(graph, "Everfree Forest", "Canterlot"));
+    }
+
+    @Test
+    public void testPathToSelfIsEmpty()
+    {
+        assertEquals(new Path<>("Cloudsdale"),
+                BidirectionalDijkstraPathfinder.getShortestPath(graph, "Cloudsdale", "Cloudsdale"));
+    }
+
+    @Test
+    public void testSingleEdgePath()
+    {
+        assertEquals(new Path<>("Canterlot").extend("Cloudsdale", 2.0),
+                BidirectionalDijkstraPathfinder.getShortestPath(graph, "Canterlot", "Cloudsdale"));
+    }
+
+    @Test
+    public void testPrefersCheaperMultiHopPath()
+    {
+        Path<String> expected = new Path<>("Ponyville")
+                .extend("Canterlot", 1.337)
+                .extend("Cloudsdale", 2.0)
+                .extend("Manehattan", 3.0);
+        assertEquals(expected,
+                BidirectionalDijkstraPathfinder.getShortestPath(graph, "Ponyville", "Manehattan"));
+    }
+
+    @Test
+    public void testMatchesDijkstraOnRandomGraph()
+    {
+        Random random = new Random(331);
+        WeightedDirectedGraph<Integer> g = new WeightedDirectedGraph<>();
+        int n = 80;
+
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+
+        for (int e = 0; e < 300; e++)
+            g.addEdge(random.nextInt(n), random.nextInt(n), random.nextDouble() * 10);
+
+        for (int a = 0; a < n; a += 3)
+        {
+            for (int b = 0; b < n; b += 4)
+            {
+                Path<Integer> expected = IndexedDijkstraPathfinder.getShortestPath(g, a, b);
+                Path<Integer> actual = BidirectionalDijkstraPathfinder.getShortestPath(g, (Integer) a, (Integer) b);
+
+                if (expected == null)
+                {
+                    assertNull(actual);
+                }
+                else
+                {
+                    assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+                    assertEquals(Integer.valueOf(a), actual.getStart());
+                    assertEquals(Integer.valueOf(b), actual.getEnd());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package pathfinder.junitTests;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+import pathfinder.CampusMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+public class TestCampusGraphFile
+{
+    @Rule public Timeout globalTimeout = Timeout.seconds(30);
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    // the position of the payload in a campus graph file, after its 24-byte header
+    private static final int PAYLOAD_START = 24;
+
+    private static CampusMap csvMap;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        csvMap = new CampusMap();
+    }
+
+    private Path writeGraphFile() throws IOException
+    {
+        Path graphFile = folder.getRoot().toPath().resolve("campus_graph.bin");
+        csvMap.writeGraphFile(graphFile);
+        return graphFile;
+    }
+
+    // Overwrites the int at the given payload position of graphFile with value, and updates the
+    // checksum in its header so the file still passes it.
+    private static void rewritePayloadInt(Path graphFile, int position, int value) throws IOException
+    {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(graphFile));
+        bytes.putInt(PAYLOAD_START + position, value);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.array(), PAYLOAD_START, bytes.capacity() - PAYLOAD_START);
+        bytes.putLong(PAYLOAD_START - 8, crc.getValue());
+        Files.write(graphFile, bytes.array());
+    }
+
+    // Returns the node count saved in graphFile.
+    private static int nodeCount(Path graphFile) throws IOException
+    {
+        return ByteBuffer.wrap(Files.readAllBytes(graphFile)).getInt(PAYLOAD_START);
+    }
+
+    private static CampusMap load(Path graphFile)
+    {
+        return new CampusMap(CampusMap.RoutingMode.DIJKSTRA, false, 0, graphFile);
+    }
+
+    private static void assertSameCampus(CampusMap expected, CampusMap actual)
+    {
+        assertEquals(expected.buildingNames(), actual.buildingNames());
+        assertEquals(expected.distanceMatrix(), actual.distanceMatrix());
+        assertEquals(expected.findShortestPath("CSE", "MGH"), actual.findShortestPath("CSE", "MGH"));
+        assertEquals(expected.findShortestPath("BAG", "KNE"), actual.findShortestPath("BAG", "KNE"));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        assertSameCampus(csvMap, load(writeGraphFile()));
+    }
+
+    @Test
+    public void testRewriteReplacesFile() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        byte[] first = Files.readAllBytes(graphFile);
+        load(graphFile).writeGraphFile(graphFile);
+
+        assertArrayEquals(first, Files.readAllBytes(graphFile));
+    }
+
+    @Test
+    public void testMissingFileFallsBackToCsv()
+    {
+        assertSameCampus(csvMap, load(folder.getRoot().toPath().resolve("missing.bin")));
+    }
+
+    @Test
+    public void testCorruptFileFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        byte[] bytes = Files.readAllBytes(graphFile);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(graphFile, bytes);
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testTruncatedFileFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        byte[] bytes = Files.readAllBytes(graphFile);
+        Files.write(graphFile, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testOtherFileFallsBackToCsv() throws IOException
+    {
+        Path graphFile = folder.getRoot().toPath().resolve("campus_paths.csv");
+        Files.write(graphFile, "x1,y1,x2,y2,distance\n".getBytes());
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testNegativeNodeCountFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        rewritePayloadInt(graphFile, 0, -1);
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testHugeNodeCountFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        rewritePayloadInt(graphFile, 0, Integer.MAX_VALUE);
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testBadEdgeCountFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        int n = nodeCount(graphFile);
+        rewritePayloadInt(graphFile, 4 + 16 * n, 1);
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testDecreasingOffsetFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        int n = nodeCount(graphFile);
+        rewritePayloadInt(graphFile, 4 + 16 * n + 4 + 4, -1);
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testOutOfRangeEdgeTargetFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        int n = nodeCount(graphFile);
+        rewritePayloadInt(graphFile, 4 + 16 * n + 4 + 4 * (n + 1), n);
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testDuplicateEdgeFallsBackToCsv() throws IOException
+    {
+        Path graphFile = writeGraphFile();
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(graphFile));
+        int n = nodeCount(graphFile);
+        int offsets = PAYLOAD_START + 4 + 16 * n + 4;
+        int targets = offsets + 4 * (n + 1);
+        int u = 0;
+
+        while (bytes.getInt(offsets + 4 * (u + 1)) - bytes.getInt(offsets + 4 * u) < 2)
+            u++;
+
+        int first = bytes.getInt(offsets + 4 * u);
+        rewritePayloadInt(graphFile, targets - PAYLOAD_START + 4 * (first + 1),
+                bytes.getInt(targets + 4 * first));
+
+        assertSameCampus(csvMap, load(graphFile));
+    }
+
+    @Test
+    public void testFailedWriteLeavesNoTempFile() throws IOException
+    {
+        // a non-empty directory can't be replaced by the written file
+        Path graphFile = folder.newFolder("campus_graph.bin").toPath();
+        Files.createFile(graphFile.resolve("keep"));
+
+        try
+        {
+            csvMap.writeGraphFile(graphFile);
+            fail("Expected the write to fail");
+        }
+        catch (IOException e)
+        {
+            try (Stream<Path> files = Files.list(folder.getRoot().toPath()))
+            {
+                assertEquals(List.of(graphFile), files.collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteNullFile() throws IOException
+    {
+        csvMap.writeGraphFile(null);
+    }
+}
@@ -0,0 +1,194 @@
+package pathfinder.junitTests;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestCampusMapPathChanges
+{
+    @Rule public Timeout globalTimeout = Timeout.seconds(60);
+
+    private static final double EPSILON = 1e-6;
+
+    private static List<String> shortNames;
+
+    // a map with no precomputed or cached routes to check the others against
+    private CampusMap reference;
+
+    private List<CampusMap> maps;
+
+    @BeforeClass
+    public static void listBuildings()
+    {
+        shortNames = new ArrayList<>(new CampusMap().buildingNames().keySet());
+    }
+
+    @Before
+    public void createMaps()
+    {
+        reference = new CampusMap(CampusMap.RoutingMode.DIJKSTRA, false, 0);
+        maps = List.of(
+                new CampusMap(CampusMap.RoutingMode.DIJKSTRA, true),
+                new CampusMap(CampusMap.RoutingMode.A_STAR),
+                new CampusMap(CampusMap.RoutingMode.BIDIRECTIONAL),
+                new CampusMap(CampusMap.RoutingMode.CONTRACTION_HIERARCHIES));
+    }
+
+    // Returns the middle segment of the shortest route between two buildings.
+    private Path<Point>.Segment<Point> middleSegment(String start, String end)
+    {
+        List<Path<Point>.Segment<Point>> segments = new ArrayList<>();
+        reference.findShortestPath(start, end).forEach(segments::add);
+        return segments.get(segments.size() / 2);
+    }
+
+    private void closePath(Point a, Point b)
+    {
+        reference.closePath(a, b);
+
+        for (CampusMap map : maps)
+            map.closePath(a, b);
+    }
+
+    private void reopenPath(Point a, Point b)
+    {
+        reference.reopenPath(a, b);
+
+        for (CampusMap map : maps)
+            map.reopenPath(a, b);
+    }
+
+    private void setPathDistance(Point a, Point b, double distance)
+    {
+        reference.setPathDistance(a, b, distance);
+
+        for (CampusMap map : maps)
+            map.setPathDistance(a, b, distance);
+    }
+
+    private void assertSameRoutes()
+    {
+        Map<String, Map<String, Double>> distances = reference.distanceMatrix();
+
+        for (CampusMap map : maps)
+        {
+            assertEquals(distances, map.distanceMatrix());
+
+            for (String start : shortNames)
+            {
+                for (String end : shortNames)
+                {
+                    Path<Point> path = map.findShortestPath(start, end);
+                    Double distance = distances.get(start).get(end);
+
+                    if (distance == null)
+                        assertNull(path);
+                    else
+                        assertEquals(distance, path.getCost(), EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testClosedPathIsAvoided()
+    {
+        // fill the route caches before the change
+        assertSameRoutes();
+        double before = reference.findShortestPath("CSE", "MGH").getCost();
+        Path<Point>.Segment<Point> segment = middleSegment("CSE", "MGH");
+        closePath(segment.getStart(), segment.getEnd());
+
+        for (Path<Point>.Segment<Point> s : reference.findShortestPath("CSE", "MGH"))
+            assertFalse(s.getStart().equals(segment.getStart()) && s.getEnd().equals(segment.getEnd()));
+
+        assertTrue(reference.findShortestPath("CSE", "MGH").getCost() > before);
+        assertSameRoutes();
+    }
+
+    @Test
+    public void testReopenRestoresRoutes()
+    {
+        Path<Point> before = reference.findShortestPath("BAG", "KNE");
+        Path<Point>.Segment<Point> segment = middleSegment("BAG", "KNE");
+        closePath(segment.getStart(), segment.getEnd());
+        assertSameRoutes();
+        reopenPath(segment.getStart(), segment.getEnd());
+
+        assertEquals(before.getCost(), reference.findShortestPath("BAG", "KNE").getCost(), EPSILON);
+        assertSameRoutes();
+    }
+
+    @Test
+    public void testChangedDistances()
+    {
+        assertSameRoutes();
+        Path<Point>.Segment<Point> segment = middleSegment("CSE", "MGH");
+        setPathDistance(segment.getStart(), segment.getEnd(), segment.getCost() * 20);
+        assertSameRoutes();
+
+        // a much shorter path draws routes that didn't use it before
+        Path<Point>.Segment<Point> other = middleSegment("BAG", "KNE");
+        setPathDistance(other.getStart(), other.getEnd(), 0);
+        assertSameRoutes();
+    }
+
+    @Test
+    public void testQueriesByOldSnapshotStayConsistent()
+    {
+        CampusMap map = new CampusMap(CampusMap.RoutingMode.DIJKSTRA, true);
+        Path<Point> before = map.findShortestPath("CSE", "MGH");
+        Path<Point>.Segment<Point> segment = middleSegment("CSE", "MGH");
+        map.closePath(segment.getStart(), segment.getEnd());
+
+        // paths found before the change are unaffected by it
+        assertEquals(reference.findShortestPath("CSE", "MGH"), before);
+        assertNotEquals(before, map.findShortestPath("CSE", "MGH"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCloseMissingPath()
+    {
+        Path<Point>.Segment<Point> segment = middleSegment("CSE", "MGH");
+        reference.closePath(segment.getStart(), reference.findShortestPath("CSE", "MGH").getEnd());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCloseClosedPath()
+    {
+        Path<Point>.Segment<Point> segment = middleSegment("CSE", "MGH");
+        reference.closePath(segment.getStart(), segment.getEnd());
+        reference.closePath(segment.getEnd(), segment.getStart());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReopenOpenPath()
+    {
+        Path<Point>.Segment<Point> segment = middleSegment("CSE", "MGH");
+        reference.reopenPath(segment.getStart(), segment.getEnd());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChangeDistanceOffCampus()
+    {
+        reference.setPathDistance(new Point(-1, -1), new Point(-2, -2), 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDistance()
+    {
+        Path<Point>.Segment<Point> segment = middleSegment("CSE", "MGH");
+        reference.setPathDistance(segment.getStart(), segment.getEnd(), -1.0);
+    }
+}
@@ -0,0 +1,97 @@
+package pathfinder.junitTests;
+
+import org.junit.Test;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestCampusPathsParser
+{
+    @Test
+    public void testConsumerSeesEveryBuildingInOrder()
+    {
+        List<CampusBuilding> buildings = new ArrayList<>();
+        CampusPathsParser.parseCampusBuildings("campus_buildings.csv", buildings::add);
+
+        assertEquals(CampusPathsParser.parseCampusBuildings("campus_buildings.csv"), buildings);
+        assertEquals(new CampusBuilding("BAG", "Bagley Hall (East Entrance)", 1914.5103, 1709.8816),
+                buildings.get(0));
+    }
+
+    @Test
+    public void testParsesCampusPaths()
+    {
+        List<CampusPath> paths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+
+        assertEquals(new CampusPath(1536.287, 1786.613, 1561.0528, 1786.6467, 51.9858177),
+                paths.get(0));
+        assertEquals(new CampusPath(2340.7143, 566.85714, 2343.2142, 542.92857, 50.227561307636904),
+                paths.get(2));
+    }
+
+    @Test
+    public void testMappedFileMatchesDoubleParsing() throws IOException
+    {
+        // significands past 2^53, long fractions, zeros with many digits, signs, exponents,
+        // CRLF and blank lines
+        String[] numbers = {"0", "-0", "1.", ".5", "9007199254740993", "9007199254740995",
+                "50.227561307636904", "0.000000000000000000000000012345678901234567",
+                "0.00000000000000000000000", "0.000000000000000000000000000",
+                "-0.0000000000000000000000000", "-123456789.123456789", "1e-3", "6.02E23",
+                "4503599627370496.5"};
+        StringBuilder csv = new StringBuilder();
+
+        for (String number : numbers)
+            csv.append("1,2,3,4,").append(number).append("\r\n\n");
+
+        Path file = Files.createTempFile("campus_paths", ".csv");
+
+        try
+        {
+            Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+            List<CampusPath> paths = new ArrayList<>();
+            CampusPathsParser.parseCampusPaths(file, paths::add);
+
+            assertEquals(numbers.length, paths.size());
+
+            for (int i = 0; i < numbers.length; i++)
+                assertEquals(Double.doubleToLongBits(Double.parseDouble(numbers[i])),
+                        Double.doubleToLongBits(paths.get(i).getDistance()));
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testWrongNumberOfFields() throws IOException
+    {
+        Path file = Files.createTempFile("campus_paths", ".csv");
+
+        try
+        {
+            Files.write(file, "1,2,3,4\n".getBytes(StandardCharsets.UTF_8));
+            CampusPathsParser.parseCampusPaths(file, path -> fail());
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testMissingResource()
+    {
+        CampusPathsParser.parseCampusPaths("no_such_file.csv", path -> fail());
+    }
+}
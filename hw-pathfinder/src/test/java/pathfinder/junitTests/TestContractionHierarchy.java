@@ -0,0 +1,121 @@
+package pathfinder.junitTests;
+
+import graph.WeightedDirectedGraph;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.ContractionHierarchy;
+import pathfinder.IndexedDijkstraPathfinder;
+import pathfinder.datastructures.Path;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestContractionHierarchy
+{
+    private static final double EPSILON = 1e-9;
+
+    private WeightedDirectedGraph<String> graph;
+
+    @Before
+    public void initGraph()
+    {
+        graph = new WeightedDirectedGraph<>();
+        graph.addNode("Canterlot");
+        graph.addNode("Ponyville");
+        graph.addNode("Manehattan");
+        graph.addNode("Everfree Forest");
+        graph.addNode("Cloudsdale");
+        graph.addEdge("Ponyville", "Canterlot", 1.337);
+        graph.addEdge("Ponyville", "Manehattan", 7355.608);
+        graph.addEdge("Canterlot", "Cloudsdale", 2.0);
+        graph.addEdge("Cloudsdale", "Manehattan", 3.0);
+    }
+
+    @Test
+    public void testNoPath()
+    {
+        ContractionHierarchy<String> hierarchy = new ContractionHierarchy<>(graph);
+        assertNull(hierarchy.getShortestPath("Manehattan", "Ponyville"));
+        assertNull(hierarchy.getShortestPath("Everfree Forest", "Canterlot"));
+    }
+
+    @Test
+    public void testPathToSelfIsEmpty()
+    {
+        ContractionHierarchy<String> hierarchy = new ContractionHierarchy<>(graph);
+        assertEquals(new Path<>("Cloudsdale"), hierarchy.getShortestPath("Cloudsdale", "Cloudsdale"));
+    }
+
+    @Test
+    public void testUnpacksShortcutsIntoOriginalEdges()
+    {
+        ContractionHierarchy<String> hierarchy = new ContractionHierarchy<>(graph);
+        Path<String> expected = new Path<>("Ponyville")
+                .extend("Canterlot", 1.337)
+                .extend("Cloudsdale", 2.0)
+                .extend("Manehattan", 3.0);
+        assertEquals(expected, hierarchy.getShortestPath("Ponyville", "Manehattan"));
+    }
+
+    @Test
+    public void testChainNeedsShortcuts()
+    {
+        WeightedDirectedGraph<Integer> chain = new WeightedDirectedGraph<>();
+
+        for (int i = 0; i < 10; i++)
+            chain.addNode(i);
+
+        for (int i = 0; i + 1 < 10; i++)
+        {
+            chain.addEdge(i, i + 1, 1.0);
+            chain.addEdge(i + 1, i, 1.0);
+        }
+
+        ContractionHierarchy<Integer> hierarchy = new ContractionHierarchy<>(chain);
+        assertTrue(hierarchy.getShortcutCount() > 0);
+
+        Path<Integer> expected = new Path<>(0);
+
+        for (int i = 1; i < 10; i++)
+            expected = expected.extend(i, 1.0);
+
+        assertEquals(expected, hierarchy.getShortestPath(0, 9));
+    }
+
+    @Test
+    public void testMatchesDijkstraOnRandomGraph()
+    {
+        Random random = new Random(331);
+        WeightedDirectedGraph<Integer> g = new WeightedDirectedGraph<>();
+        int n = 80;
+
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+
+        for (int e = 0; e < 300; e++)
+            g.addEdge(random.nextInt(n), random.nextInt(n), random.nextDouble() * 10);
+
+        ContractionHierarchy<Integer> hierarchy = new ContractionHierarchy<>(g);
+
+        for (int a = 0; a < n; a += 3)
+        {
+            for (int b = 0; b < n; b += 4)
+            {
+                Path<Integer> expected = IndexedDijkstraPathfinder.getShortestPath(g, a, b);
+                Path<Integer> actual = hierarchy.getShortestPath(a, b);
+
+                if (expected == null)
+                {
+                    assertNull(actual);
+                }
+                else
+                {
+                    assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+                    assertEquals(Integer.valueOf(a), actual.getStart());
+                    assertEquals(Integer.valueOf(b), actual.getEnd());
+                }
+            }
+        }
+    }
+}
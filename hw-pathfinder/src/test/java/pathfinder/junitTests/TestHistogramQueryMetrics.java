@@ -0,0 +1,206 @@
+package pathfinder.junitTests;
+
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.HistogramQueryMetrics;
+import pathfinder.QueryStats;
+import pathfinder.QueryStats.Outcome;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestHistogramQueryMetrics
+{
+    // Returns the statistics of the queries findShortestPath(start, end) makes on map.
+    private static QueryStats query(CampusMap map, String start, String end)
+    {
+        List<QueryStats> recorded = new ArrayList<>();
+        map.setQueryMetrics((source, dest, stats) -> recorded.add(stats));
+        map.findShortestPath(start, end);
+        map.setQueryMetrics(null);
+        assertEquals(1, recorded.size());
+        return recorded.get(0);
+    }
+
+    @Test
+    public void testRecordsEachStatistic()
+    {
+        HistogramQueryMetrics metrics = new HistogramQueryMetrics();
+        metrics.record("a", "b", new QueryStats(Outcome.SEARCH, 10, 30, 12, 5_000, 4));
+        metrics.record("a", "c", new QueryStats(Outcome.SEARCH, 20, 50, 25, 7_000, -1));
+
+        assertEquals(2, metrics.getNodesSettled().getCount());
+        assertEquals(30, metrics.getNodesSettled().getSum());
+        assertEquals(80, metrics.getEdgesRelaxed().getSum());
+        assertEquals(37, metrics.getHeapPushes().getSum());
+        assertEquals(12_000, metrics.getElapsedNanos(Outcome.SEARCH).getSum());
+        assertEquals(1, metrics.getPathLength(Outcome.SEARCH).getCount());
+        assertEquals(4, metrics.getPathLength(Outcome.SEARCH).getSum());
+        assertEquals(1, metrics.getNoPathCount());
+        assertEquals(0, metrics.getElapsedNanos(Outcome.TABLE).getCount());
+    }
+
+    @Test
+    public void testKeepsOutcomesApart()
+    {
+        HistogramQueryMetrics metrics = new HistogramQueryMetrics();
+        metrics.record("a", "b", new QueryStats(Outcome.SEARCH, 10, 30, 12, 5_000, 4));
+        metrics.record("a", "b", new QueryStats(Outcome.TABLE, 0, 0, 0, 500, 4));
+        metrics.record("a", "b", new QueryStats(Outcome.CACHE, 0, 0, 0, 300, 4));
+
+        assertEquals(1, metrics.getNodesSettled().getCount());
+        assertEquals(10, metrics.getNodesSettled().getSum());
+        assertEquals(1, metrics.getElapsedNanos(Outcome.SEARCH).getCount());
+        assertEquals(1, metrics.getElapsedNanos(Outcome.TABLE).getCount());
+        assertEquals(500, metrics.getElapsedNanos(Outcome.TABLE).getSum());
+        assertEquals(1, metrics.getElapsedNanos(Outcome.CACHE).getCount());
+        assertEquals(300, metrics.getElapsedNanos(Outcome.CACHE).getSum());
+        assertEquals(1, metrics.getPathLength(Outcome.CACHE).getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStatsRejectCacheHitWithWork()
+    {
+        new QueryStats(Outcome.CACHE, 1, 0, 0, 5_000, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStatsRejectTableHitWithWork()
+    {
+        new QueryStats(Outcome.TABLE, 0, 3, 0, 5_000, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStatsRejectNegativeCounts()
+    {
+        new QueryStats(Outcome.SEARCH, -1, 3, 2, 5_000, 2);
+    }
+
+    @Test
+    public void testPrometheusText()
+    {
+        HistogramQueryMetrics metrics = new HistogramQueryMetrics();
+        metrics.record("a", "b", new QueryStats(Outcome.SEARCH, 3, 4, 5, 1_500, 2));
+        metrics.record("c", "d\"e", new QueryStats(Outcome.SEARCH, 7, 4, 5, 2_000_000, -1));
+        metrics.record("a", "b", new QueryStats(Outcome.CACHE, 0, 0, 0, 1_000, 2));
+        String text = metrics.toPrometheusText();
+
+        assertTrue(text.contains("# TYPE pathfinder_query_nodes_settled histogram\n"));
+        assertTrue(text.contains("pathfinder_query_nodes_settled_bucket{le=\"2\"} 0\n"));
+        assertTrue(text.contains("pathfinder_query_nodes_settled_bucket{le=\"5\"} 1\n"));
+        assertTrue(text.contains("pathfinder_query_nodes_settled_count 2\n"));
+        assertTrue(text.contains("pathfinder_query_duration_seconds_count{outcome=\"table\"} 0\n"));
+        assertTrue(text.contains("pathfinder_query_duration_seconds_bucket{outcome=\"search\",le=\"1.0E-6\"} 0\n"));
+        assertTrue(text.contains("pathfinder_query_duration_seconds_bucket{outcome=\"search\",le=\"0.0025\"} 2\n"));
+        assertTrue(text.contains("pathfinder_query_duration_seconds_sum{outcome=\"search\"} 0.0020015\n"));
+        assertTrue(text.contains("pathfinder_query_duration_seconds_count{outcome=\"cache\"} 1\n"));
+        assertTrue(text.contains("pathfinder_query_path_length_count{outcome=\"search\"} 1\n"));
+        assertTrue(text.contains("pathfinder_query_no_path_total 1\n"));
+        assertTrue(text.contains(
+                "pathfinder_query_max_nodes_settled{source=\"c\",dest=\"d\\\"e\",outcome=\"search\"} 7\n"));
+        assertTrue(text.contains(
+                "pathfinder_query_slowest_seconds{source=\"c\",dest=\"d\\\"e\",outcome=\"search\"} 0.002\n"));
+
+        // each metric is declared once, however many outcomes it has series for
+        assertEquals(text.indexOf("# TYPE pathfinder_query_duration_seconds "),
+                text.lastIndexOf("# TYPE pathfinder_query_duration_seconds "));
+    }
+
+    @Test
+    public void testNoExtremeQueriesBeforeRecording()
+    {
+        String text = new HistogramQueryMetrics().toPrometheusText();
+        assertFalse(text.contains("slowest"));
+        assertFalse(text.contains("max_nodes_settled"));
+    }
+
+    @Test
+    public void testCampusMapRecordsQueries()
+    {
+        CampusMap map = new CampusMap(CampusMap.RoutingMode.DIJKSTRA, false, 0);
+        List<String> endpoints = new ArrayList<>();
+        List<QueryStats> recorded = new ArrayList<>();
+        map.setQueryMetrics((source, dest, stats) ->
+        {
+            endpoints.add(source + "-" + dest);
+            recorded.add(stats);
+        });
+
+        Path<Point> path = map.findShortestPath("CSE", "MGH");
+        assertEquals(List.of("CSE-MGH"), endpoints);
+
+        int segments = 0;
+
+        for (Path<Point>.Segment<Point> segment : path)
+            segments++;
+
+        QueryStats stats = recorded.get(0);
+        assertEquals(Outcome.SEARCH, stats.getOutcome());
+        assertTrue(stats.getNodesSettled() > segments);
+        assertTrue(stats.getEdgesRelaxed() >= stats.getNodesSettled() - 1);
+        assertEquals(segments, stats.getPathLength());
+
+        map.setQueryMetrics(null);
+        map.findShortestPath("CSE", "MGH");
+        assertEquals(1, recorded.size());
+    }
+
+    @Test
+    public void testCampusMapCacheHitsAreTheirOwnOutcome()
+    {
+        CampusMap map = new CampusMap(CampusMap.RoutingMode.DIJKSTRA);
+        HistogramQueryMetrics metrics = new HistogramQueryMetrics();
+        map.setQueryMetrics(metrics);
+
+        map.findShortestPath("CSE", "MGH");
+        map.findShortestPath("CSE", "MGH");
+
+        assertEquals(1, metrics.getNodesSettled().getCount());
+        assertTrue(metrics.getNodesSettled().getSum() > 0);
+        assertEquals(1, metrics.getElapsedNanos(Outcome.SEARCH).getCount());
+        assertEquals(1, metrics.getElapsedNanos(Outcome.CACHE).getCount());
+    }
+
+    @Test
+    public void testCampusMapTableHitsCountNoWork()
+    {
+        CampusMap searching = new CampusMap(CampusMap.RoutingMode.DIJKSTRA, false, 0);
+        CampusMap precomputed = new CampusMap(CampusMap.RoutingMode.DIJKSTRA, true);
+
+        for (String[] pair : new String[][] {{"CSE", "MGH"}, {"KNE", "CSE"}, {"MGH", "MGH"}})
+        {
+            QueryStats looked = query(precomputed, pair[0], pair[1]);
+
+            assertEquals(Outcome.TABLE, looked.getOutcome());
+            assertEquals(0, looked.getNodesSettled());
+            assertEquals(0, looked.getEdgesRelaxed());
+            assertEquals(0, looked.getHeapPushes());
+            assertEquals(query(searching, pair[0], pair[1]).getPathLength(), looked.getPathLength());
+        }
+    }
+
+    @Test
+    public void testCampusMapCountsEverySearch()
+    {
+        QueryStats dijkstra = query(new CampusMap(CampusMap.RoutingMode.DIJKSTRA, false, 0), "CSE", "KNE");
+
+        for (CampusMap.RoutingMode mode : CampusMap.RoutingMode.values())
+        {
+            QueryStats stats = query(new CampusMap(mode, false, 0), "CSE", "KNE");
+
+            assertEquals(Outcome.SEARCH, stats.getOutcome());
+            assertTrue(mode.toString(), stats.getNodesSettled() > 0);
+            assertTrue(mode.toString(), stats.getEdgesRelaxed() > 0);
+            assertTrue(mode.toString(), stats.getHeapPushes() > 1);
+            assertEquals(dijkstra.getPathLength(), stats.getPathLength());
+        }
+
+        // the point of the faster searches is that they settle fewer nodes than Dijkstra's
+        QueryStats aStar = query(new CampusMap(CampusMap.RoutingMode.A_STAR, false, 0), "CSE", "KNE");
+        assertTrue(aStar.getNodesSettled() < dijkstra.getNodesSettled());
+    }
+}
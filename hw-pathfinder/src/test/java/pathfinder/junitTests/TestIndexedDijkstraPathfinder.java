@@ -0,0 +1,169 @@
+package pathfinder.junitTests;
+
+import graph.DirectedGraph;
+import graph.WeightedDirectedGraph;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.DijkstraPathfinder;
+import pathfinder.IndexedDijkstraPathfinder;
+import pathfinder.QueryStats;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestIndexedDijkstraPathfinder
+{
+    private static final double EPSILON = 1e-9;
+
+    private WeightedDirectedGraph<String> graph;
+
+    @Before
+    public void initGraph()
+    {
+        graph = new WeightedDirectedGraph<>();
+        graph.addNode("Canterlot");
+        graph.addNode("Ponyville");
+        graph.addNode("Manehattan");
+        graph.addNode("Everfree Forest");
+        graph.addNode("Cloudsdale");
+        graph.addEdge("Ponyville", "Canterlot", 1.337);
+        graph.addEdge("Ponyville", "Manehattan", 7355.608);
+        graph.addEdge("Canterlot", "Cloudsdale", 2.0);
+        graph.addEdge("Cloudsdale", "Manehattan", 3.0);
+        graph.addEdge("Ponyville", "Ponyville", 0.5);
+    }
+
+    @Test
+    public void testNoPath()
+    {
+        assertNull(IndexedDijkstraPathfinder.getShortestPath(graph, "Canterlot", "Ponyville"));
+        assertNull(IndexedDijkstraPathfinder.getShortestPath(graph, "Everfree Forest", "Ponyville"));
+    }
+
+    @Test
+    public void testPathToSelfIsEmpty()
+    {
+        Path<String> path = IndexedDijkstraPathfinder.getShortestPath(graph, "Ponyville", "Ponyville");
+        assertEquals(new Path<>("Ponyville"), path);
+        assertEquals(0, path.getCost(), EPSILON);
+    }
+
+    @Test
+    public void testPrefersCheaperMultiHopPath()
+    {
+        Path<String> expected = new Path<>("Ponyville")
+                .extend("Canterlot", 1.337)
+                .extend("Cloudsdale", 2.0)
+                .extend("Manehattan", 3.0);
+        Path<String> path = IndexedDijkstraPathfinder.getShortestPath(graph, "Ponyville", "Manehattan");
+        assertEquals(expected, path);
+        assertEquals(6.337, path.getCost(), EPSILON);
+    }
+
+    @Test
+    public void testRecordsQueryStats()
+    {
+        List<QueryStats> recorded = new ArrayList<>();
+        Path<String> path = IndexedDijkstraPathfinder.getShortestPath(graph, "Ponyville", "Manehattan",
+                (source, dest, stats) ->
+                {
+                    assertEquals("Ponyville", source);
+                    assertEquals("Manehattan", dest);
+                    recorded.add(stats);
+                });
+        assertEquals(6.337, path.getCost(), EPSILON);
+        assertEquals(1, recorded.size());
+
+        // Ponyville, Canterlot, Cloudsdale and Manehattan are settled, every edge but
+        // Manehattan's is relaxed, and Manehattan is inserted then decreased once
+        QueryStats stats = recorded.get(0);
+        assertEquals(QueryStats.Outcome.SEARCH, stats.getOutcome());
+        assertEquals(4, stats.getNodesSettled());
+        assertEquals(5, stats.getEdgesRelaxed());
+        assertEquals(5, stats.getHeapPushes());
+        assertEquals(3, stats.getPathLength());
+        assertTrue(stats.getElapsedNanos() >= 0);
+    }
+
+    @Test
+    public void testRecordsQueryStatsWithoutPath()
+    {
+        List<QueryStats> recorded = new ArrayList<>();
+        assertNull(IndexedDijkstraPathfinder.getShortestPath(graph, "Canterlot", "Ponyville",
+                (source, dest, stats) -> recorded.add(stats)));
+        assertEquals(1, recorded.size());
+        assertFalse(recorded.get(0).hasPath());
+        assertEquals(3, recorded.get(0).getNodesSettled());
+        assertEquals(2, recorded.get(0).getEdgesRelaxed());
+        assertEquals(3, recorded.get(0).getHeapPushes());
+    }
+
+    @Test
+    public void testMatchesDijkstraPathfinderStatsOnPath()
+    {
+        DirectedGraph<String, Double> reference = new DirectedGraph<>();
+
+        for (String node : graph.getNodes())
+            reference.addNode(node);
+
+        reference.addEdge("Ponyville", "Canterlot", 1.337);
+        reference.addEdge("Ponyville", "Manehattan", 7355.608);
+        reference.addEdge("Canterlot", "Cloudsdale", 2.0);
+        reference.addEdge("Cloudsdale", "Manehattan", 3.0);
+        reference.addEdge("Ponyville", "Ponyville", 0.5);
+
+        List<QueryStats> recorded = new ArrayList<>();
+        Path<String> path = DijkstraPathfinder.getShortestPath(reference, "Ponyville", "Manehattan",
+                (source, dest, stats) -> recorded.add(stats));
+        assertEquals(6.337, path.getCost(), EPSILON);
+        assertEquals(1, recorded.size());
+        assertEquals(4, recorded.get(0).getNodesSettled());
+        assertEquals(5, recorded.get(0).getEdgesRelaxed());
+        assertEquals(3, recorded.get(0).getPathLength());
+    }
+
+    @Test
+    public void testMatchesDijkstraPathfinderOnRandomGraph()
+    {
+        Random random = new Random(331);
+        DirectedGraph<Integer, Double> reference = new DirectedGraph<>();
+        WeightedDirectedGraph<Integer> weighted = new WeightedDirectedGraph<>();
+        int n = 60;
+
+        for (int i = 0; i < n; i++)
+        {
+            reference.addNode(i);
+            weighted.addNode(i);
+        }
+
+        for (int e = 0; e < 240; e++)
+        {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            double w = Math.floor(random.nextDouble() * 1000) / 10;
+
+            if (!reference.hasEdge(a, b, w))
+                reference.addEdge(a, b, w);
+
+            weighted.addEdge(a, b, w);
+        }
+
+        for (int a = 0; a < n; a += 7)
+        {
+            for (int b = 0; b < n; b += 5)
+            {
+                Path<Integer> expected = DijkstraPathfinder.getShortestPath(reference, a, b);
+                Path<Integer> actual = IndexedDijkstraPathfinder.getShortestPath(weighted, a, b);
+
+                if (expected == null)
+                    assertNull(actual);
+                else
+                    assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            }
+        }
+    }
+}
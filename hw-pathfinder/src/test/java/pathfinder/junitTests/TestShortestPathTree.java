@@ -0,0 +1,102 @@
+package pathfinder.junitTests;
+
+import graph.WeightedDirectedGraph;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.IndexedDijkstraPathfinder;
+import pathfinder.ShortestPathTree;
+import pathfinder.datastructures.Path;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestShortestPathTree
+{
+    private static final double EPSILON = 1e-9;
+
+    private WeightedDirectedGraph<String> graph;
+
+    @Before
+    public void initGraph()
+    {
+        graph = new WeightedDirectedGraph<>();
+        graph.addNode("Canterlot");
+        graph.addNode("Ponyville");
+        graph.addNode("Manehattan");
+        graph.addNode("Everfree Forest");
+        graph.addNode("Cloudsdale");
+        graph.addEdge("Ponyville", "Canterlot", 1.337);
+        graph.addEdge("Ponyville", "Manehattan", 7355.608);
+        graph.addEdge("Canterlot", "Cloudsdale", 2.0);
+        graph.addEdge("Cloudsdale", "Manehattan", 3.0);
+    }
+
+    @Test
+    public void testPathsToManyDestinations()
+    {
+        ShortestPathTree<String> tree = IndexedDijkstraPathfinder.getShortestPathTree(graph, "Ponyville");
+        assertEquals("Ponyville", tree.getSource());
+
+        Path<String> toCloudsdale = new Path<>("Ponyville")
+                .extend("Canterlot", 1.337)
+                .extend("Cloudsdale", 2.0);
+        assertEquals(toCloudsdale, tree.getPathTo("Cloudsdale"));
+        assertEquals(toCloudsdale.extend("Manehattan", 3.0), tree.getPathTo("Manehattan"));
+        assertEquals(6.337, tree.getDistance("Manehattan"), EPSILON);
+    }
+
+    @Test
+    public void testPathToSourceIsEmpty()
+    {
+        ShortestPathTree<String> tree = IndexedDijkstraPathfinder.getShortestPathTree(graph, "Canterlot");
+        assertTrue(tree.hasPathTo("Canterlot"));
+        assertEquals(new Path<>("Canterlot"), tree.getPathTo("Canterlot"));
+        assertEquals(0.0, tree.getDistance("Canterlot"), EPSILON);
+    }
+
+    @Test
+    public void testUnreachableDestination()
+    {
+        ShortestPathTree<String> tree = IndexedDijkstraPathfinder.getShortestPathTree(graph, "Canterlot");
+        assertFalse(tree.hasPathTo("Ponyville"));
+        assertNull(tree.getPathTo("Everfree Forest"));
+        assertEquals(Double.POSITIVE_INFINITY, tree.getDistance("Ponyville"), 0.0);
+    }
+
+    @Test
+    public void testQueriesById()
+    {
+        ShortestPathTree<String> tree = IndexedDijkstraPathfinder.getShortestPathTree(graph,
+                graph.getNodeId("Ponyville"));
+        int manehattan = graph.getNodeId("Manehattan");
+
+        assertTrue(tree.hasPathTo(manehattan));
+        assertEquals(tree.getDistance("Manehattan"), tree.getDistance(manehattan), 0.0);
+        assertEquals(tree.getPathTo("Manehattan"), tree.getPathTo(manehattan));
+        assertFalse(tree.hasPathTo(graph.getNodeId("Everfree Forest")));
+        assertEquals(Double.POSITIVE_INFINITY, tree.getDistance(graph.getNodeId("Everfree Forest")), 0.0);
+    }
+
+    @Test
+    public void testMatchesDijkstraOnRandomGraph()
+    {
+        Random random = new Random(331);
+        WeightedDirectedGraph<Integer> g = new WeightedDirectedGraph<>();
+        int n = 80;
+
+        for (int i = 0; i < n; i++)
+            g.addNode(i);
+
+        for (int e = 0; e < 300; e++)
+            g.addEdge(random.nextInt(n), random.nextInt(n), random.nextDouble() * 10);
+
+        for (int a = 0; a < n; a += 7)
+        {
+            ShortestPathTree<Integer> tree = IndexedDijkstraPathfinder.getShortestPathTree(g, a);
+
+            for (int b = 0; b < n; b++)
+                assertEquals(IndexedDijkstraPathfinder.getShortestPath(g, a, b), tree.getPathTo(b));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.Histogram;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestHistogram {
+
+    @Test
+    public void testObserveCountsIntoBuckets() {
+        Histogram histogram = new Histogram(1, 10, 100);
+        histogram.observe(0);
+        histogram.observe(1);
+        histogram.observe(5);
+        histogram.observe(10);
+        histogram.observe(1000);
+        assertArrayEquals(new long[] {2, 4, 4, 5}, histogram.getCumulativeCounts());
+        assertEquals(5, histogram.getCount());
+        assertEquals(1016, histogram.getSum());
+    }
+
+    @Test
+    public void testEmpty() {
+        Histogram histogram = new Histogram(5);
+        assertArrayEquals(new long[] {0, 0}, histogram.getCumulativeCounts());
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+    }
+
+    @Test
+    public void testExponentialBounds() {
+        assertArrayEquals(new long[] {1}, Histogram.exponentialBounds(1));
+        assertArrayEquals(new long[] {1, 2, 5, 10, 20, 50, 100}, Histogram.exponentialBounds(100));
+        assertArrayEquals(new long[] {1, 2, 5, 10, 20, 50, 100, 200}, Histogram.exponentialBounds(101));
+    }
+
+    @Test
+    public void testGetUpperBoundsIsACopy() {
+        Histogram histogram = new Histogram(1, 2);
+        histogram.getUpperBounds()[0] = 5;
+        assertArrayEquals(new long[] {1, 2}, histogram.getUpperBounds());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundsMustIncrease() {
+        new Histogram(1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundsMustNotBeEmpty() {
+        new Histogram();
+    }
+
+    @Test
+    public void testAppendPrometheus() {
+        Histogram histogram = new Histogram(1000, 2500);
+        histogram.observe(500);
+        histogram.observe(2000);
+        histogram.observe(3000);
+        StringBuilder out = new StringBuilder();
+        histogram.appendPrometheus(out, "query_seconds", "", 1_000_000);
+        String expected = "query_seconds_bucket{le=\"0.001\"} 1\n"
+                + "query_seconds_bucket{le=\"0.0025\"} 2\n"
+                + "query_seconds_bucket{le=\"+Inf\"} 3\n"
+                + "query_seconds_sum 0.0055\n"
+                + "query_seconds_count 3\n";
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void testAppendPrometheusWithLabels() {
+        Histogram histogram = new Histogram(10);
+        histogram.observe(4);
+        StringBuilder out = new StringBuilder();
+        histogram.appendPrometheus(out, "settled", "outcome=\"search\"", 1);
+        String expected = "settled_bucket{outcome=\"search\",le=\"10\"} 1\n"
+                + "settled_bucket{outcome=\"search\",le=\"+Inf\"} 1\n"
+                + "settled_sum{outcome=\"search\"} 4\n"
+                + "settled_count{outcome=\"search\"} 1\n";
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void testConcurrentObserve() throws InterruptedException {
+        Histogram histogram = new Histogram(Histogram.exponentialBounds(1000));
+        Thread[] threads = new Thread[4];
+        for(int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for(int i = 0; i < 10000; i++) {
+                    histogram.observe(i % 2000);
+                }
+            });
+            threads[t].start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        long[] counts = histogram.getCumulativeCounts();
+        assertEquals(40000, counts[counts.length - 1]);
+        assertEquals(40000, histogram.getCount());
+        assertTrue(counts[counts.length - 2] < 40000);
+    }
+}
@@ -0,0 +1,111 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestIndexedMinHeap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testEmptyHeap() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+        assertFalse(heap.contains(0));
+    }
+
+    @Test
+    public void testRemoveInKeyOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insert(0, 4.0);
+        heap.insert(1, 1.0);
+        heap.insert(2, 3.0);
+        heap.insert(3, 0.5);
+        heap.insert(4, 2.0);
+        assertEquals(5, heap.size());
+        assertEquals(3, heap.removeMin());
+        assertEquals(1, heap.removeMin());
+        assertEquals(4, heap.removeMin());
+        assertEquals(2, heap.removeMin());
+        assertEquals(0, heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insert(0, 1.0);
+        heap.insert(1, 2.0);
+        heap.insert(2, 3.0);
+        heap.decreaseKey(2, 0.25);
+        assertEquals(0.25, heap.getKey(2), EPSILON);
+        assertEquals(2, heap.peekMin());
+        assertEquals(3, heap.size());
+        assertEquals(2, heap.removeMin());
+        assertFalse(heap.contains(2));
+        assertEquals(0, heap.removeMin());
+        assertEquals(1, heap.removeMin());
+    }
+
+    @Test
+    public void testReinsertAfterRemoveAndClear() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insert(0, 1.0);
+        assertEquals(0, heap.removeMin());
+        heap.insert(0, 5.0);
+        heap.insert(1, 6.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        heap.insert(1, 2.0);
+        assertEquals(1, heap.removeMin());
+    }
+
+    @Test
+    public void testRandomKeysRemovedSorted() {
+        Random random = new Random(331);
+        int n = 500;
+        double[] keys = new double[n];
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        for(int i = 0; i < n; i++) {
+            keys[i] = random.nextDouble() * 100;
+            heap.insert(i, keys[i]);
+        }
+        for(int i = 0; i < n; i += 3) {
+            keys[i] /= 2;
+            heap.decreaseKey(i, keys[i]);
+        }
+        double[] sorted = Arrays.copyOf(keys, n);
+        Arrays.sort(sorted);
+        for(int i = 0; i < n; i++) {
+            assertEquals(sorted[i], keys[heap.removeMin()], EPSILON);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertDuplicateId() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insert(1, 1.0);
+        heap.insert(1, 2.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncreaseKeyRejected() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insert(1, 1.0);
+        heap.decreaseKey(1, 2.0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveFromEmptyHeap() {
+        new IndexedMinHeap(1).removeMin();
+    }
+}
@@ -0,0 +1,86 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.LruCache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestLruCache {
+
+    @Test
+    public void testGetAfterPut() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // reading "a" makes "b" the least recently used entry
+        cache.get("a");
+        cache.put("c", 3);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testPutReplacesValue() {
+        LruCache<String, Integer> cache = new LruCache<>(1);
+        cache.put("a", 1);
+        cache.put("a", 2);
+        assertEquals(Integer.valueOf(2), cache.get("a"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testClear() {
+        LruCache<String, Integer> cache = new LruCache<>(4);
+        cache.put("a", 1);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+        assertEquals(4, cache.getCapacity());
+    }
+
+    @Test
+    public void testCopyIf() {
+        LruCache<String, Integer> cache = new LruCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+        LruCache<String, Integer> copy = cache.copyIf((key, value) -> value != 2);
+        assertEquals(2, copy.size());
+        assertEquals(3, copy.getCapacity());
+        assertEquals(1, copy.getHitCount());
+
+        // "c" stays the least recently used entry in the copy
+        copy.put("d", 4);
+        copy.put("e", 5);
+        assertNull(copy.get("c"));
+        assertEquals(Integer.valueOf(1), copy.get("a"));
+        assertEquals(3, cache.size());
+        assertEquals(Integer.valueOf(2), cache.get("b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveCapacity() {
+        new LruCache<String, Integer>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNullValue() {
+        new LruCache<String, Integer>(1).put("a", null);
+    }
+}
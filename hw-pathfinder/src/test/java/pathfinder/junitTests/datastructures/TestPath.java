@@ -6,6 +6,7 @@ import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 
 import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -53,6 +54,43 @@ public class TestPath {
         assertEquals(2.0D, path.getCost(), 1.0D / (1000.0D * 1000.0D * 1000.0D));
     }
 
+    @Test
+    public void testExtendManyMatchesRepeatedExtend() {
+        Path<Point> path1 = new Path<>(new Point(1.0, 2.0));
+        path1 = path1.extend(new Point(3.0, 2.0), 2.0D);
+        path1 = path1.extend(new Point(3.0, 5.0), 3.0D);
+        Path<Point> path2 = new Path<>(new Point(1.0, 2.0));
+        path2 = path2.extend(List.of(new Point(3.0, 2.0), new Point(3.0, 5.0)), new double[] {2.0D, 3.0D});
+        assertEquals(path1, path2);
+        assertEquals(5.0D, path2.getCost(), EPSILON);
+        assertEquals(new Point(3.0, 5.0), path2.getEnd());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtendManyMismatchedCosts() {
+        Path<Point> path = new Path<>(new Point(1.0, 2.0));
+        path.extend(List.of(new Point(3.0, 2.0)), new double[] {2.0D, 3.0D});
+    }
+
+    @Test
+    public void testReverse() {
+        Path<Point> path = new Path<>(new Point(1.0, 2.0))
+                .extend(new Point(3.0, 2.0), 2.0D)
+                .extend(new Point(3.0, 5.0), 3.0D);
+        Path<Point> expected = new Path<>(new Point(3.0, 5.0))
+                .extend(new Point(3.0, 2.0), 3.0D)
+                .extend(new Point(1.0, 2.0), 2.0D);
+        assertEquals(expected, path.reverse());
+        assertEquals(path.getCost(), path.reverse().getCost(), EPSILON);
+        assertEquals(path, path.reverse().reverse());
+    }
+
+    @Test
+    public void testReverseEmptyPath() {
+        Path<Point> path = new Path<>(new Point(1.0, 2.0));
+        assertEquals(path, path.reverse());
+    }
+
     @Test
     public void testNonemptyPathEquality() {
         Path<Point> path1 = new Path<>(new Point(1.0, 2.0));
@@ -4,7 +4,9 @@ package tasks;
 import java.util.Objects;
 
 /**
- * Represents a dependency between two (immutable) tasks.
+ * Represents a dependency between two (immutable) tasks. Its hash code is computed
+ * once when it is created, since dependencies are hashed often as the edges of a
+ * TaskSorter's graph.
  */
 public class Dependency {
     // Abstraction Function:
@@ -13,6 +15,7 @@ public class Dependency {
 
     // Representation Invariant:
     // this.beforeTask != null && this.afterTask != null
+    // && this.hash == Objects.hash(this.beforeTask, this.afterTask)
 
     // The task that needs to be done first.
     private final Task beforeTask;
@@ -20,6 +23,9 @@ public class Dependency {
     // The task that can be worked on after beforeTask is done.
     private final Task afterTask;
 
+    // The hash code of this dependency.
+    private final int hash;
+
     /**
      * @param beforeTask The task that needs to be done first
      * @param afterTask The task that depends on beforeTask.
@@ -29,6 +35,7 @@ public class Dependency {
     public Dependency(Task beforeTask, Task afterTask) {
         this.beforeTask = beforeTask;
         this.afterTask = afterTask;
+        this.hash = Objects.hash(beforeTask, afterTask);
         checkRep();
     }
 
@@ -67,15 +74,19 @@ public class Dependency {
 
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
         if (!(obj instanceof Dependency)) {
             return false;
         }
         Dependency dep = (Dependency) obj;
-        return this.beforeTask.equals(dep.getBeforeTask()) && this.afterTask.equals(dep.getAfterTask());
+        return this.hash == dep.hash && this.beforeTask.equals(dep.beforeTask)
+            && this.afterTask.equals(dep.afterTask);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.beforeTask, this.afterTask);
+        return hash;
     }
 }
\ No newline at end of file
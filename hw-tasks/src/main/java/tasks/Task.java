@@ -6,6 +6,8 @@ import java.util.Objects;
 /**
  * Represents a task to be done, with an immutable name, description, and assigned team.
  * The task name and description are immutable, while the assigned team can be changed.
+ * Its hash code is computed once when it is created, since tasks are hashed often as
+ * the nodes of a TaskSorter's graph.
  */
 public class Task {
 
@@ -15,8 +17,10 @@ public class Task {
 
     // Representation Invariant:
     // this.name != null && this.description != null && this.team != null
+    // && this.hash == Objects.hash(this.description, this.name, this.team)
 
     private final String name, description, team;
+    private final int hash;
 
     /**
      * @param name        The task name.
@@ -29,6 +33,7 @@ public class Task {
         this.name = name;
         this.description = description;
         this.team = team;
+        this.hash = Objects.hash(description, name, team);
         checkRep();
     }
 
@@ -76,15 +81,20 @@ public class Task {
 
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
         if (!(obj instanceof Task)) {
             return false;
         }
         Task t = (Task) obj;
-        return this.description.equals(t.description()) && this.name.equals(t.name()) && this.team.equals(t.team());
+        // tasks with different hash codes can't be equal, so only compare strings if they match
+        return this.hash == t.hash && this.description.equals(t.description)
+            && this.name.equals(t.name) && this.team.equals(t.team);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.description, this.name, this.team);
+        return hash;
     }
 }
\ No newline at end of file
@@ -9,12 +9,16 @@ import java.util.*;
  * A TaskSorter is a class that can store tasks and dependencies between them,
  * as well as order the tasks in a way such that each task appears before any
  * other tasks that it depends on (assuming that is possible).
+ *
+ * A TaskSorter created as concurrent lets many threads add tasks and dependencies at
+ * the same time without any locking of their own. Its tasks are then sorted as they
+ * stand when each is reached, so sortTasks should be called once they are all added.
  */
 public class TaskSorter {
 
     // The directed graph that stores the tasks of TaskSorter as nodes
     // and dependencies as edges connecting the tasks.
-    private DirectedGraph<Task, Dependency> graph;
+    private final Graph<Task, Dependency> graph;
 
     // nodes of Graphs should be Task objects,
     // and edges should be Dependency objects.
@@ -25,7 +29,17 @@ public class TaskSorter {
      * Creates a new TaskSorter object with no added tasks or dependencies.
      */
     public TaskSorter() {
-        graph = new DirectedGraph<>();
+        this(false);
+    }
+
+    /**
+     * Creates a new TaskSorter object with no added tasks or dependencies, which
+     * many threads can add tasks and dependencies to at once if concurrent is true.
+     *
+     * @param concurrent whether tasks and dependencies may be added by many threads at once
+     */
+    public TaskSorter(boolean concurrent) {
+        graph = concurrent ? new ConcurrentDirectedGraph<>() : new DirectedGraph<>();
     }
 
     /**
@@ -36,8 +50,7 @@ public class TaskSorter {
      * @spec.requires t != null
      */
     public void addTask(Task t) {
-        if (!graph.hasNode(t))
-            graph.addNode(t);
+        graph.addNodeIfAbsent(t);
     }
 
     /**
@@ -57,11 +70,7 @@ public class TaskSorter {
      *     dep's before and after tasks are already added
      */
     public void addDependency(Dependency dep) {
-        Task before = dep.getBeforeTask();
-        Task after = dep.getAfterTask();
-
-        if (!graph.hasEdge(before, after, dep))
-            graph.addEdge(before, after, dep);
+        graph.addEdgeIfAbsent(dep.getBeforeTask(), dep.getAfterTask(), dep);
     }
 
     /**
@@ -74,12 +83,7 @@ public class TaskSorter {
      */
     public Set<Dependency> getOutgoingDependencies(Task t) {
         Set<Dependency> res = new HashSet<>();
-        Set<Task> outgoingTasks = graph.getChildNodes(t);
-        for (Task destTask : outgoingTasks)
-        {
-            res.addAll(graph.getEdges(t, destTask));
-        }
-
+        graph.forEachOutEdge(t, (destTask, dep) -> res.add(dep));
         return res;
     }
 
@@ -126,7 +130,8 @@ public class TaskSorter {
                 localVisited.add(current);
                 visited.add(current);
                 recordStack.push(current);
-                List<Dependency> deps = new ArrayList<>(getOutgoingDependencies(current));
+                List<Dependency> deps = new ArrayList<>();
+                graph.forEachOutEdge(current, (next, dep) -> deps.add(dep));
                 deps.sort(new Comparator<Dependency>() {
                     @Override
                     public int compare(Dependency t1, Dependency t2) {
@@ -176,4 +176,32 @@ public class TaskSorterTest {
         sorter.addDependency(new Dependency(t2, t3));
         assertEquals(null, sorter.sortTasks());
     }
+
+    @Test
+    public void testConcurrentIngestion() throws InterruptedException {
+        sorter = new TaskSorter(true);
+        List<Thread> threads = new ArrayList<>();
+
+        // several threads add every task and dependency at the same time
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                addTasks();
+                addDependencies();
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(
+            new HashSet<>(Arrays.asList(t2, t3, t5, t7, t8, t9, t10, t11)),
+            sorter.getTasks());
+        assertEquals(
+            new HashSet<>(Arrays.asList(dep_11_2, dep_11_9, dep_11_10)),
+            sorter.getOutgoingDependencies(t11));
+        assertEquals(Arrays.asList(t3, t5, t7, t11, t10, t2, t8, t9),
+            sorter.sortTasks());
+    }
 }